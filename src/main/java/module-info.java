@@ -5,6 +5,7 @@ module passwordmanager {
     requires java.sql;
     requires java.datatransfer;
     requires java.desktop;
+    requires jdk.management;
 
     requires org.xerial.sqlitejdbc;
     requires com.sun.jna.platform;
@@ -12,12 +12,23 @@ import passwordmanager.backend.DatabaseConnection;
 import passwordmanager.frontend.cache.SearchResultFXMLCache;
 
 import java.io.IOException;
+import java.util.logging.Logger;
 
 /**
  * Main application class for the password manager.
  */
 public class App extends Application {
 
+    // Logger for logging purposes
+    private static final Logger logger = Logger.getLogger(App.class.getName());
+
+    // Roughly the number of search results visible at once, loaded before the window opens
+    private static final int PRELOADED_SEARCH_RESULTS = 8;
+
+    // Search results loaded in the background afterwards, for when the window is enlarged or scrolled quickly
+    private static final int BACKGROUND_SEARCH_RESULTS = 16;
+    private static final int BACKGROUND_SEARCH_RESULT_BATCH_SIZE = 4;
+
     /**
      * Main method to run setup tasks, preload caches, and launch the application.
      *
@@ -40,8 +51,10 @@ public class App extends Application {
         int baseWidth = 800;
         int baseHeight = 600;
 
+        long start = System.nanoTime();
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainWindow.fxml"));
         Parent root = loader.load();
+        logger.info("Loaded main window in " + elapsedMillis(start) + " ms");
         root.prefWidth(baseWidth);
         root.prefHeight(baseHeight);
         Scene scene = new Scene(root);
@@ -69,7 +82,9 @@ public class App extends Application {
 
         // Testing setup is done here determined by hard coded settings
         // See: DeveloperSettings.java
+        long start = System.nanoTime();
         DatabaseConnection.setConnection();
+        logger.info("Connected to database in " + elapsedMillis(start) + " ms");
 
         // Sets testing data for UI components
         if (ApplicationSettings.getApplicationMode() == ApplicationSettings.ApplicationMode.TESTING) {
@@ -84,10 +99,27 @@ public class App extends Application {
      */
     public static void preloadCaches() {
         // Cache setup
+        long start = System.nanoTime();
         EntryCache setupCache = EntryCache.getInstance();
+        logger.info("Loaded " + setupCache.getEntries().size() + " entries into the entry cache in " +
+                elapsedMillis(start) + " ms");
 
-        // Search result cache
+        // Search result nodes for the rows visible when the window opens, the rest are loaded as needed
+        start = System.nanoTime();
         SearchResultFXMLCache searchResultFXMLCache = SearchResultFXMLCache.getInstance();
-        searchResultFXMLCache.loadSearchResults();
+        searchResultFXMLCache.preload(PRELOADED_SEARCH_RESULTS);
+        searchResultFXMLCache.preloadInBackground(BACKGROUND_SEARCH_RESULTS, BACKGROUND_SEARCH_RESULT_BATCH_SIZE);
+        logger.info("Preloaded search results in " + ApplicationSettings.getGuiMode() + " mode in " +
+                elapsedMillis(start) + " ms");
+    }
+
+    /**
+     * Returns the time elapsed since the given start time.
+     *
+     * @param start the start time, from {@link System#nanoTime()}.
+     * @return the elapsed time in milliseconds.
+     */
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
     }
 }
@@ -1,7 +1,8 @@
 package passwordmanager.app;
 
 /**
- * Configuration class for managing development settings such as application mode, GUI mode, and database mode.
+ * Configuration class for managing development settings such as application mode, GUI mode, database mode,
+ * and database performance profile.
  */
 public class ApplicationSettings {
 
@@ -31,6 +32,15 @@ public class ApplicationSettings {
         ORACLE_SQL
     }
 
+    /**
+     * Enum representing the performance profile applied to local database connections when they are opened.
+     */
+    public enum DBPerformanceProfile {
+        DEFAULT,
+        BALANCED,
+        THROUGHPUT
+    }
+
     // Application mode setting
     private static final ApplicationMode APPLICATION_MODE = ApplicationMode.TESTING;
 
@@ -40,6 +50,9 @@ public class ApplicationSettings {
     // Database mode setting
     private static final DBMode DB_MODE = DBMode.LOCAL;
 
+    // Database performance profile setting, DEFAULT keeps full durability; BALANCED and THROUGHPUT are opt-in
+    private static final DBPerformanceProfile DB_PERFORMANCE_PROFILE = DBPerformanceProfile.DEFAULT;
+
     /**
      * Retrieves the current application mode.
      *
@@ -66,4 +79,13 @@ public class ApplicationSettings {
     public static DBMode getDbMode() {
         return DB_MODE;
     }
+
+    /**
+     * Retrieves the current database performance profile.
+     *
+     * @return the current database performance profile
+     */
+    public static DBPerformanceProfile getDbPerformanceProfile() {
+        return DB_PERFORMANCE_PROFILE;
+    }
 }
@@ -0,0 +1,280 @@
+package passwordmanager.backend;
+
+import passwordmanager.backend.local.SQLLite.LocalAPI;
+import passwordmanager.backend.query.EntryQuery;
+import passwordmanager.model.Entry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The {@code AsyncDatabaseAPI} class runs the operations of a {@link DatabaseAPI} off the calling thread,
+ * returning a {@link CompletableFuture} for each of them. It allows the JavaFX application thread to hand
+ * database work off and continue handling the UI while SQLite reads from and writes to disk.
+ *
+ * <p>Reads each run on their own virtual thread, so they never wait on one another. Writes run one at a time
+ * on a single virtual thread, in the order they were submitted, so a later write (such as removing an entry)
+ * never overtakes an earlier one (such as adding it).
+ *
+ * <p>A write that fails completes its future exceptionally, so the caller can tell the user rather than assume
+ * it was applied. Futures complete on a database thread. To update the UI with a result, continue the future on the
+ * JavaFX application thread, such as by passing {@code Platform::runLater} as the executor of
+ * {@link CompletableFuture#thenAcceptAsync(java.util.function.Consumer, java.util.concurrent.Executor)}.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * AsyncDatabaseAPI database = AsyncDatabaseAPI.getInstance();
+ * database.newEntry(entry)
+ *         .thenCompose(v -> database.getAllEntries())
+ *         .thenAcceptAsync(entries -> updateDisplay(entries), Platform::runLater);
+ * }
+ * </pre>
+ *
+ * @see DatabaseAPI
+ * @see LocalAPI
+ */
+public class AsyncDatabaseAPI implements AutoCloseable {
+
+    // Singleton instance, backed by the local database
+    private static AsyncDatabaseAPI instance = null;
+
+    private final DatabaseAPI database;
+
+    // Writes are serialized on a single thread, reads each get their own thread
+    private final ExecutorService writeExecutor;
+    private final ExecutorService readExecutor;
+
+    /**
+     * Constructs an {@code AsyncDatabaseAPI} running the operations of the given database on virtual threads.
+     *
+     * @param database the database to run operations on.
+     */
+    public AsyncDatabaseAPI(DatabaseAPI database) {
+        this.database = database;
+        this.writeExecutor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("database-writer").factory());
+        this.readExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("database-reader-", 0).factory());
+    }
+
+    /**
+     * Returns the singleton instance of the {@code AsyncDatabaseAPI} class, backed by the {@link LocalAPI}.
+     *
+     * @return the singleton instance of the {@code AsyncDatabaseAPI}.
+     */
+    public static synchronized AsyncDatabaseAPI getInstance() {
+        if (instance == null) {
+            instance = new AsyncDatabaseAPI(LocalAPI.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Adds a new entry to the database.
+     *
+     * @param entry the {@code Entry} object to be added.
+     * @return a future completed once the entry has been added, or completed exceptionally with an
+     *         {@code IllegalStateException} if it could not be, such as when the title is already used.
+     * @see DatabaseAPI#newEntry(Entry)
+     */
+    public CompletableFuture<Void> newEntry(Entry entry) {
+        return write(() -> database.newEntry(entry), "Failed to add entry: " + entry.getTitle());
+    }
+
+    /**
+     * Adds multiple new entries to the database as a single operation.
+     *
+     * @param entries the {@code Entry} objects to be added.
+     * @return a future completed once the entries have been added, or completed exceptionally with an
+     *         {@code IllegalStateException} if none could be.
+     * @see DatabaseAPI#newEntries(Collection)
+     */
+    public CompletableFuture<Void> newEntries(Collection<Entry> entries) {
+        return write(() -> database.newEntries(entries), "Failed to add " + entries.size() + " entries");
+    }
+
+    /**
+     * Modifies an existing entry in the database.
+     *
+     * @param title the title of the entry to be modified.
+     * @param field the {@code EntryFields} enum value indicating which field to modify.
+     * @param newValue the new value to set for the specified field.
+     * @return a future completed once the entry has been modified, or completed exceptionally with an
+     *         {@code IllegalStateException} if it could not be.
+     * @see DatabaseAPI#modifyEntry(String, EntryFields, String)
+     */
+    public CompletableFuture<Void> modifyEntry(String title, EntryFields field, String newValue) {
+        return write(() -> database.modifyEntry(title, field, newValue), "Failed to modify entry: " + title);
+    }
+
+    /**
+     * Removes an entry from the database based on its title.
+     *
+     * @param title the title of the entry to remove.
+     * @return a future completed once the entry has been removed, or completed exceptionally with an
+     *         {@code IllegalStateException} if it could not be.
+     * @see DatabaseAPI#removeEntry(String)
+     */
+    public CompletableFuture<Void> removeEntry(String title) {
+        return write(() -> database.removeEntry(title), "Failed to remove entry: " + title);
+    }
+
+    /**
+     * Removes an entry from the database.
+     *
+     * @param entry the {@code Entry} object to be removed.
+     * @return a future completed once the entry has been removed, or completed exceptionally with an
+     *         {@code IllegalStateException} if it could not be.
+     * @see DatabaseAPI#removeEntry(Entry)
+     */
+    public CompletableFuture<Void> removeEntry(Entry entry) {
+        return write(() -> database.removeEntry(entry), "Failed to remove entry: " + entry.getTitle());
+    }
+
+    /**
+     * Retrieves an entry from the database based on its title.
+     *
+     * @param titleKey the title of the entry to retrieve.
+     * @return a future completed with the entry, or with {@code null} if not found.
+     * @see DatabaseAPI#getEntry(String)
+     */
+    public CompletableFuture<Entry> getEntry(String titleKey) {
+        return read(() -> database.getEntry(titleKey));
+    }
+
+    /**
+     * Retrieves all entries from the database.
+     *
+     * @return a future completed with all entries, or with {@code null} if an error occurs.
+     * @see DatabaseAPI#getAllEntries()
+     */
+    public CompletableFuture<List<Entry>> getAllEntries() {
+        return read(database::getAllEntries);
+    }
+
+    /**
+     * Retrieves a list of all entry titles from the database.
+     *
+     * @return a future completed with all entry titles, or with {@code null} if an error occurs.
+     * @see DatabaseAPI#getEntryTitles()
+     */
+    public CompletableFuture<List<String>> getEntryTitles() {
+        return read(database::getEntryTitles);
+    }
+
+    /**
+     * Retrieves a list of all groups from the database.
+     *
+     * @return a future completed with all groups, or with {@code null} if an error occurs.
+     * @see DatabaseAPI#getGroups()
+     */
+    public CompletableFuture<Set<String>> getGroups() {
+        return read(database::getGroups);
+    }
+
+    /**
+     * Counts the entries in each group.
+     *
+     * @return a future completed with every group and its number of entries, or with {@code null} if an error occurs.
+     * @see DatabaseAPI#getCategoryCounts()
+     */
+    public CompletableFuture<Map<String, Integer>> getCategoryCounts() {
+        return read(database::getCategoryCounts);
+    }
+
+    /**
+     * Counts the entries using each email domain.
+     *
+     * @return a future completed with every email domain and its number of entries, or with {@code null} if an
+     *         error occurs.
+     * @see DatabaseAPI#getEmailDomainCounts()
+     */
+    public CompletableFuture<Map<String, Integer>> getEmailDomainCounts() {
+        return read(database::getEmailDomainCounts);
+    }
+
+    /**
+     * Searches entries by the text of their title, username, email, link and category.
+     *
+     * @param query the text to search for.
+     * @param limit the maximum number of entries to return.
+     * @return a future completed with the matching entries ordered from most to least relevant,
+     *         or with {@code null} if an error occurs.
+     * @see DatabaseAPI#search(String, int)
+     */
+    public CompletableFuture<List<Entry>> search(String query, int limit) {
+        return read(() -> database.search(query, limit));
+    }
+
+    /**
+     * Retrieves the entries matching a query.
+     *
+     * @param query the query to match.
+     * @return a future completed with the matching entries, or with {@code null} if an error occurs.
+     * @see DatabaseAPI#query(EntryQuery)
+     */
+    public CompletableFuture<List<Entry>> query(EntryQuery query) {
+        return read(() -> database.query(query));
+    }
+
+    /**
+     * Subscribes a listener to every change made through the wrapped database. Listeners are called on the
+     * thread that made the change, which for writes made through this class is the writer thread.
+     *
+     * @param listener the listener to subscribe.
+     * @see DatabaseAPI#addChangeListener(EntryChangeListener)
+     */
+    public void addChangeListener(EntryChangeListener listener) {
+        database.addChangeListener(listener);
+    }
+
+    /**
+     * Unsubscribes a listener added with {@link #addChangeListener(EntryChangeListener)}.
+     *
+     * @param listener the listener to unsubscribe.
+     */
+    public void removeChangeListener(EntryChangeListener listener) {
+        database.removeChangeListener(listener);
+    }
+
+    /**
+     * Stops accepting new operations. Operations already submitted still run to completion.
+     */
+    @Override
+    public void close() {
+        writeExecutor.shutdown();
+        readExecutor.shutdown();
+    }
+
+    /**
+     * Runs a write on the writer thread, after every write submitted before it.
+     *
+     * @param write the write to run, returning whether it was applied.
+     * @param failure the message of the exception the future completes with if the write was not applied.
+     * @return a future completed once the write has been applied, or completed exceptionally if it was not.
+     */
+    private CompletableFuture<Void> write(BooleanSupplier write, String failure) {
+        return CompletableFuture.runAsync(() -> {
+            if (!write.getAsBoolean()) {
+                throw new IllegalStateException(failure);
+            }
+        }, writeExecutor);
+    }
+
+    /**
+     * Runs a read on its own virtual thread.
+     *
+     * @param read the read to run.
+     * @param <T> the type of the read's result.
+     * @return a future completed with the result of the read.
+     */
+    private <T> CompletableFuture<T> read(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, readExecutor);
+    }
+}
@@ -0,0 +1,24 @@
+package passwordmanager.backend;
+
+/**
+ * A point-in-time snapshot of the read connection pool managed by {@link DatabaseConnection}.
+ *
+ * @param activeReadConnections the number of read connections currently borrowed.
+ * @param idleReadConnections the number of read connections available to be borrowed.
+ * @param acquisitions the total number of read connections handed out since the pool was opened.
+ * @param totalWaitNanos the total time, in nanoseconds, callers spent waiting for a read connection.
+ * @param maxWaitNanos the longest time, in nanoseconds, a single caller waited for a read connection.
+ */
+public record ConnectionPoolMetrics(int activeReadConnections,
+                                    int idleReadConnections,
+                                    long acquisitions,
+                                    long totalWaitNanos,
+                                    long maxWaitNanos) {
+
+    /**
+     * @return the average time, in nanoseconds, callers waited for a read connection, or 0 if none were acquired.
+     */
+    public long averageWaitNanos() {
+        return acquisitions == 0 ? 0 : totalWaitNanos / acquisitions;
+    }
+}
@@ -1,9 +1,14 @@
 package passwordmanager.backend;
 
+import passwordmanager.backend.query.EntryQuery;
 import passwordmanager.model.Entry;
+import passwordmanager.model.EntryFacets;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The {@code DatabaseAPI} interface defines the methods required for interacting with the database
@@ -30,8 +35,19 @@ public interface DatabaseAPI {
      * Adds a new entry to the database.
      *
      * @param entry the {@code Entry} object to be added.
+     * @return {@code true} if the entry was added, {@code false} if an error occurred, such as an entry with
+     *         the same title already existing.
      */
-    void newEntry(Entry entry);
+    boolean newEntry(Entry entry);
+
+    /**
+     * Adds multiple new entries to the database as a single operation.
+     * Either all of the entries are added, or none of them are if an error occurs.
+     *
+     * @param entries the {@code Entry} objects to be added.
+     * @return {@code true} if the entries were added, {@code false} if an error occurred and none were.
+     */
+    boolean newEntries(Collection<Entry> entries);
 
     /**
      * Modifies an existing entry in the database.
@@ -39,22 +55,25 @@ public interface DatabaseAPI {
      * @param title the title of the entry to be modified.
      * @param field the {@code EntryFields} enum value indicating which field to modify.
      * @param newValue the new value to set for the specified field.
+     * @return {@code true} if the entry was modified, {@code false} if there is no such entry or an error occurred.
      */
-    void modifyEntry(String title, EntryFields field, String newValue);
+    boolean modifyEntry(String title, EntryFields field, String newValue);
 
     /**
      * Removes an entry from the database based on its title.
      *
      * @param title the title of the entry to remove.
+     * @return {@code true} if the entry was removed, {@code false} if there is no such entry or an error occurred.
      */
-    void removeEntry(String title);
+    boolean removeEntry(String title);
 
     /**
      * Removes an entry from the database.
      *
      * @param entry the {@code Entry} object to be removed.
+     * @return {@code true} if the entry was removed, {@code false} if there is no such entry or an error occurred.
      */
-    void removeEntry(Entry entry);
+    boolean removeEntry(Entry entry);
 
     /**
      * Retrieves an entry from the database based on its title.
@@ -71,6 +90,16 @@ public interface DatabaseAPI {
      */
     List<Entry> getAllEntries();
 
+    /**
+     * Streams all entries from the database, reading them as the stream is consumed rather than
+     * loading them all into memory first. The returned stream holds database resources and must be
+     * closed once it is no longer needed, such as by using a try-with-resources statement.
+     *
+     * @return a {@code Stream} of all {@code Entry} objects.
+     * @throws IllegalStateException if the entries cannot be read.
+     */
+    Stream<Entry> streamAllEntries();
+
     /**
      * Retrieves a list of all entry titles from the database.
      *
@@ -79,10 +108,64 @@ public interface DatabaseAPI {
     List<String> getEntryTitles();
 
     /**
-     * Retrieves a list of all groups from the database.
+     * Retrieves a list of all groups from the database. Groups are normalized by
+     * {@link EntryFacets#category(String)}, so they are the groups {@link #getCategoryCounts()} counts.
      *
      * @return a {@code Set<String>} containing all the groups retrieved from the database,
      *         or {@code null} if an SQL exception occurs.
      */
     Set<String> getGroups();
+
+    /**
+     * Counts the entries in each group, such as for a list of groups showing the size of each. Groups are
+     * normalized by {@link EntryFacets#category(String)}, so they are counted as the entry cache counts them.
+     *
+     * @return a {@code Map} of every non-blank group to its number of entries, sorted by group,
+     *         or {@code null} if an error occurs.
+     */
+    Map<String, Integer> getCategoryCounts();
+
+    /**
+     * Counts the entries using each email domain, the part of their email after the first {@code @}, normalized
+     * by {@link EntryFacets#emailDomain(String)}.
+     *
+     * @return a {@code Map} of every email domain to its number of entries, sorted by domain,
+     *         or {@code null} if an error occurs.
+     */
+    Map<String, Integer> getEmailDomainCounts();
+
+    /**
+     * Searches entries by the text of their title, username, email, link and category.
+     *
+     * @param query the text to search for.
+     * @param limit the maximum number of entries to return.
+     * @return a {@code List} of matching entries ordered from most to least relevant,
+     *         or {@code null} if an error occurs.
+     */
+    List<Entry> search(String query, int limit);
+
+    /**
+     * Retrieves the entries matching a query, such as {@code category:Gaming email:john*}, evaluated by the
+     * database rather than by reading every entry.
+     *
+     * @param query the query to match.
+     * @return a {@code List} of the matching entries in no particular order, or {@code null} if an error occurs.
+     * @see EntryQuery
+     */
+    List<Entry> query(EntryQuery query);
+
+    /**
+     * Subscribes a listener to every entry added, modified or removed through this API from now on.
+     *
+     * @param listener the listener to subscribe.
+     * @see EntryChangeNotifier
+     */
+    void addChangeListener(EntryChangeListener listener);
+
+    /**
+     * Unsubscribes a listener added with {@link #addChangeListener(EntryChangeListener)}.
+     *
+     * @param listener the listener to unsubscribe.
+     */
+    void removeChangeListener(EntryChangeListener listener);
 }
@@ -2,63 +2,139 @@ package passwordmanager.backend;
 
 import passwordmanager.app.ApplicationSettings;
 import passwordmanager.backend.local.SQLLite.LocalDatabaseConstants;
+import passwordmanager.backend.local.SQLLite.LocalDatabaseTuning;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * The {@code DatabaseConnection} class provides static methods to manage the connection to the database.
- * This class is used to set the connection to the database and retrieve the connection when needed.
- * The connection is set to the database URL specified in the {@link LocalDatabaseConstants} class based on
+ * The {@code DatabaseConnection} class provides static methods to manage the connections to the database.
+ * This class is used to set the connections to the database and retrieve a connection when needed.
+ * The connections are set to the database URL specified in the {@link LocalDatabaseConstants} class based on
  * the database mode and application mode specified in the {@link ApplicationSettings} class.
  *
+ * <p>Every connection is tuned with the {@link LocalDatabaseTuning} of the performance profile selected in
+ * {@link ApplicationSettings} as soon as it is opened.
+ *
+ * <p>Connections are split between a single writer connection and a small pool of read-only connections.
+ * When the performance profile uses WAL, readers see the last committed state and never block on, or are
+ * blocked by, the writer. Readers are only opened for file backed databases using WAL; otherwise (such as
+ * with an in-memory database, which cannot be shared between connections) reads are served by the writer.
+ *
  * <p>Instances of this class are not needed as all methods are static.
- * The connection to the database is set using the {@link #setConnection()} method.
- * The connection to the database is retrieved using the {@link #getConnection()} method.
- * The connection to the database can be closed using the {@link #closeConnection()} method.
+ * The connections to the database are set using the {@link #setConnection()} method.
+ * The writer connection is retrieved using the {@link #getConnection()} method.
+ * A read connection is borrowed using {@link #acquireReadConnection()} and must be handed back
+ * using {@link #releaseReadConnection(Connection)}.
+ * The connections to the database can be closed using the {@link #closeConnection()} method.
  *
  * <p>Usage example:
  * <pre>
  * {@code
  * DatabaseConnection.setConnection();
  * Connection conn = DatabaseConnection.getConnection();
- * // Use the connection
+ * // Use the connection for writes
+ *
+ * Connection reader = DatabaseConnection.acquireReadConnection();
+ * try {
+ *     // Use the connection for reads
+ * } finally {
+ *     DatabaseConnection.releaseReadConnection(reader);
+ * }
  * DatabaseConnection.closeConnection();
  * }
  * </pre>
  *
  * @see LocalDatabaseConstants
  * @see ApplicationSettings
+ * @see ConnectionPoolMetrics
  */
 public class DatabaseConnection {
 
-    private static Connection connection;
+    private static volatile Connection connection;
+
+    // Read-only connections, idle ones wait in the queue until borrowed
+    private static final List<Connection> readConnections = new CopyOnWriteArrayList<>();
+    private static final BlockingQueue<Connection> idleReadConnections = new LinkedBlockingQueue<>();
+
+    // How long a borrower waits for an idle connection before checking whether the pool is still there
+    private static final long READ_CONNECTION_POLL_MILLIS = 100;
+
+    // Pool metrics
+    private static final AtomicLong acquisitions = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
 
     /**
-     * Automatically sets the connection to the database based on the database mode and application mode specified
+     * Automatically sets the connections to the database based on the database mode and application mode specified
      * in the {@link ApplicationSettings} class. It currently supports local database connections for
      * testing and production modes. Other database modes are not yet implemented.
      */
     public static void setConnection() {
-        try {
-            // Determine the database mode and application mode
-            ApplicationSettings.DBMode dbMode = ApplicationSettings.getDbMode();
-            ApplicationSettings.ApplicationMode appMode = ApplicationSettings.getApplicationMode();
-
-            switch (dbMode) {
-                case LOCAL -> {
-                    if (appMode == ApplicationSettings.ApplicationMode.TESTING) {
-                        connection = DriverManager.getConnection(LocalDatabaseConstants.TEST_CONNECTION_URL);
-                    } else {
-                        connection = DriverManager.getConnection(LocalDatabaseConstants.APP_CONNECTION_URL);
-                    }
+        // Determine the database mode and application mode
+        ApplicationSettings.DBMode dbMode = ApplicationSettings.getDbMode();
+        ApplicationSettings.ApplicationMode appMode = ApplicationSettings.getApplicationMode();
+
+        switch (dbMode) {
+            case LOCAL -> {
+                if (appMode == ApplicationSettings.ApplicationMode.TESTING) {
+                    setConnection(LocalDatabaseConstants.TEST_CONNECTION_URL);
+                } else {
+                    setConnection(LocalDatabaseConstants.APP_CONNECTION_URL);
                 }
-                case DYNAMO_DB, MICROSOFT_SQL, ORACLE_SQL -> {
-                    System.out.printf("Support for %s is not yet implemented.%n", dbMode);
-                    System.exit(1);
+            }
+            case DYNAMO_DB, MICROSOFT_SQL, ORACLE_SQL -> {
+                System.out.printf("Support for %s is not yet implemented.%n", dbMode);
+                System.exit(1);
+            }
+            default -> throw new UnsupportedOperationException("Unsupported DB mode: " + dbMode);
+        }
+    }
+
+    /**
+     * Sets the connections to the local database at the given JDBC URL, tuned with the performance profile
+     * selected in {@link ApplicationSettings}.
+     *
+     * @param connectionUrl the JDBC URL of the database to connect to.
+     */
+    public static void setConnection(String connectionUrl) {
+        setConnection(connectionUrl, ApplicationSettings.getDbPerformanceProfile());
+    }
+
+    /**
+     * Sets the connections to the local database at the given JDBC URL, tuned with the given performance profile.
+     * The writer connection is always opened. For file backed databases whose profile uses WAL,
+     * {@link LocalDatabaseConstants#READ_CONNECTION_POOL_SIZE} read-only connections are opened as well.
+     *
+     * @param connectionUrl the JDBC URL of the database to connect to.
+     * @param profile the performance profile to apply to every connection.
+     */
+    public static void setConnection(String connectionUrl, ApplicationSettings.DBPerformanceProfile profile) {
+        LocalDatabaseTuning tuning = LocalDatabaseTuning.forProfile(profile);
+        try {
+            Connection writer = DriverManager.getConnection(connectionUrl);
+            tuning.applyToWriter(writer);
+            connection = writer;
+
+            // Readers from a previous database must not be handed out for the new one; borrowers waiting for
+            // one are handed the new writer instead
+            closeReadConnections();
+
+            if (!isInMemory(connectionUrl) && tuning.usesWriteAheadLog()) {
+                for (int i = 0; i < LocalDatabaseConstants.READ_CONNECTION_POOL_SIZE; i++) {
+                    Connection readConnection = DriverManager.getConnection(connectionUrl);
+                    tuning.applyToReader(readConnection);
+                    readConnections.add(readConnection);
+                    idleReadConnections.add(readConnection);
                 }
-                default -> throw new UnsupportedOperationException("Unsupported DB mode: " + dbMode);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -66,7 +142,7 @@ public class DatabaseConnection {
     }
 
     /**
-     * Returns the current connection to the database. If the connection has not been set, it prints an error
+     * Returns the current writer connection to the database. If the connection has not been set, it prints an error
      * message and terminates the program.
      *
      * @return the connection to the database
@@ -79,13 +155,93 @@ public class DatabaseConnection {
         return connection;
     }
 
+    /**
+     * Borrows a read-only connection from the pool, waiting for one to become available if all are in use.
+     * If the database has no read connections (such as an in-memory database), the writer connection is returned.
+     * This is also the case when the pool is closed or replaced by one without read connections while waiting.
+     * Every connection acquired must be handed back using {@link #releaseReadConnection(Connection)}.
+     *
+     * @return a connection that may be used for reads.
+     * @throws IllegalStateException if the thread is interrupted while waiting for a connection.
+     */
+    public static Connection acquireReadConnection() {
+        if (readConnections.isEmpty()) {
+            return getConnection();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Connection readConnection;
+            do {
+                readConnection = idleReadConnections.poll(READ_CONNECTION_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (readConnection == null) {
+                    if (readConnections.isEmpty()) {
+                        return getConnection();
+                    }
+                } else if (!readConnections.contains(readConnection)) {
+                    // Released into the queue while the pool was being closed
+                    close(readConnection);
+                    readConnection = null;
+                }
+            } while (readConnection == null);
+
+            long waited = System.nanoTime() - start;
+            acquisitions.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+            return readConnection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a read connection", e);
+        }
+    }
+
+    /**
+     * Hands a connection obtained from {@link #acquireReadConnection()} back to the pool. A read connection
+     * borrowed before the connections were set again or closed is no longer part of the pool, and is closed
+     * instead, so it is never handed out for the current database.
+     *
+     * @param readConnection the connection to release.
+     */
+    public static void releaseReadConnection(Connection readConnection) {
+        if (readConnection == connection) {
+            return;
+        }
+
+        if (readConnections.contains(readConnection)) {
+            if (!idleReadConnections.contains(readConnection)) {
+                idleReadConnections.add(readConnection);
+            }
+            return;
+        }
+
+        close(readConnection);
+    }
 
+    /**
+     * Returns a snapshot of the read connection pool's current state and accumulated wait times.
+     *
+     * @return the current {@code ConnectionPoolMetrics}.
+     */
+    public static ConnectionPoolMetrics getPoolMetrics() {
+        int idle = idleReadConnections.size();
+        return new ConnectionPoolMetrics(
+                readConnections.size() - idle,
+                idle,
+                acquisitions.get(),
+                totalWaitNanos.get(),
+                maxWaitNanos.get());
+    }
 
     /**
-     * Closes the connection to the database if it is open.
+     * Closes the writer connection and the idle read connections to the database if they are open. Read
+     * connections still borrowed are closed when they are released.
      */
     public static void closeConnection() {
         try {
+            closeReadConnections();
+
             if (connection != null && !connection.isClosed()) {
                 connection.close();
             }
@@ -94,4 +250,41 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Discards all read connections, closing the idle ones. Borrowed connections are no longer part of the pool
+     * once discarded, so reads in progress complete and the connection is closed when it is released.
+     */
+    private static void closeReadConnections() {
+        // The pool is emptied before closing anything, so a connection that fails to close is not left in it
+        readConnections.clear();
+        List<Connection> idle = new ArrayList<>();
+        idleReadConnections.drainTo(idle);
+        idle.forEach(DatabaseConnection::close);
+    }
+
+    /**
+     * Closes a read connection if it is open.
+     *
+     * @param readConnection the connection to close.
+     */
+    private static void close(Connection readConnection) {
+        try {
+            if (!readConnection.isClosed()) {
+                readConnection.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns whether the given SQLite URL refers to an in-memory database.
+     *
+     * @param connectionUrl the JDBC URL to check.
+     * @return {@code true} if the URL refers to an in-memory database, {@code false} otherwise.
+     */
+    private static boolean isInMemory(String connectionUrl) {
+        return connectionUrl.contains(":memory:") || connectionUrl.contains("mode=memory");
+    }
+
 }
@@ -0,0 +1,55 @@
+package passwordmanager.backend;
+
+import passwordmanager.model.Entry;
+
+/**
+ * Describes a single change made to the entries of a database, as delivered to an {@link EntryChangeListener}.
+ *
+ * @param type the kind of change.
+ * @param title the title of the affected entry.
+ * @param entry the affected entry as it is after the change. For removals, the removed entry if it is known,
+ *              or {@code null} if the entry was removed by title.
+ * @see EntryChangeNotifier
+ */
+public record EntryChangeEvent(Type type, String title, Entry entry) {
+
+    /**
+     * The kinds of change made to an entry.
+     */
+    public enum Type {
+        ADDED,
+        MODIFIED,
+        REMOVED
+    }
+
+    /**
+     * Creates an event for an entry added to the database.
+     *
+     * @param entry the added entry.
+     * @return a new {@code EntryChangeEvent}.
+     */
+    public static EntryChangeEvent added(Entry entry) {
+        return new EntryChangeEvent(Type.ADDED, entry.getTitle(), entry);
+    }
+
+    /**
+     * Creates an event for an entry modified in the database.
+     *
+     * @param entry the entry as it is after the modification.
+     * @return a new {@code EntryChangeEvent}.
+     */
+    public static EntryChangeEvent modified(Entry entry) {
+        return new EntryChangeEvent(Type.MODIFIED, entry.getTitle(), entry);
+    }
+
+    /**
+     * Creates an event for an entry removed from the database.
+     *
+     * @param title the title of the removed entry.
+     * @param entry the removed entry, or {@code null} if it is not known.
+     * @return a new {@code EntryChangeEvent}.
+     */
+    public static EntryChangeEvent removed(String title, Entry entry) {
+        return new EntryChangeEvent(Type.REMOVED, title, entry);
+    }
+}
@@ -0,0 +1,24 @@
+package passwordmanager.backend;
+
+import java.util.List;
+
+/**
+ * A listener notified of changes made to the entries of a database.
+ *
+ * @see EntryChangeNotifier
+ * @see DatabaseAPI#addChangeListener(EntryChangeListener)
+ */
+@FunctionalInterface
+public interface EntryChangeListener {
+
+    /**
+     * Called after one or more changes have been made to the entries of a database. Changes made together,
+     * such as by a bulk insert, are delivered in a single call.
+     *
+     * <p>This method is called on the thread that made the changes, which is usually not the JavaFX
+     * application thread.
+     *
+     * @param events the changes, in the order they were made.
+     */
+    void entriesChanged(List<EntryChangeEvent> events);
+}
@@ -0,0 +1,138 @@
+package passwordmanager.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@code EntryChangeNotifier} class delivers the changes made by a {@link DatabaseAPI} implementation to the
+ * {@link EntryChangeListener}s subscribed to it, such as caches and the UI.
+ *
+ * <p>Events are delivered synchronously on the publishing thread, to every listener in the order they subscribed.
+ * To coalesce a burst of changes into one delivery, publish them within a batch. Events published on a thread
+ * with an open batch are held back until its outermost batch is closed, and then delivered together. Batches
+ * are tracked per thread and may be nested.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * EntryChangeNotifier notifier = new EntryChangeNotifier();
+ * notifier.addListener(events -> System.out.println(events.size() + " changes"));
+ *
+ * try (EntryChangeNotifier.Batch batch = notifier.beginBatch()) {
+ *     notifier.publish(EntryChangeEvent.added(entry1));
+ *     notifier.publish(EntryChangeEvent.added(entry2));
+ * } // Prints "2 changes"
+ * }
+ * </pre>
+ *
+ * @see EntryChangeEvent
+ * @see EntryChangeListener
+ */
+public class EntryChangeNotifier {
+
+    private final List<EntryChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Events held back by the open batch of each thread
+    private final ThreadLocal<PendingEvents> pending = new ThreadLocal<>();
+
+    /**
+     * A scope within which published events are held back, delivered once the outermost batch is closed.
+     */
+    public interface Batch extends AutoCloseable {
+
+        /**
+         * Closes this batch, delivering its events if it is the outermost batch of the thread.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Subscribes a listener to every change delivered from now on.
+     *
+     * @param listener the listener to subscribe.
+     */
+    public void addListener(EntryChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes a listener.
+     *
+     * @param listener the listener to unsubscribe.
+     */
+    public void removeListener(EntryChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Opens a batch on the current thread. It must be closed on the same thread, such as by using a
+     * try-with-resources statement.
+     *
+     * @return the opened {@code Batch}.
+     */
+    public Batch beginBatch() {
+        PendingEvents events = pending.get();
+        if (events == null) {
+            events = new PendingEvents();
+            pending.set(events);
+        }
+        events.depth++;
+
+        PendingEvents batchEvents = events;
+        return () -> {
+            if (--batchEvents.depth == 0) {
+                pending.remove();
+                deliver(batchEvents.events);
+            }
+        };
+    }
+
+    /**
+     * Publishes a single change.
+     *
+     * @param event the change to publish.
+     */
+    public void publish(EntryChangeEvent event) {
+        publish(List.of(event));
+    }
+
+    /**
+     * Publishes several changes, delivered together.
+     *
+     * @param events the changes to publish, in the order they were made.
+     */
+    public void publish(List<EntryChangeEvent> events) {
+        PendingEvents batchEvents = pending.get();
+        if (batchEvents != null) {
+            batchEvents.events.addAll(events);
+        } else {
+            deliver(events);
+        }
+    }
+
+    /**
+     * Delivers events to every listener, unless there are none.
+     *
+     * @param events the events to deliver.
+     */
+    private void deliver(List<EntryChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<EntryChangeEvent> delivered = List.copyOf(events);
+        for (EntryChangeListener listener : listeners) {
+            listener.entriesChanged(delivered);
+        }
+    }
+
+    /**
+     * The events held back by a thread's open batch, along with how deeply its batches are nested.
+     */
+    private static class PendingEvents {
+        private final List<EntryChangeEvent> events = new ArrayList<>();
+        private int depth;
+    }
+}
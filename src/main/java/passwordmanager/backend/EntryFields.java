@@ -4,6 +4,8 @@ package passwordmanager.backend;
  * Enum representing the columns in the entries table.
  */
 public enum EntryFields {
+    // Integer key of a row, linking it to its full-text search row; it is not a field of an entry
+    ID("id"),
     TITLE("title"),
     EMAIL("email"),
     SECONDARY_EMAIL("secondary_email"),
@@ -1,5 +1,6 @@
 package passwordmanager.backend;
 
+import passwordmanager.backend.query.EntryQuery;
 import passwordmanager.model.Entry;
 
 import java.sql.PreparedStatement;
@@ -70,6 +71,24 @@ public interface PreparedStatementGenerator {
      */
     PreparedStatement prepareGetAllEntryTitlesStatement() throws SQLException;
 
+    /**
+     * Prepares a statement to retrieve every entry, with all of its columns, from the entry table.
+     *
+     * @return a PreparedStatement to retrieve all entries in a single query.
+     * @throws SQLException if a database access error occurs.
+     */
+    PreparedStatement prepareGetAllEntriesStatement() throws SQLException;
+
+    /**
+     * Prepares a forward-only, read-only statement to stream every entry from the entry table.
+     * Unlike other statements, the returned statement is owned by the caller, who must close it.
+     *
+     * @param fetchSize the number of rows to fetch from the database at a time.
+     * @return a PreparedStatement to stream all entries.
+     * @throws SQLException if a database access error occurs.
+     */
+    PreparedStatement prepareStreamAllEntriesStatement(int fetchSize) throws SQLException;
+
     /**
      * Prepares a statement to retrieve a list of groups from the database.
      *
@@ -77,4 +96,40 @@ public interface PreparedStatementGenerator {
      * @throws SQLException if a database access error occurs.
      */
     PreparedStatement prepareGetListOfGroupsStatement() throws SQLException;
+
+    /**
+     * Prepares a statement to count the entries in each group.
+     *
+     * @return a PreparedStatement returning every group and its number of entries.
+     * @throws SQLException if a database access error occurs.
+     */
+    PreparedStatement prepareGetCategoryCountsStatement() throws SQLException;
+
+    /**
+     * Prepares a statement to count the entries using each email domain.
+     *
+     * @return a PreparedStatement returning every email domain and its number of entries.
+     * @throws SQLException if a database access error occurs.
+     */
+    PreparedStatement prepareGetEmailDomainCountsStatement() throws SQLException;
+
+    /**
+     * Prepares a statement to search entries by the text of their fields, ordered from most to least relevant.
+     *
+     * @param query the text to search for.
+     * @param limit the maximum number of entries to return.
+     * @return a PreparedStatement to search entries.
+     * @throws SQLException if a database access error occurs.
+     */
+    PreparedStatement prepareSearchEntriesStatement(String query, int limit) throws SQLException;
+
+    /**
+     * Prepares a statement to retrieve the entries matching a query, with the query's conditions evaluated
+     * by the database.
+     *
+     * @param query the query to match.
+     * @return a PreparedStatement to retrieve the matching entries.
+     * @throws SQLException if a database access error occurs.
+     */
+    PreparedStatement prepareQueryEntriesStatement(EntryQuery query) throws SQLException;
 }
@@ -0,0 +1,114 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.app.ApplicationSettings.DBPerformanceProfile;
+import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.backend.local.SQLLite.LocalDatabaseTuning;
+import passwordmanager.backend.local.SQLLite.LocalPreparedStatementGenerator;
+import passwordmanager.model.Entry;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Benchmark comparing the database performance profiles on insert and full scan workloads.
+ * For each {@link DBPerformanceProfile}, a fresh database file is created and the following are measured:
+ * <ul>
+ *     <li>Individual inserts, each committed in its own transaction.</li>
+ *     <li>A batched insert of a large vault within a single transaction.</li>
+ *     <li>A full scan reading every column of every entry.</li>
+ * </ul>
+ *
+ * <p>Unlike the other benchmarks, this one always uses a temporary database file, as the profiles
+ * mostly affect how SQLite writes to disk.
+ *
+ * @author Josh Patterson
+ */
+public class DatabaseProfileBenchmark {
+
+    private static final int SINGLE_INSERTS = 1_000;
+    private static final int BATCH_INSERTS = 50_000;
+
+    /**
+     * Runs the benchmark and prints the timings of each workload for every profile.
+     *
+     * @param args unused.
+     * @throws IOException if a temporary database file could not be created.
+     * @throws SQLException if a database access error occurs.
+     */
+    public static void main(String[] args) throws IOException, SQLException {
+        List<Entry> entries = EntryGenerator.generateUniqueEntries(SINGLE_INSERTS + BATCH_INSERTS);
+
+        System.out.printf("%12s %22s %22s %18s%n", "profile", "single inserts (ms)", "batch insert (ms)", "full scan (ms)");
+
+        for (DBPerformanceProfile profile : DBPerformanceProfile.values()) {
+            File databaseFile = File.createTempFile("password_manager_benchmark", ".db");
+            databaseFile.deleteOnExit();
+
+            // The file must not exist yet for page_size to take effect
+            databaseFile.delete();
+
+            DatabaseConnection.setConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath(), profile);
+            Connection connection = DatabaseConnection.getConnection();
+            LocalPreparedStatementGenerator generator = new LocalPreparedStatementGenerator(connection);
+            generator.prepareEntryTableCreationStatement().execute();
+
+            // Individual inserts, each in its own autocommit transaction
+            long start = System.nanoTime();
+            for (Entry entry : entries.subList(0, SINGLE_INSERTS)) {
+                generator.prepareInsertEntryStatement(entry).execute();
+            }
+            double singleInserts = (System.nanoTime() - start) / 1_000_000.0;
+
+            // Batched inserts within a single transaction
+            start = System.nanoTime();
+            connection.setAutoCommit(false);
+            PreparedStatement insert = null;
+            for (Entry entry : entries.subList(SINGLE_INSERTS, entries.size())) {
+                insert = generator.prepareInsertEntryStatement(entry);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+            connection.setAutoCommit(true);
+            double batchInsert = (System.nanoTime() - start) / 1_000_000.0;
+
+            // Full scan on a read connection
+            double fullScan = EntryLoadBenchmark.medianMillis(DatabaseProfileBenchmark::scanAllEntries);
+
+            System.out.printf("%12s %22.2f %22.2f %18.2f%n", profile, singleInserts, batchInsert, fullScan);
+            System.out.println("             " + LocalDatabaseTuning.forProfile(profile));
+
+            DatabaseConnection.closeConnection();
+            new File(databaseFile.getAbsolutePath() + "-wal").delete();
+            new File(databaseFile.getAbsolutePath() + "-shm").delete();
+            databaseFile.delete();
+        }
+    }
+
+    /**
+     * Reads every column of every entry using a read connection.
+     */
+    private static void scanAllEntries() {
+        Connection connection = DatabaseConnection.acquireReadConnection();
+        try {
+            LocalPreparedStatementGenerator generator = new LocalPreparedStatementGenerator(connection);
+            try (ResultSet resultSet = generator.prepareGetAllEntriesStatement().executeQuery()) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        resultSet.getString(i);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.releaseReadConnection(connection);
+        }
+    }
+}
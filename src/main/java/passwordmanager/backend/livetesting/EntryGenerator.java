@@ -63,6 +63,35 @@ public class EntryGenerator {
         return entries;
     }
 
+    /**
+     * Generates a specified number of random Entry objects with guaranteed unique titles.
+     * Unlike {@link #generateEntries(int)}, the count is not limited by the number of predefined titles,
+     * as each title is suffixed with its index. This is intended for benchmarks that need large vaults.
+     *
+     * @param count the number of Entry objects to generate.
+     * @return a list containing the randomly generated Entry objects.
+     */
+    public static List<Entry> generateUniqueEntries(int count) {
+        List<Entry> entries = new ArrayList<>(count);
+        Random random = new Random();
+
+        for (int i = 0; i < count; i++) {
+            String title = TITLES[random.nextInt(TITLES.length)] + " " + i;
+
+            Entry entry = new EntryBuilder(title)
+                    .email(EMAILS[random.nextInt(EMAILS.length)])
+                    .password(PASSWORDS[random.nextInt(PASSWORDS.length)])
+                    .username(USERNAMES[random.nextInt(USERNAMES.length)])
+                    .link(LINKS[random.nextInt(LINKS.length)])
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .build();
+
+            entries.add(entry);
+        }
+
+        return entries;
+    }
+
     // Predefined arrays for generating random data
     private static final String[] TITLES = {
             "Facebook", "Gmail", "Twitter", "LinkedIn", "Instagram", "Reddit", "Amazon", "Netflix", "Dropbox", "GitHub",
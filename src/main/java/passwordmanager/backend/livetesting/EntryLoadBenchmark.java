@@ -0,0 +1,95 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.backend.local.SQLLite.LocalAPI;
+import passwordmanager.model.Entry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark comparing the time taken to load every entry from the local database as the vault grows.
+ * Two load paths are measured at each vault size:
+ * <ul>
+ *     <li>Per-title lookups, where all titles are fetched and each entry is then retrieved individually.</li>
+ *     <li>The single-query bulk load used by {@link LocalAPI#getAllEntries()}.</li>
+ * </ul>
+ *
+ * <p>The benchmark runs against the database selected by the current application settings and is intended
+ * to be run in testing mode, where an in-memory database is used.
+ *
+ * @author Josh Patterson
+ */
+public class EntryLoadBenchmark {
+
+    private static final int[] VAULT_SIZES = {1_000, 5_000, 10_000, 20_000};
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * Runs the benchmark and prints the median load time of each path for every vault size.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        DatabaseConnection.setConnection();
+        LocalAPI localAPI = LocalAPI.getInstance();
+
+        List<Entry> entries = EntryGenerator.generateUniqueEntries(VAULT_SIZES[VAULT_SIZES.length - 1]);
+
+        System.out.printf("%10s %18s %18s%n", "entries", "per-title (ms)", "bulk load (ms)");
+
+        int inserted = 0;
+        for (int size : VAULT_SIZES) {
+
+            // Grow the vault up to the next size
+            for (; inserted < size; inserted++) {
+                localAPI.newEntry(entries.get(inserted));
+            }
+
+            double perTitle = medianMillis(() -> loadPerTitle(localAPI));
+            double bulk = medianMillis(localAPI::getAllEntries);
+
+            System.out.printf("%10d %18.2f %18.2f%n", size, perTitle, bulk);
+        }
+
+        DatabaseConnection.closeConnection();
+    }
+
+    /**
+     * Loads all entries by retrieving each title and then each entry individually.
+     *
+     * @param localAPI the API to load entries from.
+     * @return the loaded entries.
+     */
+    private static List<Entry> loadPerTitle(LocalAPI localAPI) {
+        List<Entry> loaded = new ArrayList<>();
+        for (String title : localAPI.getEntryTitles()) {
+            loaded.add(localAPI.getEntry(title));
+        }
+        return loaded;
+    }
+
+    /**
+     * Runs the given task a number of times after warming it up and returns the median duration.
+     *
+     * @param task the task to measure.
+     * @return the median duration in milliseconds.
+     */
+    static double medianMillis(Runnable task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+
+        long[] durations = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            durations[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(durations);
+        return durations[MEASURED_ROUNDS / 2] / 1_000_000.0;
+    }
+}
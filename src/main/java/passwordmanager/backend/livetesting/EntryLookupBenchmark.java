@@ -0,0 +1,92 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.frontend.cache.EntryCache;
+import passwordmanager.model.Entry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark comparing title lookups in the {@link EntryCache} as the vault grows.
+ * Two lookup paths are measured at each vault size:
+ * <ul>
+ *     <li>A linear scan of the cached entries comparing each title, as {@code EntryCache.contains} used to do.</li>
+ *     <li>The title index used by {@link EntryCache#contains(String)} and {@link EntryCache#get(String)}.</li>
+ * </ul>
+ *
+ * <p>Half of the looked up titles exist in the cache and half do not, as an add checks a title that is
+ * usually new.
+ *
+ * @author Josh Patterson
+ */
+public class EntryLookupBenchmark {
+
+    private static final int[] VAULT_SIZES = {1_000, 10_000, 100_000};
+    private static final int LOOKUPS = 1_000;
+
+    // Prevents the JIT from discarding lookups whose results are unused
+    private static int found;
+
+    /**
+     * Runs the benchmark and prints the median time per lookup of each path for every vault size.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        DatabaseConnection.setConnection();
+        EntryCache entryCache = EntryCache.getInstance();
+
+        List<Entry> entries = EntryGenerator.generateUniqueEntries(VAULT_SIZES[VAULT_SIZES.length - 1]);
+        Random random = new Random(42);
+
+        System.out.printf("%10s %22s %22s%n", "entries", "linear scan (ns/op)", "title index (ns/op)");
+
+        for (int size : VAULT_SIZES) {
+            entryCache.setEntries(new ArrayList<>(entries.subList(0, size)));
+
+            List<String> titles = new ArrayList<>();
+            for (int i = 0; i < LOOKUPS; i++) {
+                String title = entries.get(random.nextInt(size)).getTitle();
+                titles.add(i % 2 == 0 ? title : title + " (missing)");
+            }
+
+            double linear = EntryLoadBenchmark.medianMillis(() -> {
+                for (String title : titles) {
+                    if (linearContains(entryCache.getEntries(), title)) {
+                        found++;
+                    }
+                }
+            });
+            double indexed = EntryLoadBenchmark.medianMillis(() -> {
+                for (String title : titles) {
+                    if (entryCache.contains(title)) {
+                        found++;
+                    }
+                }
+            });
+
+            System.out.printf("%10d %22.1f %22.1f%n", size,
+                    linear * 1_000_000 / LOOKUPS, indexed * 1_000_000 / LOOKUPS);
+        }
+
+        DatabaseConnection.closeConnection();
+    }
+
+    /**
+     * Checks whether an entry with the title exists by comparing it with every entry's title.
+     *
+     * @param entries the entries to scan.
+     * @param title the title to look for.
+     * @return {@code true} if an entry has the title, {@code false} otherwise.
+     */
+    private static boolean linearContains(List<Entry> entries, String title) {
+        for (Entry entry : entries) {
+            if (entry.getTitle().equals(title)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.frontend.search.FuzzySearch;
+import passwordmanager.model.Entry;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark measuring the latency of fuzzy searches over a vault of 50,000 entries. The queries are misspelled
+ * titles, the searches the search field falls back to fuzzy matching for, plus a query matching nothing, which
+ * has to check every title.
+ *
+ * <p>Every query is searched many times after warming up all of them, and the 50th and 99th percentile and the
+ * slowest search times are printed for each query. The target is a 99th percentile below 5 ms.
+ *
+ * @author Josh Patterson
+ */
+public class FuzzySearchBenchmark {
+
+    private static final int VAULT_SIZE = 50_000;
+    private static final int RESULT_LIMIT = 50;
+    private static final String[] QUERIES = {"gihtub", "netflx", "amazno", "linkdin", "facebok", "dropbax",
+            "instagarm", "zzzzzz"};
+
+    private static final int WARMUP_SEARCHES = 1_000;
+    private static final int MEASURED_SEARCHES = 1_000;
+
+    // Prevents the JIT from discarding searches whose results are unused
+    private static int matched;
+
+    /**
+     * Runs the benchmark and prints the search time percentiles of each query.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        List<Entry> entries = EntryGenerator.generateUniqueEntries(VAULT_SIZE);
+        EntrySnapshot snapshot = EntrySnapshot.of(entries);
+        FuzzySearch search = new FuzzySearch(() -> snapshot, RESULT_LIMIT);
+
+        System.out.printf("%12s %10s %10s %10s %10s%n", "query", "results", "p50 (ms)", "p99 (ms)", "max (ms)");
+
+        // Every query is warmed up before any is measured, so the JIT has compiled all of their paths
+        for (int i = 0; i < WARMUP_SEARCHES; i++) {
+            for (String query : QUERIES) {
+                matched += search.search(query, () -> false).size();
+            }
+        }
+
+        // Promotes the generated vault out of the young generation, so collections while measuring stay short
+        System.gc();
+
+        long[] all = new long[QUERIES.length * MEASURED_SEARCHES];
+        for (int q = 0; q < QUERIES.length; q++) {
+            String query = QUERIES[q];
+
+            long[] durations = new long[MEASURED_SEARCHES];
+            for (int i = 0; i < MEASURED_SEARCHES; i++) {
+                long start = System.nanoTime();
+                matched += search.search(query, () -> false).size();
+                durations[i] = System.nanoTime() - start;
+            }
+            System.arraycopy(durations, 0, all, q * MEASURED_SEARCHES, MEASURED_SEARCHES);
+
+            printPercentiles(query, search.search(query, () -> false).size(), durations);
+        }
+        printPercentiles("all", -1, all);
+    }
+
+    /**
+     * Prints the 50th and 99th percentile and the slowest of the given search times.
+     *
+     * @param label the label of the row.
+     * @param results the number of results, or -1 to leave it blank.
+     * @param durations the search times, in nanoseconds. Sorted in place.
+     */
+    private static void printPercentiles(String label, int results, long[] durations) {
+        Arrays.sort(durations);
+        System.out.printf("%12s %10s %10.2f %10.2f %10.2f%n", label, results < 0 ? "" : String.valueOf(results),
+                durations[durations.length / 2] / 1e6,
+                durations[(int) (durations.length * 0.99)] / 1e6,
+                durations[durations.length - 1] / 1e6);
+    }
+}
@@ -23,11 +23,9 @@ public class LiveTestSetup {
 
         LocalAPI localAPI = LocalAPI.getInstance();
 
-        // Add 25 randomly generated entries to the test database
+        // Add 50 randomly generated entries to the test database
         List<Entry> entries = EntryGenerator.generateEntries(50);
-        for (Entry entry : entries) {
-            localAPI.newEntry(entry);
-        }
+        localAPI.newEntries(entries);
 
         System.out.println("Live test setup finished.");
 
@@ -0,0 +1,86 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.model.Entry;
+import passwordmanager.model.SearchText;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Benchmark comparing the time and memory a title search allocates per checked entry. Two ways of checking
+ * each entry against the query are measured:
+ * <ul>
+ *     <li>Lower casing the title and query for every entry, as {@code Entry.titleContains} used to do.</li>
+ *     <li>Normalizing the query once and comparing it with each entry's precomputed search key, as the search
+ *         field does through {@link Entry#titleMatches(String)}.</li>
+ * </ul>
+ *
+ * <p>Allocations are read from the bytes the benchmark thread has allocated, as reported by the JVM. The search
+ * key path is expected to allocate nothing per entry.
+ *
+ * @author Josh Patterson
+ */
+public class SearchAllocationBenchmark {
+
+    private static final int VAULT_SIZE = 50_000;
+    private static final String[] QUERIES = {"g", "git", "GitHub", "mail", "Café", "zzz"};
+
+    // Searches are short, so both paths are run many times for the JIT to fully compile them
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 50;
+
+    // Prevents the JIT from discarding checks whose results are unused
+    private static int matched;
+
+    /**
+     * Runs the benchmark and prints the mean time and the allocated bytes per checked entry of each path.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        List<Entry> entries = EntryGenerator.generateUniqueEntries(VAULT_SIZE);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Runnable lowerCasing = () -> {
+            for (String query : QUERIES) {
+                for (Entry entry : entries) {
+                    if (entry.getTitle().toLowerCase().contains(query.toLowerCase())) {
+                        matched++;
+                    }
+                }
+            }
+        };
+        Runnable searchKeys = () -> {
+            for (String query : QUERIES) {
+                String normalizedQuery = SearchText.normalize(query);
+                for (Entry entry : entries) {
+                    if (entry.titleMatches(normalizedQuery)) {
+                        matched++;
+                    }
+                }
+            }
+        };
+
+        int checks = VAULT_SIZE * QUERIES.length;
+        System.out.printf("%12s %14s %16s%n", "path", "ns/entry", "bytes/entry");
+        for (String path : new String[]{"lower case", "search key"}) {
+            Runnable task = path.equals("lower case") ? lowerCasing : searchKeys;
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                task.run();
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                task.run();
+            }
+            double nanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            task.run();
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            System.out.printf("%12s %14.1f %16.2f%n", path, nanos / checks, (double) allocated / checks);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.frontend.cache.TrigramIndex;
+import passwordmanager.model.Entry;
+import passwordmanager.model.SearchText;
+
+import java.util.List;
+
+/**
+ * Benchmark comparing substring searches over the searchable fields of entries as the vault grows.
+ * Two ways of finding the matches of a query are measured at each vault size:
+ * <ul>
+ *     <li>Checking the fields search key of every entry.</li>
+ *     <li>Intersecting the postings of the query's trigrams in a {@link TrigramIndex}, then checking only the
+ *         remaining entries.</li>
+ * </ul>
+ *
+ * <p>Queries range from selective ones, matching a few entries, to one matching every generated entry, for which
+ * the search field checks every entry instead. The time taken to build the index from scratch is printed as well,
+ * as it is built when the entry cache loads.
+ *
+ * @author Josh Patterson
+ */
+public class SubstringSearchBenchmark {
+
+    private static final int[] VAULT_SIZES = {1_000, 10_000, 100_000};
+    private static final String[] QUERIES = {"99999", "zzz", "professional", "github", "user3", "example.com"};
+
+    // Prevents the JIT from discarding searches whose results are unused
+    private static int matched;
+
+    /**
+     * Runs the benchmark and prints, for every vault size, the build time of the index and the median time
+     * of each query on both paths.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        List<Entry> entries = EntryGenerator.generateUniqueEntries(VAULT_SIZES[VAULT_SIZES.length - 1]);
+
+        for (int size : VAULT_SIZES) {
+            List<Entry> vault = entries.subList(0, size);
+            TrigramIndex index = new TrigramIndex();
+
+            double build = EntryLoadBenchmark.medianMillis(() -> index.setEntries(vault));
+            System.out.printf("%n%d entries, index built in %.1f ms%n", size, build);
+            System.out.printf("%14s %10s %16s %16s%n", "query", "matches", "full scan (us)", "index (us)");
+
+            for (String query : QUERIES) {
+                String normalizedQuery = SearchText.normalize(query);
+
+                double scan = EntryLoadBenchmark.medianMillis(() -> {
+                    for (Entry entry : vault) {
+                        if (entry.fieldsMatch(normalizedQuery)) {
+                            matched++;
+                        }
+                    }
+                });
+                double indexed = EntryLoadBenchmark.medianMillis(() -> matched += index.search(normalizedQuery).size());
+
+                System.out.printf("%14s %10d %16.1f %16.1f%n", query, index.search(normalizedQuery).size(),
+                        scan * 1_000, indexed * 1_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package passwordmanager.backend.livetesting;
+
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryTitleComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark comparing ways of sorting a vault by title as the vault grows, as a snapshot of the cache is sorted
+ * whenever all entries are loaded. Three sorts are measured at each vault size:
+ * <ul>
+ *     <li>A sequential sort comparing titles character by character, folding the case of every character on
+ *         every comparison, as {@link EntryTitleComparator} used to do.</li>
+ *     <li>A sequential sort comparing the precomputed sort keys of the entries, as {@link EntryTitleComparator}
+ *         does.</li>
+ *     <li>{@link Arrays#parallelSort(Object[], Comparator)} comparing the sort keys, as
+ *         {@code EntrySnapshot.of} does.</li>
+ * </ul>
+ *
+ * <p>Every sort starts from the same shuffled entries, and the median of several sorts is printed. The time to
+ * compute the keys is not included, as it is paid once when each entry is constructed rather than per sort.
+ *
+ * @author Josh Patterson
+ */
+public class TitleSortBenchmark {
+
+    private static final int[] VAULT_SIZES = {1_000, 10_000, 100_000};
+    private static final int WARMUP_SORTS = 10;
+    private static final int MEASURED_SORTS = 15;
+
+    // Compares titles character by character, as the comparator did before sort keys
+    private static final Comparator<Entry> CHARACTER_COMPARATOR = (entry1, entry2) -> {
+        String title1 = entry1.getTitle();
+        String title2 = entry2.getTitle();
+        int limit = Math.min(title1.length(), title2.length());
+        for (int k = 0; k < limit; k++) {
+            char c1 = title1.charAt(k);
+            char c2 = title2.charAt(k);
+            if (c1 != c2) {
+                if (Character.toLowerCase(c1) == Character.toLowerCase(c2)) {
+                    return c1 - c2;
+                }
+                return Character.toLowerCase(c1) - Character.toLowerCase(c2);
+            }
+        }
+        return title1.length() - title2.length();
+    };
+
+    private static final EntryTitleComparator KEY_COMPARATOR = new EntryTitleComparator();
+
+    // Prevents the JIT from discarding sorts whose results are unused
+    private static int checksum;
+
+    /**
+     * Runs the benchmark and prints the median time of each sort for every vault size.
+     *
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        System.out.printf("%10s %16s %16s %16s%n", "entries", "chars (ms)", "keys (ms)", "parallel (ms)");
+
+        for (int size : VAULT_SIZES) {
+            List<Entry> entries = new ArrayList<>(EntryGenerator.generateUniqueEntries(size));
+            Collections.shuffle(entries, new Random(42));
+            Entry[] shuffled = entries.toArray(new Entry[0]);
+
+            double characters = medianMillis(shuffled, array -> Arrays.sort(array, CHARACTER_COMPARATOR));
+            double keys = medianMillis(shuffled, array -> Arrays.sort(array, KEY_COMPARATOR));
+            double parallel = medianMillis(shuffled, array -> Arrays.parallelSort(array, KEY_COMPARATOR));
+
+            System.out.printf("%10d %16.3f %16.3f %16.3f%n", size, characters, keys, parallel);
+        }
+    }
+
+    /**
+     * Sorts copies of the shuffled entries repeatedly and returns the median time of a sort.
+     *
+     * @param shuffled the entries to sort, left unchanged.
+     * @param sort sorts an array of entries in place.
+     * @return the median time of a sort, in milliseconds.
+     */
+    private static double medianMillis(Entry[] shuffled, Consumer<Entry[]> sort) {
+        for (int i = 0; i < WARMUP_SORTS; i++) {
+            Entry[] array = shuffled.clone();
+            sort.accept(array);
+            checksum += array[0].getTitle().length();
+        }
+
+        long[] durations = new long[MEASURED_SORTS];
+        for (int i = 0; i < MEASURED_SORTS; i++) {
+            Entry[] array = shuffled.clone();
+            long start = System.nanoTime();
+            sort.accept(array);
+            durations[i] = System.nanoTime() - start;
+            checksum += array[0].getTitle().length();
+        }
+        Arrays.sort(durations);
+        return durations[MEASURED_SORTS / 2] / 1e6;
+    }
+}
@@ -1,14 +1,29 @@
 package passwordmanager.backend.local.SQLLite;
 
 import passwordmanager.backend.DatabaseAPI;
+import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.backend.EntryChangeListener;
+import passwordmanager.backend.EntryChangeNotifier;
 import passwordmanager.backend.EntryFields;
+import passwordmanager.backend.query.EntryQuery;
 import passwordmanager.model.Entry;
 import passwordmanager.model.EntryBuilder;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code DatabaseAPI} class provides methods for interacting with a database
@@ -18,6 +33,15 @@ import java.util.Set;
  * This class ensures safe database operations and encapsulates SQL statements for
  * adding, modifying, removing, and retrieving data related to entries.
  *
+ * <p>Writes are performed on the writer connection from {@link DatabaseConnection#getConnection()}, while reads
+ * borrow a connection from {@link DatabaseConnection#acquireReadConnection()}. Each connection has its own
+ * statement generator, and with it its own statement cache, which is only used by one thread at a time.
+ * If {@link DatabaseConnection} is pointed at another database, the next operation binds to it and migrates its schema.
+ *
+ * <p>Every successful write is published to the listeners added with {@link #addChangeListener(EntryChangeListener)}
+ * once the writer connection is released. The entries of {@link #newEntries(Collection)} are delivered together,
+ * and several writes can be coalesced into one delivery with {@link #beginChangeBatch()}.
+ *
  * <p>Note: This class follows the singleton design pattern to ensure only one instance
  * is created throughout the application.
  *
@@ -33,27 +57,25 @@ import java.util.Set;
  */
 public class LocalAPI implements DatabaseAPI {
 
+    // Generator for the writer connection
     private LocalPreparedStatementGenerator LocalPreparedStatementGenerator;
 
+    // Generators for the connections in use, keyed by the connection they prepare statements on
+    private final Map<Connection, LocalPreparedStatementGenerator> generators = new ConcurrentHashMap<>();
+
+    // Delivers successful writes to caches and the UI
+    private final EntryChangeNotifier changeNotifier = new EntryChangeNotifier();
+
     // Singleton Instance
     private static LocalAPI instance;
 
     /**
-     * Private constructor to initialize the database connection and create necessary tables.
+     * Private constructor to initialize the database connection and bring the schema up to date.
      * This constructor is called internally to ensure only one instance of the {@code DatabaseAPI}
      * class exists throughout the application.
      */
     private LocalAPI() {
-        try {
-            this.LocalPreparedStatementGenerator = new LocalPreparedStatementGenerator();
-
-            try (PreparedStatement createEntryTable = LocalPreparedStatementGenerator. prepareEntryTableCreationStatement()) {
-                createEntryTable.execute();
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        bind(DatabaseConnection.getConnection());
     }
 
     /**
@@ -68,25 +90,177 @@ public class LocalAPI implements DatabaseAPI {
         return instance;
     }
 
+    /**
+     * Returns the prepared statement cache of the writer connection, which exposes hit and miss counters for monitoring.
+     *
+     * @return the {@code LocalStatementCache} backing this API's write statements.
+     */
+    public LocalStatementCache getStatementCache() {
+        return writer().getStatementCache();
+    }
+
     /**
      *  {@inheritDoc}
      */
     @Override
-    public void newEntry(Entry entry) {
-        try {
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareInsertEntryStatement(entry)) {
+    public boolean newEntry(Entry entry) {
+        Entry added = null;
+
+        LocalPreparedStatementGenerator writer = writer();
+        synchronized (writer) {
+            try {
+                // Listeners receive the entry as stored, with the dates it was given
+                String now = currentDateTime(writer);
+                PreparedStatement stmt = writer.prepareInsertEntryStatement(entry, now);
                 stmt.execute();
+                added = withDates(entry, now);
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
+
+        if (added == null) {
+            return false;
+        }
+        changeNotifier.publish(EntryChangeEvent.added(added));
+        return true;
     }
 
     /**
      *  {@inheritDoc}
+     *
+     * <p>Entries are inserted within a single transaction using JDBC batches of
+     * {@link LocalDatabaseConstants#DEFAULT_BATCH_CHUNK_SIZE} rows.
      */
     @Override
-    public void modifyEntry(String title, EntryFields field, String newValue) {
+    public boolean newEntries(Collection<Entry> entries) {
+        return newEntries(entries, LocalDatabaseConstants.DEFAULT_BATCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Adds multiple new entries to the database within a single transaction.
+     * Inserts are sent to the database in JDBC batches of at most {@code chunkSize} rows, and the transaction
+     * is only committed once every batch has been executed. If any insert fails the whole transaction is
+     * rolled back and no entries are added.
+     *
+     * @param entries the {@code Entry} objects to be added.
+     * @param chunkSize the maximum number of inserts sent to the database per batch.
+     * @return {@code true} if the entries were added, {@code false} if an error occurred and none were.
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1.
+     */
+    public boolean newEntries(Collection<Entry> entries, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+
+        List<Entry> added = null;
+
+        LocalPreparedStatementGenerator writer = writer();
+        synchronized (writer) {
+            Connection connection = writer.getConnection();
+            try {
+                // Every entry is given the same time, so none has to be read back
+                String now = currentDateTime(writer);
+
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+
+                PreparedStatement stmt = null;
+                try {
+                    int pending = 0;
+
+                    for (Entry entry : entries) {
+                        // The cached insert statement is rebound for each entry and added to the current batch
+                        stmt = writer.prepareInsertEntryStatement(entry, now);
+                        stmt.addBatch();
+
+                        if (++pending == chunkSize) {
+                            stmt.executeBatch();
+                            pending = 0;
+                        }
+                    }
+
+                    if (pending > 0) {
+                        stmt.executeBatch();
+                    }
+
+                    connection.commit();
+                } catch (SQLException e) {
+                    // Discard any rows left in the cached statement's batch along with the transaction
+                    if (stmt != null) {
+                        stmt.clearBatch();
+                    }
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+
+                // Listeners receive the entries as stored, with the dates they were given
+                added = new ArrayList<>(entries.size());
+                for (Entry entry : entries) {
+                    added.add(withDates(entry, now));
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // Delivered as one change, however many entries were added
+        if (added == null) {
+            return false;
+        }
+        List<EntryChangeEvent> events = new ArrayList<>(added.size());
+        for (Entry entry : added) {
+            events.add(EntryChangeEvent.added(entry));
+        }
+        changeNotifier.publish(events);
+        return true;
+    }
+
+    /**
+     * Reads the current time from the database, in the format it stores dates in. Must be called while holding
+     * the writer's lock.
+     *
+     * @param writer the generator of the writer connection.
+     * @return the current time, as returned by SQLite's {@code datetime('now')}.
+     * @throws SQLException if the time cannot be read.
+     */
+    private static String currentDateTime(LocalPreparedStatementGenerator writer) throws SQLException {
+        try (ResultSet resultSet = writer.prepareGetCurrentDateTimeStatement().executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    /**
+     * Copies an inserted entry with the dates it was stored with. The dates an entry was created and modified
+     * are only set by the database, so the inserted {@code Entry} does not have them.
+     *
+     * @param entry the inserted entry.
+     * @param dateTime the time the entry was created and modified, as stored.
+     * @return the entry as stored.
+     */
+    private static Entry withDates(Entry entry, String dateTime) {
+        Timestamp timestamp = Timestamp.valueOf(dateTime);
+        return new EntryBuilder(entry.getTitle())
+                .email(entry.getEmail())
+                .secondaryEmail(entry.getSecondaryEmail())
+                .password(entry.getPassword())
+                .username(entry.getUsername())
+                .phoneNumber(entry.getPhoneNumber())
+                .link(entry.getLink())
+                .category(entry.getCategory())
+                .dateCreated(timestamp)
+                .dateModified(timestamp)
+                .build();
+    }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public boolean modifyEntry(String title, EntryFields field, String newValue) {
         String email = null;
         String secondaryEmail = null;
         String password = null;
@@ -106,27 +280,68 @@ public class LocalAPI implements DatabaseAPI {
             default -> throw new IllegalArgumentException("Invalid field: " + field);
         }
 
-        try {
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareEntryUpdateStatement(title, email, secondaryEmail, password, username, phoneNumber, link, category)) {
-                stmt.execute();
+        boolean modified = false;
+
+        LocalPreparedStatementGenerator writer = writer();
+        synchronized (writer) {
+            try {
+                PreparedStatement stmt = writer.prepareEntryUpdateStatement(title, email, secondaryEmail, password, username, phoneNumber, link, category);
+                modified = stmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
 
+        // Listeners receive the whole entry as it is after the modification
+        if (modified) {
+            Entry entry = getEntry(title);
+            if (entry != null) {
+                changeNotifier.publish(EntryChangeEvent.modified(entry));
+            }
+        }
+        return modified;
     }
 
     /**
      *  {@inheritDoc}
      */
     @Override
-    public void removeEntry(String title) {
-        try {
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareRemoveEntryStatement(title)) {
-                stmt.execute();
+    public boolean removeEntry(String title) {
+        if (!removeEntryRow(title)) {
+            return false;
+        }
+        changeNotifier.publish(EntryChangeEvent.removed(title, null));
+        return true;
+    }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public boolean removeEntry(Entry entry) {
+        if (!removeEntryRow(entry.getTitle())) {
+            return false;
+        }
+        changeNotifier.publish(EntryChangeEvent.removed(entry.getTitle(), entry));
+        return true;
+    }
+
+    /**
+     * Removes the row of the entry with the given title.
+     *
+     * @param title the title of the entry to remove.
+     * @return {@code true} if an entry was removed, {@code false} if there was no such entry or an error occurred.
+     */
+    private boolean removeEntryRow(String title) {
+        LocalPreparedStatementGenerator writer = writer();
+        synchronized (writer) {
+            try {
+                PreparedStatement stmt = writer.prepareRemoveEntryStatement(title);
+                return stmt.executeUpdate() > 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return false;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
@@ -134,14 +349,57 @@ public class LocalAPI implements DatabaseAPI {
      *  {@inheritDoc}
      */
     @Override
-    public void removeEntry(Entry entry) {
+    public void addChangeListener(EntryChangeListener listener) {
+        changeNotifier.addListener(listener);
+    }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public void removeChangeListener(EntryChangeListener listener) {
+        changeNotifier.removeListener(listener);
+    }
+
+    /**
+     * Opens a batch coalescing the changes made by the current thread into a single delivery to change listeners,
+     * made once the batch is closed.
+     *
+     * <p>Usage example:
+     * <pre>
+     * {@code
+     * try (EntryChangeNotifier.Batch batch = localAPI.beginChangeBatch()) {
+     *     localAPI.removeEntry(oldEntry);
+     *     localAPI.newEntry(newEntry);
+     * }
+     * }
+     * </pre>
+     *
+     * @return the opened {@code EntryChangeNotifier.Batch}.
+     */
+    public EntryChangeNotifier.Batch beginChangeBatch() {
+        return changeNotifier.beginBatch();
+    }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public Entry getEntry(String titleKey) {
         try {
-            // Uses removeEntry(String) by getting title from entry
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareRemoveEntryStatement(entry.getTitle())) {
-                stmt.execute();
-            }
+            return read(generator -> {
+                PreparedStatement stmt = generator.prepareGetEntryStatement(titleKey);
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    if (resultSet.next()) {
+                        return new LocalEntryRowMapper(resultSet).mapRow();
+                    } else {
+                        throw new SQLException("Entry not found with title: " + titleKey);
+                    }
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
@@ -149,42 +407,21 @@ public class LocalAPI implements DatabaseAPI {
      *  {@inheritDoc}
      */
     @Override
-    public Entry getEntry(String titleKey) {
+    public ArrayList<Entry> getAllEntries() {
         try {
-            ResultSet resultSet;
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareGetEntryStatement(titleKey)) {
-                resultSet = stmt.executeQuery();
-                if (resultSet.next()) {
-
-                    // Retrieve entry data from the result set
-                    String title = resultSet.getString(EntryFields.TITLE.toString());
-                    String email = resultSet.getString(EntryFields.EMAIL.toString());
-                    String secondaryEmail = resultSet.getString(EntryFields.SECONDARY_EMAIL.toString());
-                    String password = resultSet.getString(EntryFields.PASSWORD.toString());
-                    String username = resultSet.getString(EntryFields.USERNAME.toString());
-                    String phoneNumber = resultSet.getString(EntryFields.PHONE_NUMBER.toString());
-                    String link = resultSet.getString(EntryFields.LINK.toString());
-                    String category = resultSet.getString(EntryFields.CATEGORY.toString());
-                    Timestamp dateCreated = resultSet.getTimestamp(EntryFields.DATE_CREATED.toString());
-                    Timestamp dateModified = resultSet.getTimestamp(EntryFields.DATE_MODIFIED.toString());
-
-                    // Create and return the Entry object
-                    return new EntryBuilder(title)
-                            .email(email)
-                            .password(password)
-                            .secondaryEmail(secondaryEmail)
-                            .username(username)
-                            .link(link)
-                            .phoneNumber(phoneNumber)
-                            .category(category)
-                            .dateCreated(dateCreated)
-                            .dateModified(dateModified)
-                            .build();
-
-                } else {
-                    throw new SQLException("Entry not found with title: " + titleKey);
+            return read(generator -> {
+                ArrayList<Entry> entries = new ArrayList<>();
+                PreparedStatement stmt = generator.prepareGetAllEntriesStatement();
+                try (ResultSet resultSet = stmt.executeQuery()) {
+
+                    // Map rows as they are read so the whole table is materialized in one pass
+                    LocalEntryRowMapper mapper = new LocalEntryRowMapper(resultSet);
+                    while (resultSet.next()) {
+                        entries.add(mapper.mapRow());
+                    }
                 }
-            }
+                return entries;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return null;
@@ -193,17 +430,78 @@ public class LocalAPI implements DatabaseAPI {
 
     /**
      *  {@inheritDoc}
+     *
+     * <p>Rows are fetched {@link LocalDatabaseConstants#DEFAULT_STREAM_FETCH_SIZE} at a time.
      */
     @Override
-    public ArrayList<Entry> getAllEntries() {
-        ArrayList<String> entryTitles = getEntryTitles();
-        ArrayList<Entry> entries = new ArrayList<>();
+    public Stream<Entry> streamAllEntries() {
+        return streamAllEntries(LocalDatabaseConstants.DEFAULT_STREAM_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all entries from the database using a forward-only cursor, mapping each row to an entry only as
+     * the stream is consumed, so memory use stays flat regardless of the number of entries.
+     *
+     * <p>The stream holds a read connection of its own until it is closed, so it must be closed once it is no
+     * longer needed. When reads share the writer connection, such as with an in-memory database, a cursor left
+     * open would be interleaved with the writes and reads made on that connection while the stream is consumed,
+     * so the entries are instead read at once while holding the connection's lock, and streamed from memory.
+     *
+     * @param fetchSize the number of rows to fetch from the database at a time.
+     * @return a {@code Stream} of all {@code Entry} objects.
+     * @throws IllegalStateException if the entries cannot be read, when the stream is created or consumed.
+     */
+    public Stream<Entry> streamAllEntries(int fetchSize) {
+        writer();
 
-        for (String title : entryTitles) {
-            entries.add(getEntry(title));
+        Connection connection = DatabaseConnection.acquireReadConnection();
+        if (connection == DatabaseConnection.getConnection()) {
+            release(connection);
+            List<Entry> entries = getAllEntries();
+            if (entries == null) {
+                throw new IllegalStateException("Failed to read the entries");
+            }
+            return entries.stream();
         }
 
-        return entries;
+        try {
+            LocalPreparedStatementGenerator generator =
+                    generators.computeIfAbsent(connection, conn -> new LocalPreparedStatementGenerator(conn));
+
+            PreparedStatement stmt = generator.prepareStreamAllEntriesStatement(fetchSize);
+            ResultSet resultSet = stmt.executeQuery();
+            LocalEntryRowMapper mapper = new LocalEntryRowMapper(resultSet);
+
+            Spliterator<Entry> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Entry> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.mapRow());
+                        return true;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Failed to read the next entry", e);
+                    }
+                }
+            };
+
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                try {
+                    resultSet.close();
+                    stmt.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                } finally {
+                    release(connection);
+                }
+            });
+        } catch (SQLException e) {
+            release(connection);
+            throw new IllegalStateException("Failed to read the entries", e);
+        }
     }
 
     /**
@@ -211,16 +509,17 @@ public class LocalAPI implements DatabaseAPI {
      */
     @Override
     public ArrayList<String> getEntryTitles() {
-        ArrayList<String> entries = new ArrayList<>();
         try {
-            ResultSet resultSet;
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareGetAllEntryTitlesStatement()) {
-                resultSet = stmt.executeQuery();
-                while (resultSet.next()) {
-                    entries.add(resultSet.getString(1));
+            return read(generator -> {
+                ArrayList<String> entries = new ArrayList<>();
+                PreparedStatement stmt = generator.prepareGetAllEntryTitlesStatement();
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        entries.add(resultSet.getString(1));
+                    }
                 }
-            }
-            return entries;
+                return entries;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return null;
@@ -232,20 +531,208 @@ public class LocalAPI implements DatabaseAPI {
      */
     @Override
     public Set<String> getGroups() {
-        Set<String> groups = new HashSet<>();
         try {
-            ResultSet resultSet;
-            try (PreparedStatement stmt = LocalPreparedStatementGenerator.prepareGetListOfGroupsStatement()) {
-                resultSet = stmt.executeQuery();
-                while (resultSet.next()) {
-                    groups.add(resultSet.getString(1));
+            return read(generator -> {
+                Set<String> groups = new HashSet<>();
+                PreparedStatement stmt = generator.prepareGetListOfGroupsStatement();
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        groups.add(resultSet.getString(1));
+                    }
                 }
-            }
-            return groups;
+                return groups;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     *  {@inheritDoc}
+     *
+     * <p>Entries are grouped by an index on their normalized category, so the counts are read from the index alone.
+     */
+    @Override
+    public Map<String, Integer> getCategoryCounts() {
+        return readCounts(generator -> generator.prepareGetCategoryCountsStatement());
+    }
+
+    /**
+     *  {@inheritDoc}
+     *
+     * <p>Entries are grouped by an index on the domain of their email, so no sort is needed.
+     */
+    @Override
+    public Map<String, Integer> getEmailDomainCounts() {
+        return readCounts(generator -> generator.prepareGetEmailDomainCountsStatement());
+    }
+
+    /**
+     * Reads the counts returned by a statement grouping entries by a value.
+     *
+     * @param statement prepares the statement, returning each value and its count.
+     * @return the counts by value, sorted by value, or {@code null} if an error occurs.
+     */
+    private Map<String, Integer> readCounts(Read<PreparedStatement> statement) {
+        try {
+            return read(generator -> {
+                Map<String, Integer> counts = new TreeMap<>();
+                try (ResultSet resultSet = statement.apply(generator).executeQuery()) {
+                    while (resultSet.next()) {
+                        counts.put(resultSet.getString(1), resultSet.getInt(2));
+                    }
+                }
+                return counts;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     *  {@inheritDoc}
+     *
+     * <p>Searches use the full-text search index, so their cost grows with the number of matches
+     * rather than the number of entries. Each word of the query is matched as a prefix, and an entry
+     * must match every word to be returned.
+     */
+    @Override
+    public ArrayList<Entry> search(String query, int limit) {
+        if (query.isBlank() || limit < 1) {
+            return new ArrayList<>();
+        }
+
+        try {
+            return read(generator -> {
+                ArrayList<Entry> entries = new ArrayList<>();
+                PreparedStatement stmt = generator.prepareSearchEntriesStatement(query, limit);
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    LocalEntryRowMapper mapper = new LocalEntryRowMapper(resultSet);
+                    while (resultSet.next()) {
+                        entries.add(mapper.mapRow());
+                    }
+                }
+                return entries;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     *  {@inheritDoc}
+     *
+     * <p>The query is translated into a single statement, so its conditions are answered by the indexes of the
+     * entries table and the full-text search table rather than by scanning every entry.
+     */
+    @Override
+    public ArrayList<Entry> query(EntryQuery query) {
+        try {
+            return read(generator -> {
+                ArrayList<Entry> entries = new ArrayList<>();
+                PreparedStatement stmt = generator.prepareQueryEntriesStatement(query);
+                try (ResultSet resultSet = stmt.executeQuery()) {
+                    LocalEntryRowMapper mapper = new LocalEntryRowMapper(resultSet);
+                    while (resultSet.next()) {
+                        entries.add(mapper.mapRow());
+                    }
+                }
+                return entries;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Returns the statement generator of the current writer connection. If {@link DatabaseConnection} has been
+     * pointed at a different database since the last operation, this API is first bound to the new database.
+     *
+     * @return the statement generator of the writer connection.
+     */
+    private synchronized LocalPreparedStatementGenerator writer() {
+        Connection connection = DatabaseConnection.getConnection();
+        if (LocalPreparedStatementGenerator == null || LocalPreparedStatementGenerator.getConnection() != connection) {
+            bind(connection);
+        }
+        return LocalPreparedStatementGenerator;
+    }
+
+    /**
+     * Binds this API to the database behind the given writer connection, discarding the statement generators
+     * of any previous database, and brings the database's schema up to date.
+     *
+     * @param connection the writer connection of the database.
+     */
+    private synchronized void bind(Connection connection) {
+        generators.clear();
+        this.LocalPreparedStatementGenerator = new LocalPreparedStatementGenerator(connection);
+        generators.put(connection, LocalPreparedStatementGenerator);
+
+        try {
+            // Creates the tables on a new database and applies any newer migrations to an existing one
+            new LocalSchemaMigrator(connection).migrate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Hands a borrowed connection back to {@link DatabaseConnection}. A connection borrowed from a pool that has
+     * since been closed or replaced is closed on release, and its statement generator is discarded with it.
+     *
+     * @param connection the connection to release.
+     */
+    private void release(Connection connection) {
+        DatabaseConnection.releaseReadConnection(connection);
+        try {
+            if (connection.isClosed()) {
+                generators.remove(connection);
+            }
+        } catch (SQLException e) {
+            generators.remove(connection);
+        }
+    }
+
+    /**
+     * A read operation performed with the statement generator of a borrowed connection.
+     *
+     * @param <T> the type of the value read.
+     */
+    @FunctionalInterface
+    private interface Read<T> {
+        T apply(LocalPreparedStatementGenerator generator) throws SQLException;
+    }
+
+    /**
+     * Runs a read operation on a connection borrowed from {@link DatabaseConnection#acquireReadConnection()},
+     * using the statement generator owned by that connection. The connection is released once the read completes.
+     *
+     * @param read the read operation to perform.
+     * @return the value returned by the read operation.
+     * @param <T> the type of the value read.
+     * @throws SQLException if the read operation fails.
+     */
+    private <T> T read(Read<T> read) throws SQLException {
+        // Makes sure the schema of the current database is up to date before reading from it
+        writer();
+
+        Connection connection = DatabaseConnection.acquireReadConnection();
+        try {
+            LocalPreparedStatementGenerator generator =
+                    generators.computeIfAbsent(connection, conn -> new LocalPreparedStatementGenerator(conn));
+
+            // Only contended when reads share the writer connection, such as with an in-memory database
+            synchronized (generator) {
+                return read.apply(generator);
+            }
+        } finally {
+            release(connection);
+        }
+    }
+
 }
@@ -33,4 +33,74 @@ public class LocalDatabaseConstants {
      */
     public static final String ENTRIES_TABLE_NAME = "ENTRIES";
 
+    /**
+     * The name of the full-text search table indexing the entries table.
+     */
+    public static final String ENTRIES_FTS_TABLE_NAME = "ENTRIES_FTS";
+
+    /**
+     * The name of the index on the date modified column of the entries table.
+     */
+    public static final String ENTRIES_DATE_MODIFIED_INDEX_NAME = "IDX_ENTRIES_DATE_MODIFIED";
+
+    /**
+     * The name of the index on the date created column of the entries table.
+     */
+    public static final String ENTRIES_DATE_CREATED_INDEX_NAME = "IDX_ENTRIES_DATE_CREATED";
+
+    /**
+     * The name of the case-insensitive index on the title column of the entries table.
+     */
+    public static final String ENTRIES_TITLE_NOCASE_INDEX_NAME = "IDX_ENTRIES_TITLE_NOCASE";
+
+    /**
+     * The name of the case-insensitive index on the email column of the entries table.
+     */
+    public static final String ENTRIES_EMAIL_NOCASE_INDEX_NAME = "IDX_ENTRIES_EMAIL_NOCASE";
+
+    /**
+     * The name of the case-insensitive index on the username column of the entries table.
+     */
+    public static final String ENTRIES_USERNAME_NOCASE_INDEX_NAME = "IDX_ENTRIES_USERNAME_NOCASE";
+
+    /**
+     * The name of the case-insensitive index on the link column of the entries table.
+     */
+    public static final String ENTRIES_LINK_NOCASE_INDEX_NAME = "IDX_ENTRIES_LINK_NOCASE";
+
+    /**
+     * The name of the case-insensitive index on the category column of the entries table.
+     */
+    public static final String ENTRIES_CATEGORY_NOCASE_INDEX_NAME = "IDX_ENTRIES_CATEGORY_NOCASE";
+
+    /**
+     * The name of the index on the domain of the email column of the entries table.
+     */
+    public static final String ENTRIES_EMAIL_DOMAIN_INDEX_NAME = "IDX_ENTRIES_EMAIL_DOMAIN";
+
+    /**
+     * The name of the index on the category column of the entries table without surrounding whitespace.
+     */
+    public static final String ENTRIES_CATEGORY_FACET_INDEX_NAME = "IDX_ENTRIES_CATEGORY_FACET";
+
+    /**
+     * The maximum number of prepared statements cached per connection.
+     */
+    public static final int STATEMENT_CACHE_CAPACITY = 32;
+
+    /**
+     * The number of read-only connections opened alongside the writer connection for file backed databases.
+     */
+    public static final int READ_CONNECTION_POOL_SIZE = 4;
+
+    /**
+     * The default number of rows sent to the database per batch when inserting multiple entries.
+     */
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * The default number of rows fetched from the database at a time when streaming entries.
+     */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 256;
+
 }
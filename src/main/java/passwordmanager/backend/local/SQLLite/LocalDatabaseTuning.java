@@ -0,0 +1,157 @@
+package passwordmanager.backend.local.SQLLite;
+
+import passwordmanager.app.ApplicationSettings.DBPerformanceProfile;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The {@code LocalDatabaseTuning} class holds the SQLite settings applied to a local database connection
+ * when it is opened, for each {@link DBPerformanceProfile}.
+ *
+ * <p>The available profiles are:
+ * <ul>
+ *     <li>{@code DEFAULT}: SQLite's own defaults, a rollback journal with {@code synchronous=FULL}
+ *         and a small page cache.</li>
+ *     <li>{@code BALANCED}: WAL with {@code synchronous=NORMAL}, a larger page cache and memory mapped reads.
+ *         Committed transactions survive an application crash, but the most recent ones may be lost on
+ *         power failure.</li>
+ *     <li>{@code THROUGHPUT}: WAL with {@code synchronous=OFF} and larger caches. Intended for benchmarks and
+ *         bulk imports, as a power failure may corrupt the database.</li>
+ * </ul>
+ *
+ * <p>{@code page_size} only takes effect for a database that has not been created yet; it is ignored
+ * for existing databases.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * LocalDatabaseTuning tuning = LocalDatabaseTuning.forProfile(DBPerformanceProfile.BALANCED);
+ * tuning.applyToWriter(connection);
+ * }
+ * </pre>
+ *
+ * @see DBPerformanceProfile
+ * @see passwordmanager.backend.DatabaseConnection
+ */
+public class LocalDatabaseTuning {
+
+    private static final LocalDatabaseTuning DEFAULT =
+            new LocalDatabaseTuning("DELETE", "FULL", -2_000, 0, "DEFAULT", 4_096);
+
+    private static final LocalDatabaseTuning BALANCED =
+            new LocalDatabaseTuning("WAL", "NORMAL", -16_384, 64L * 1024 * 1024, "MEMORY", 4_096);
+
+    private static final LocalDatabaseTuning THROUGHPUT =
+            new LocalDatabaseTuning("WAL", "OFF", -65_536, 256L * 1024 * 1024, "MEMORY", 8_192);
+
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+    private final int pageSize;
+
+    /**
+     * Constructs a set of SQLite settings.
+     *
+     * @param journalMode the value of {@code PRAGMA journal_mode}.
+     * @param synchronous the value of {@code PRAGMA synchronous}.
+     * @param cacheSize the value of {@code PRAGMA cache_size}; negative values are in KiB, positive values in pages.
+     * @param mmapSize the value of {@code PRAGMA mmap_size} in bytes.
+     * @param tempStore the value of {@code PRAGMA temp_store}.
+     * @param pageSize the value of {@code PRAGMA page_size} in bytes.
+     */
+    private LocalDatabaseTuning(String journalMode, String synchronous, int cacheSize, long mmapSize,
+                                String tempStore, int pageSize) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the settings for the given performance profile.
+     *
+     * @param profile the performance profile.
+     * @return the {@code LocalDatabaseTuning} for the profile.
+     */
+    public static LocalDatabaseTuning forProfile(DBPerformanceProfile profile) {
+        return switch (profile) {
+            case DEFAULT -> DEFAULT;
+            case BALANCED -> BALANCED;
+            case THROUGHPUT -> THROUGHPUT;
+        };
+    }
+
+    /**
+     * Applies every setting to the writer connection. Database wide settings ({@code page_size} and
+     * {@code journal_mode}) are applied first, as {@code page_size} cannot change once WAL is enabled.
+     *
+     * @param connection the writer connection.
+     * @throws SQLException if a setting could not be applied.
+     */
+    public void applyToWriter(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA page_size = " + pageSize);
+            stmt.execute("PRAGMA journal_mode = " + journalMode);
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+        }
+        applyConnectionSettings(connection);
+    }
+
+    /**
+     * Applies the per connection settings to a read connection and prevents it from writing.
+     *
+     * @param connection the read connection.
+     * @throws SQLException if a setting could not be applied.
+     */
+    public void applyToReader(Connection connection) throws SQLException {
+        applyConnectionSettings(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA query_only = true");
+        }
+    }
+
+    /**
+     * Returns whether this profile uses write-ahead logging, which allows readers on separate
+     * connections to run alongside the writer.
+     *
+     * @return {@code true} if the journal mode is WAL, {@code false} otherwise.
+     */
+    public boolean usesWriteAheadLog() {
+        return journalMode.equals("WAL");
+    }
+
+    /**
+     * Applies the settings that are scoped to a single connection.
+     *
+     * @param connection the connection to apply the settings to.
+     * @throws SQLException if a setting could not be applied.
+     */
+    private void applyConnectionSettings(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+        }
+    }
+
+    /**
+     * Returns a string representation of these settings.
+     *
+     * @return the settings as a list of pragma assignments.
+     */
+    @Override
+    public String toString() {
+        return "journal_mode=" + journalMode +
+                ", synchronous=" + synchronous +
+                ", cache_size=" + cacheSize +
+                ", mmap_size=" + mmapSize +
+                ", temp_store=" + tempStore +
+                ", page_size=" + pageSize;
+    }
+}
@@ -0,0 +1,87 @@
+package passwordmanager.backend.local.SQLLite;
+
+import passwordmanager.backend.EntryFields;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@code LocalEntryRowMapper} class converts rows of an entries table {@link ResultSet} into {@link Entry} objects.
+ * Column indexes are resolved once when the mapper is created, so mapping each subsequent row only reads values
+ * by position instead of looking every column up by name.
+ *
+ * <p>A mapper is bound to the {@code ResultSet} it was created with and is intended to be used while walking
+ * that result set row by row.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * ResultSet resultSet = stmt.executeQuery();
+ * LocalEntryRowMapper mapper = new LocalEntryRowMapper(resultSet);
+ * while (resultSet.next()) {
+ *     entries.add(mapper.mapRow());
+ * }
+ * }
+ * </pre>
+ *
+ * @see LocalAPI
+ * @see EntryFields
+ */
+class LocalEntryRowMapper {
+
+    private final ResultSet resultSet;
+
+    private final int titleIndex;
+    private final int emailIndex;
+    private final int secondaryEmailIndex;
+    private final int passwordIndex;
+    private final int usernameIndex;
+    private final int phoneNumberIndex;
+    private final int linkIndex;
+    private final int categoryIndex;
+    private final int dateCreatedIndex;
+    private final int dateModifiedIndex;
+
+    /**
+     * Constructs a mapper for the given result set, resolving the index of every entry column.
+     *
+     * @param resultSet the result set containing entry rows.
+     * @throws SQLException if one of the entry columns is not present in the result set.
+     */
+    LocalEntryRowMapper(ResultSet resultSet) throws SQLException {
+        this.resultSet = resultSet;
+
+        this.titleIndex = resultSet.findColumn(EntryFields.TITLE.toString());
+        this.emailIndex = resultSet.findColumn(EntryFields.EMAIL.toString());
+        this.secondaryEmailIndex = resultSet.findColumn(EntryFields.SECONDARY_EMAIL.toString());
+        this.passwordIndex = resultSet.findColumn(EntryFields.PASSWORD.toString());
+        this.usernameIndex = resultSet.findColumn(EntryFields.USERNAME.toString());
+        this.phoneNumberIndex = resultSet.findColumn(EntryFields.PHONE_NUMBER.toString());
+        this.linkIndex = resultSet.findColumn(EntryFields.LINK.toString());
+        this.categoryIndex = resultSet.findColumn(EntryFields.CATEGORY.toString());
+        this.dateCreatedIndex = resultSet.findColumn(EntryFields.DATE_CREATED.toString());
+        this.dateModifiedIndex = resultSet.findColumn(EntryFields.DATE_MODIFIED.toString());
+    }
+
+    /**
+     * Maps the row the result set is currently positioned on to an {@link Entry}.
+     *
+     * @return the {@code Entry} built from the current row.
+     * @throws SQLException if a value cannot be read from the result set.
+     */
+    Entry mapRow() throws SQLException {
+        return new EntryBuilder(resultSet.getString(titleIndex))
+                .email(resultSet.getString(emailIndex))
+                .secondaryEmail(resultSet.getString(secondaryEmailIndex))
+                .password(resultSet.getString(passwordIndex))
+                .username(resultSet.getString(usernameIndex))
+                .phoneNumber(resultSet.getString(phoneNumberIndex))
+                .link(resultSet.getString(linkIndex))
+                .category(resultSet.getString(categoryIndex))
+                .dateCreated(resultSet.getTimestamp(dateCreatedIndex))
+                .dateModified(resultSet.getTimestamp(dateModifiedIndex))
+                .build();
+    }
+}
@@ -3,11 +3,19 @@ package passwordmanager.backend.local.SQLLite;
 import passwordmanager.backend.DatabaseConnection;
 import passwordmanager.backend.EntryFields;
 import passwordmanager.backend.PreparedStatementGenerator;
+import passwordmanager.backend.query.EntryQuery;
 import passwordmanager.model.Entry;
+import passwordmanager.model.EntryFacets;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * The {@code PreparedStatementGenerator} class is responsible for creating and preparing SQL {@link PreparedStatement}s
@@ -24,6 +32,12 @@ import java.sql.SQLException;
  * existing entries, deleting entries, or querying the database for specific data. Prepared statements are returned
  * to the caller, ready for execution, which allows for flexibility in transaction management and further processing.
  *
+ * <p>Prepared statements are kept in a {@link LocalStatementCache} owned by this generator, so repeated operations
+ * reuse the statement SQLite has already compiled and only rebind parameters. Statements returned by this class
+ * are owned by that cache and must not be closed by the caller; result sets obtained from them should be.
+ * A returned statement should be executed before the same kind of statement is prepared again, as the next
+ * call rebinds the parameters of the same cached statement.
+ *
  * <p>Usage of this class helps centralize SQL statement preparation, contributing to cleaner code and separating
  * database access concerns from business logic.
  *
@@ -41,40 +55,143 @@ import java.sql.SQLException;
  */
 public class LocalPreparedStatementGenerator implements PreparedStatementGenerator {
 
+    // Columns of the entries table. The id is an alias of the rowid, so VACUUM keeps it, and titles stay unique
+    static final String ENTRY_COLUMNS_SQL = "(" +
+            EntryFields.ID + " INTEGER PRIMARY KEY, " +
+            EntryFields.TITLE + " VARCHAR(255) NOT NULL UNIQUE, " +
+            EntryFields.EMAIL + " VARCHAR(255), " +
+            EntryFields.SECONDARY_EMAIL + " VARCHAR(255), " +
+            EntryFields.PASSWORD + " VARCHAR(255), " +
+            EntryFields.USERNAME + " VARCHAR(255), " +
+            EntryFields.PHONE_NUMBER + " VARCHAR(255), " +
+            EntryFields.LINK + " VARCHAR(255), " +
+            EntryFields.CATEGORY + " VARCHAR(255), " +
+            EntryFields.DATE_CREATED + " DATE, " +
+            EntryFields.DATE_MODIFIED + " DATE)";
+
+    static final String CREATE_ENTRY_TABLE_SQL = "CREATE TABLE IF NOT EXISTS " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            ENTRY_COLUMNS_SQL + ";";
+
+    private static final String INSERT_ENTRY_SQL = "INSERT INTO " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " (" +
+            EntryFields.TITLE + ", " +
+            EntryFields.EMAIL + ", " +
+            EntryFields.SECONDARY_EMAIL + ", " +
+            EntryFields.PASSWORD + ", " +
+            EntryFields.USERNAME + ", " +
+            EntryFields.PHONE_NUMBER + ", " +
+            EntryFields.LINK + ", " +
+            EntryFields.CATEGORY + ", " +
+            EntryFields.DATE_CREATED + ", " +
+            EntryFields.DATE_MODIFIED + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, coalesce(?, datetime('now')), coalesce(?, datetime('now')))";
+
+    private static final String GET_CURRENT_DATE_TIME_SQL = "SELECT datetime('now')";
+
+    private static final String REMOVE_ENTRY_SQL = "DELETE FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " WHERE " + EntryFields.TITLE + " = ?";
+
+    private static final String GET_ENTRY_SQL = "SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " WHERE " + EntryFields.TITLE + " = ?";
+
+    private static final String GET_ALL_ENTRY_TITLES_SQL = "SELECT " + EntryFields.TITLE +
+            " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME;
+
+    private static final String GET_ALL_ENTRIES_SQL = "SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME;
+
+    // The whitespace EntryFacets removes from around a value, as the characters for SQLite's trim
+    private static final String FACET_WHITESPACE_SQL = EntryFacets.WHITESPACE.chars()
+            .mapToObj(Integer::toString)
+            .collect(Collectors.joining(", ", "char(", ")"));
+
+    // The category and email domain of an entry, normalized as EntryFacets does. Each is indexed by the same
+    // expression, so grouping by it reads the index in order
+    static final String CATEGORY_FACET_SQL = "trim(" + EntryFields.CATEGORY + ", " + FACET_WHITESPACE_SQL + ")";
+    static final String EMAIL_DOMAIN_SQL = "lower(trim(substr(" + EntryFields.EMAIL + ", instr(" +
+            EntryFields.EMAIL + ", '@') + 1), " + FACET_WHITESPACE_SQL + "))";
+
+    private static final String GET_LIST_OF_GROUPS_SQL = "SELECT DISTINCT " + CATEGORY_FACET_SQL +
+            " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " WHERE " + CATEGORY_FACET_SQL + " != ''";
+
+    private static final String GET_CATEGORY_COUNTS_SQL = "SELECT " + CATEGORY_FACET_SQL + ", COUNT(*)" +
+            " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " WHERE " + CATEGORY_FACET_SQL + " != ''" +
+            " GROUP BY " + CATEGORY_FACET_SQL;
+
+    private static final String GET_EMAIL_DOMAIN_COUNTS_SQL = "SELECT " + EMAIL_DOMAIN_SQL + ", COUNT(*)" +
+            " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " WHERE instr(" + EntryFields.EMAIL + ", '@') > 0 AND " + EMAIL_DOMAIN_SQL + " != ''" +
+            " GROUP BY " + EMAIL_DOMAIN_SQL;
+
+    private static final String SEARCH_ENTRIES_SQL = "SELECT " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + ".*" +
+            " FROM " + LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME +
+            " JOIN " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " ON " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + "." + EntryFields.ID + " = " + LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME + ".rowid" +
+            " WHERE " + LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME + " MATCH ?" +
+            " ORDER BY " + LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME + ".rank" +
+            " LIMIT ?";
+
+    private static final String QUERY_ENTRIES_SQL = "SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+            " WHERE ";
+
+    private static final String MATCH_ENTRIES_SQL = EntryFields.ID + " IN (SELECT rowid FROM " +
+            LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME + " WHERE " + LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME +
+            " MATCH ?)";
+
+    // Format SQLite's datetime('now') stores dates in, which compares in date order as text
+    private static final DateTimeFormatter SQL_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final Connection connection;
+    private final LocalStatementCache statementCache;
 
     /**
      * Constructs an instance of {@code PreparedStatementGenerator}.
      * Retrieves the database connection from {@link DatabaseConnection}.
      */
     public LocalPreparedStatementGenerator() {
-        this.connection = DatabaseConnection.getConnection();
+        this(DatabaseConnection.getConnection());
+    }
+
+    /**
+     * Constructs an instance of {@code PreparedStatementGenerator} that prepares statements on the given connection.
+     *
+     * @param connection the connection to prepare statements on.
+     */
+    public LocalPreparedStatementGenerator(Connection connection) {
+        this.connection = connection;
+        this.statementCache = new LocalStatementCache(connection, LocalDatabaseConstants.STATEMENT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Returns the connection this generator prepares statements on.
+     * This allows callers to manage transactions around the statements they execute.
+     *
+     * @return the {@code Connection} used by this generator.
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the statement cache owned by this generator, which exposes hit and miss counters for monitoring.
+     *
+     * @return the {@code LocalStatementCache} used by this generator.
+     */
+    public LocalStatementCache getStatementCache() {
+        return statementCache;
     }
 
     /**
      * Prepares a {@code PreparedStatement} for creating the entries table if it does not already exist.
      * This method constructs an SQL statement to create a table with various fields necessary for storing entry data,
      * including title, email, password, username, link, category, date created, and date modified.
-     * The title field is set as the primary key.
+     * Entries are keyed by an integer id, and their title is unique.
      *
      * @return a {@code PreparedStatement} that, when executed, will ensure the entries table exists with the correct schema.
      * @throws SQLException if there is an error during the database access or query preparation.
      */
     @Override
     public PreparedStatement prepareEntryTableCreationStatement() throws SQLException {
-        String sql = "CREATE TABLE IF NOT EXISTS " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + "(" +
-                EntryFields.TITLE + " VARCHAR(255) PRIMARY KEY, " +
-                EntryFields.EMAIL + " VARCHAR(255), " +
-                EntryFields.SECONDARY_EMAIL + " VARCHAR(255), " +
-                EntryFields.PASSWORD + " VARCHAR(255), " +
-                EntryFields.USERNAME + " VARCHAR(255), " +
-                EntryFields.PHONE_NUMBER + " VARCHAR(255), " +
-                EntryFields.LINK + " VARCHAR(255), " +
-                EntryFields.CATEGORY + " VARCHAR(255), " +
-                EntryFields.DATE_CREATED + " DATE, " +
-                EntryFields.DATE_MODIFIED + " DATE);";
-
-        return this.connection.prepareStatement(sql);
+        return this.statementCache.prepare(CREATE_ENTRY_TABLE_SQL);
     }
 
     /**
@@ -89,19 +206,22 @@ public class LocalPreparedStatementGenerator implements PreparedStatementGenerat
      */
     @Override
     public PreparedStatement prepareInsertEntryStatement(Entry entry) throws SQLException {
-        String sql = "INSERT INTO " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " (" +
-                EntryFields.TITLE + ", " +
-                EntryFields.EMAIL + ", " +
-                EntryFields.SECONDARY_EMAIL + ", " +
-                EntryFields.PASSWORD + ", " +
-                EntryFields.USERNAME + ", " +
-                EntryFields.PHONE_NUMBER + ", " +
-                EntryFields.LINK + ", " +
-                EntryFields.CATEGORY + ", " +
-                EntryFields.DATE_CREATED + ", " +
-                EntryFields.DATE_MODIFIED + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, datetime('now'), datetime('now'))";
-
-        PreparedStatement stmt = this.connection.prepareStatement(sql);
+        return prepareInsertEntryStatement(entry, null);
+    }
+
+    /**
+     * Prepares a {@code PreparedStatement} for inserting a new entry into the entries table, created and modified
+     * at the given time. Entries inserted together can so share a time read once with
+     * {@link #prepareGetCurrentDateTimeStatement()}, and be given it without being read back.
+     *
+     * @param entry the entry object containing the data to be inserted into the database.
+     * @param dateTime the time the entry is created and modified, as returned by SQLite's {@code datetime('now')},
+     *                 or {@code null} for the current time.
+     * @return a {@code PreparedStatement} object ready for execution to insert the entry data.
+     * @throws SQLException if there is an error during the database access or query preparation.
+     */
+    public PreparedStatement prepareInsertEntryStatement(Entry entry, String dateTime) throws SQLException {
+        PreparedStatement stmt = this.statementCache.prepare(INSERT_ENTRY_SQL);
         stmt.setString(1, entry.getTitle());
         stmt.setString(2, entry.getEmail());
         stmt.setString(3, entry.getSecondaryEmail());
@@ -110,9 +230,22 @@ public class LocalPreparedStatementGenerator implements PreparedStatementGenerat
         stmt.setString(6, entry.getPhoneNumber());
         stmt.setString(7, entry.getLink());
         stmt.setString(8, entry.getCategory());
+        stmt.setString(9, dateTime);
+        stmt.setString(10, dateTime);
         return stmt;
     }
 
+    /**
+     * Prepares a {@code PreparedStatement} to read the current time, in the format SQLite stores dates in.
+     *
+     * @return a {@code PreparedStatement} that, when executed, will return a {@code ResultSet} of a single row
+     *         holding the current time.
+     * @throws SQLException if there is an error during the database access or query preparation.
+     */
+    public PreparedStatement prepareGetCurrentDateTimeStatement() throws SQLException {
+        return this.statementCache.prepare(GET_CURRENT_DATE_TIME_SQL);
+    }
+
     /**
      * Prepares a {@code PreparedStatement} for updating an existing entry in the entries table based on the title.
      * This method allows selective updates where only specified fields (non-null parameters) are updated.
@@ -161,7 +294,7 @@ public class LocalPreparedStatementGenerator implements PreparedStatementGenerat
         sql.append(EntryFields.DATE_MODIFIED + " = datetime('now')");
         sql.append(" WHERE " + EntryFields.TITLE + " = ?");
 
-        PreparedStatement pstmt = this.connection.prepareStatement(sql.toString());
+        PreparedStatement pstmt = this.statementCache.prepare(sql.toString());
         int paramIndex = 1;
 
         if (email != null) {
@@ -202,10 +335,7 @@ public class LocalPreparedStatementGenerator implements PreparedStatementGenerat
      */
     @Override
     public PreparedStatement prepareRemoveEntryStatement(String title) throws SQLException {
-        String sql = "DELETE FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
-                " WHERE " + EntryFields.TITLE + " = ?";
-
-        PreparedStatement pstmt = this.connection.prepareStatement(sql);
+        PreparedStatement pstmt = this.statementCache.prepare(REMOVE_ENTRY_SQL);
         pstmt.setString(1, title);
         return pstmt;
     }
@@ -222,9 +352,7 @@ public class LocalPreparedStatementGenerator implements PreparedStatementGenerat
      */
     @Override
     public PreparedStatement prepareGetEntryStatement(String title) throws SQLException {
-        String sql = "SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " WHERE " + EntryFields.TITLE + " = ?";
-
-        PreparedStatement pstmt = this.connection.prepareStatement(sql);
+        PreparedStatement pstmt = this.statementCache.prepare(GET_ENTRY_SQL);
         pstmt.setString(1, title);
         return pstmt;
     }
@@ -238,23 +366,270 @@ public class LocalPreparedStatementGenerator implements PreparedStatementGenerat
      */
     @Override
     public PreparedStatement prepareGetAllEntryTitlesStatement() throws SQLException {
-        String sql = "SELECT " + EntryFields.TITLE + " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME;
+        return this.statementCache.prepare(GET_ALL_ENTRY_TITLES_SQL);
+    }
+
+    /**
+     * Prepares a {@code PreparedStatement} to retrieve every entry from the entries table.
+     * This method constructs an SQL query that selects all columns of all rows so the whole table
+     * can be read in a single pass, rather than looking up each entry by title individually.
+     *
+     * @return a {@code PreparedStatement} that can be executed to fetch all entries from the database.
+     * @throws SQLException if there is an error during database access or query preparation.
+     */
+    @Override
+    public PreparedStatement prepareGetAllEntriesStatement() throws SQLException {
+        return this.statementCache.prepare(GET_ALL_ENTRIES_SQL);
+    }
 
-        return this.connection.prepareStatement(sql);
+    /**
+     * Prepares a forward-only, read-only {@code PreparedStatement} to stream every entry from the entries table.
+     * The statement is not taken from the statement cache, as it stays open for as long as the stream is consumed
+     * and must not be rebound by other operations in the meantime. The caller owns the statement and must close it.
+     *
+     * @param fetchSize the number of rows to fetch from the database at a time.
+     * @return a {@code PreparedStatement} that can be executed to stream all entries from the database.
+     * @throws SQLException if there is an error during database access or query preparation.
+     */
+    @Override
+    public PreparedStatement prepareStreamAllEntriesStatement(int fetchSize) throws SQLException {
+        PreparedStatement pstmt = this.connection.prepareStatement(GET_ALL_ENTRIES_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        pstmt.setFetchSize(fetchSize);
+        return pstmt;
     }
 
     /**
      * Prepares a {@code PreparedStatement} to retrieve a list of groups from the database.
-     * This method constructs an SQL query that selects all distinct categories from the entries table.
+     * This method constructs an SQL query that selects all distinct categories from the entries table, normalized
+     * as {@link EntryFacets#category(String)} does, so they are the groups the categories are counted under. The
+     * groups are read from the category facet index alone, and blank categories are not groups.
      *
      * @return A {@code PreparedStatement} object that, when executed, will return a {@code ResultSet}
-     *         containing all distinct categories from the entries table.
+     *         containing all distinct groups from the entries table.
      * @throws SQLException if there is an error during database access or query preparation.
      */
     @Override
     public PreparedStatement prepareGetListOfGroupsStatement() throws SQLException {
-        String sql = "SELECT DISTINCT " + EntryFields.CATEGORY + " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME;
+        return this.statementCache.prepare(GET_LIST_OF_GROUPS_SQL);
+    }
 
-        return this.connection.prepareStatement(sql);
+    /**
+     * Prepares a {@code PreparedStatement} to count the entries in each category, normalized as
+     * {@link EntryFacets#category(String)} does. The entries are grouped by the category facet index, which holds
+     * every normalized category in order, so the count is read from the index alone. Blank categories are not
+     * counted.
+     *
+     * @return a {@code PreparedStatement} that, when executed, will return a {@code ResultSet} of every category
+     *         and its number of entries.
+     * @throws SQLException if there is an error during database access or query preparation.
+     */
+    @Override
+    public PreparedStatement prepareGetCategoryCountsStatement() throws SQLException {
+        return this.statementCache.prepare(GET_CATEGORY_COUNTS_SQL);
+    }
+
+    /**
+     * Prepares a {@code PreparedStatement} to count the entries using each email domain, the part of their email
+     * after the first {@code @}, normalized as {@link EntryFacets#emailDomain(String)} does. The entries are grouped by the email domain index, so no sort is
+     * needed. Emails without a domain are not counted.
+     *
+     * @return a {@code PreparedStatement} that, when executed, will return a {@code ResultSet} of every email
+     *         domain and its number of entries.
+     * @throws SQLException if there is an error during database access or query preparation.
+     */
+    @Override
+    public PreparedStatement prepareGetEmailDomainCountsStatement() throws SQLException {
+        return this.statementCache.prepare(GET_EMAIL_DOMAIN_COUNTS_SQL);
+    }
+
+    /**
+     * Prepares a {@code PreparedStatement} to search entries using the full-text search table.
+     * Each whitespace separated word of the query is matched as a prefix against the title, username, email,
+     * link and category of every entry, and an entry must match every word to be returned. Matching entries
+     * are ordered from most to least relevant.
+     *
+     * <p>The query is treated as plain text; any FTS5 query syntax it contains is matched literally.
+     *
+     * @param query the text to search for; must contain at least one non-whitespace character.
+     * @param limit the maximum number of entries to return.
+     * @return a {@code PreparedStatement} that can be executed to fetch the matching entries.
+     * @throws SQLException if there is an error during database access or query preparation.
+     */
+    @Override
+    public PreparedStatement prepareSearchEntriesStatement(String query, int limit) throws SQLException {
+        PreparedStatement pstmt = this.statementCache.prepare(SEARCH_ENTRIES_SQL);
+        pstmt.setString(1, toMatchExpression(query));
+        pstmt.setInt(2, limit);
+        return pstmt;
+    }
+
+    /**
+     * Prepares a {@code PreparedStatement} to retrieve the entries matching a query. The whole query tree is
+     * translated into the statement's {@code WHERE} clause, with every value bound as a parameter:
+     * <ul>
+     *     <li>Field values are compared with the {@code NOCASE} collation, and prefixes with {@code LIKE}, so both
+     *         are answered by the case-insensitive indexes of the entries table. {@code NOCASE} only ignores the
+     *         case of ASCII letters.</li>
+     *     <li>Groups are compared exactly with the category trimmed as it is counted, answered by the index of
+     *         the counted categories.</li>
+     *     <li>Date ranges are compared with the stored text of the dates, answered by the date indexes.</li>
+     *     <li>Words are matched as a prefix phrase against the full-text search table.</li>
+     * </ul>
+     * Negations treat a comparison with a missing value as not matching, as evaluating the query in memory does.
+     *
+     * <p>Statements are cached by their SQL, so queries of the same shape reuse one compiled statement.
+     *
+     * @param query the query to match.
+     * @return a {@code PreparedStatement} that can be executed to fetch the matching entries, in no particular order.
+     * @throws SQLException if there is an error during database access or query preparation.
+     */
+    @Override
+    public PreparedStatement prepareQueryEntriesStatement(EntryQuery query) throws SQLException {
+        StringBuilder sql = new StringBuilder(QUERY_ENTRIES_SQL);
+        List<String> parameters = new ArrayList<>();
+        appendCondition(sql, query, parameters);
+
+        PreparedStatement pstmt = this.statementCache.prepare(sql.toString());
+        for (int i = 0; i < parameters.size(); i++) {
+            pstmt.setString(i + 1, parameters.get(i));
+        }
+        return pstmt;
+    }
+
+    /**
+     * Appends the SQL condition of a query, and the values of its parameters.
+     *
+     * @param sql the SQL to append the condition to.
+     * @param query the query to translate.
+     * @param parameters the parameter values, in order, appended to as the condition is.
+     */
+    private static void appendCondition(StringBuilder sql, EntryQuery query, List<String> parameters) {
+        switch (query) {
+            case EntryQuery.And and -> appendOperands(sql, and.operands(), " AND ", "1", parameters);
+            case EntryQuery.Or or -> appendOperands(sql, or.operands(), " OR ", "0", parameters);
+            case EntryQuery.Not not -> {
+                // A comparison with NULL is NULL, whose negation is NULL too, so it counts as not matching first
+                sql.append("NOT coalesce(");
+                appendCondition(sql, not.operand(), parameters);
+                sql.append(", 0)");
+            }
+            case EntryQuery.Equals equals -> {
+                // The collation belongs to the column, as SQLite answers an OR of equalities with the column's
+                // own collation, ignoring one given with the value
+                sql.append(equals.field()).append(" COLLATE NOCASE = ?");
+                parameters.add(equals.value());
+            }
+            case EntryQuery.StartsWith startsWith -> {
+                sql.append(startsWith.field()).append(" LIKE ? ESCAPE '\\'");
+                parameters.add(escapeLike(startsWith.prefix()) + "%");
+            }
+            case EntryQuery.InGroup inGroup -> {
+                // No entry is counted under an empty group, although blank categories trim to one
+                if (inGroup.group().isEmpty()) {
+                    sql.append('0');
+                } else {
+                    sql.append(CATEGORY_FACET_SQL).append(" = ?");
+                    parameters.add(inGroup.group());
+                }
+            }
+            case EntryQuery.DateRange range -> appendDateRange(sql, range, parameters);
+            case EntryQuery.Words words -> {
+                sql.append(MATCH_ENTRIES_SQL);
+                parameters.add('"' + words.text().replace("\"", "\"\"") + "\"*");
+            }
+        }
+    }
+
+    /**
+     * Appends the conditions of several queries joined by an operator, in parentheses.
+     *
+     * @param sql the SQL to append the conditions to.
+     * @param operands the queries to translate.
+     * @param operator the operator joining the conditions, {@code " AND "} or {@code " OR "}.
+     * @param empty the condition of no operands.
+     * @param parameters the parameter values, appended to as the conditions are.
+     */
+    private static void appendOperands(StringBuilder sql, List<EntryQuery> operands, String operator, String empty,
+                                       List<String> parameters) {
+        if (operands.isEmpty()) {
+            sql.append(empty);
+            return;
+        }
+
+        sql.append('(');
+        for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+                sql.append(operator);
+            }
+            appendCondition(sql, operands.get(i), parameters);
+        }
+        sql.append(')');
+    }
+
+    /**
+     * Appends the condition of a date range, comparing the stored text of the dates.
+     *
+     * @param sql the SQL to append the condition to.
+     * @param range the date range to translate.
+     * @param parameters the parameter values, appended to as the condition is.
+     */
+    private static void appendDateRange(StringBuilder sql, EntryQuery.DateRange range, List<String> parameters) {
+        if (range.from() == null && range.until() == null) {
+            sql.append(range.field()).append(" IS NOT NULL");
+            return;
+        }
+
+        sql.append('(');
+        if (range.from() != null) {
+            sql.append(range.field()).append(" >= ?");
+            parameters.add(toSqlDateTime(range.from()));
+        }
+        if (range.until() != null) {
+            if (range.from() != null) {
+                sql.append(" AND ");
+            }
+            sql.append(range.field()).append(" < ?");
+            parameters.add(toSqlDateTime(range.until()));
+        }
+        sql.append(')');
+    }
+
+    /**
+     * Formats a time as SQLite stores dates.
+     *
+     * @param time the time to format.
+     * @return the time as {@code yyyy-MM-dd HH:mm:ss}.
+     */
+    private static String toSqlDateTime(LocalDateTime time) {
+        return SQL_DATE_TIME.format(time);
+    }
+
+    /**
+     * Escapes the wildcards of a {@code LIKE} pattern, so the text is matched literally.
+     *
+     * @param text the text to escape.
+     * @return the text with {@code \}, {@code %} and {@code _} escaped by a backslash.
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Converts plain search text into an FTS5 match expression, quoting each word so that it is matched
+     * literally, and marking it as a prefix.
+     *
+     * @param query the plain search text.
+     * @return the FTS5 match expression.
+     */
+    private static String toMatchExpression(String query) {
+        StringBuilder expression = new StringBuilder();
+        for (String word : query.trim().split("\\s+")) {
+            if (!expression.isEmpty()) {
+                expression.append(' ');
+            }
+            expression.append('"').append(word.replace("\"", "\"\"")).append("\"*");
+        }
+        return expression.toString();
     }
 }
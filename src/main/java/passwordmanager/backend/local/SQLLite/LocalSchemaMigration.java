@@ -0,0 +1,14 @@
+package passwordmanager.backend.local.SQLLite;
+
+import java.util.List;
+
+/**
+ * A single step in the evolution of the local database schema.
+ *
+ * @param version the schema version the database is at once this migration has been applied.
+ * @param description a short description of what the migration changes.
+ * @param statements the SQL statements that make up the migration, executed in order.
+ * @see LocalSchemaMigrator
+ */
+record LocalSchemaMigration(int version, String description, List<String> statements) {
+}
@@ -0,0 +1,217 @@
+package passwordmanager.backend.local.SQLLite;
+
+import passwordmanager.backend.EntryFields;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.logging.Logger;
+
+/**
+ * The {@code LocalSchemaMigrator} class brings a local database up to the latest schema version.
+ * The current version of a database is tracked with SQLite's {@code PRAGMA user_version}, which is 0 for a
+ * database no migration has been applied to yet.
+ *
+ * <p>Migrations are applied in order, each within its own transaction together with the update of
+ * {@code user_version}, so a database is never left part way through a migration.
+ *
+ * <p>To evolve the schema, append a new {@link LocalSchemaMigration} to {@link #MIGRATIONS} with the next
+ * version number. Existing migrations must never be changed once released, as databases that already
+ * applied them will not run them again.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * LocalSchemaMigrator migrator = new LocalSchemaMigrator(connection);
+ * migrator.migrate();
+ * }
+ * </pre>
+ *
+ * @see LocalSchemaMigration
+ */
+public class LocalSchemaMigrator {
+
+    // Logger for logging purposes
+    private static final Logger logger = Logger.getLogger(LocalSchemaMigrator.class.getName());
+
+    // Columns of the entries table covered by full-text search, declared before the migrations that use them
+    private static final String FTS_COLUMNS = EntryFields.TITLE + ", " + EntryFields.USERNAME + ", " +
+            EntryFields.EMAIL + ", " + EntryFields.LINK + ", " + EntryFields.CATEGORY;
+
+    /**
+     * Every migration, in the order they are applied.
+     */
+    static final List<LocalSchemaMigration> MIGRATIONS = List.of(
+            new LocalSchemaMigration(1, "Create entries table", createEntryTableStatements()),
+            new LocalSchemaMigration(2, "Index entries by date modified and date created", List.of(
+                    "CREATE INDEX IF NOT EXISTS " + LocalDatabaseConstants.ENTRIES_DATE_MODIFIED_INDEX_NAME +
+                            " ON " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " (" + EntryFields.DATE_MODIFIED + ")",
+                    "CREATE INDEX IF NOT EXISTS " + LocalDatabaseConstants.ENTRIES_DATE_CREATED_INDEX_NAME +
+                            " ON " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " (" + EntryFields.DATE_CREATED + ")"
+            )),
+            new LocalSchemaMigration(3, "Add full-text search over entries", fullTextSearchStatements()),
+            new LocalSchemaMigration(4, "Index the fields entry queries filter by, ignoring case", List.of(
+                    createNoCaseIndex(LocalDatabaseConstants.ENTRIES_TITLE_NOCASE_INDEX_NAME, EntryFields.TITLE),
+                    createNoCaseIndex(LocalDatabaseConstants.ENTRIES_EMAIL_NOCASE_INDEX_NAME, EntryFields.EMAIL),
+                    createNoCaseIndex(LocalDatabaseConstants.ENTRIES_USERNAME_NOCASE_INDEX_NAME, EntryFields.USERNAME),
+                    createNoCaseIndex(LocalDatabaseConstants.ENTRIES_LINK_NOCASE_INDEX_NAME, EntryFields.LINK),
+                    createNoCaseIndex(LocalDatabaseConstants.ENTRIES_CATEGORY_NOCASE_INDEX_NAME, EntryFields.CATEGORY)
+            )),
+            new LocalSchemaMigration(5, "Index entries by category and email domain, as they are counted", List.of(
+                    "CREATE INDEX IF NOT EXISTS " + LocalDatabaseConstants.ENTRIES_CATEGORY_FACET_INDEX_NAME +
+                            " ON " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                            " (" + LocalPreparedStatementGenerator.CATEGORY_FACET_SQL + ")",
+                    "CREATE INDEX IF NOT EXISTS " + LocalDatabaseConstants.ENTRIES_EMAIL_DOMAIN_INDEX_NAME +
+                            " ON " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                            " (" + LocalPreparedStatementGenerator.EMAIL_DOMAIN_SQL + ")"
+            ))
+    );
+
+    private final Connection connection;
+
+    /**
+     * Constructs a migrator for the database behind the given connection.
+     *
+     * @param connection the writer connection of the database to migrate.
+     */
+    public LocalSchemaMigrator(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Returns the schema version the latest migration brings a database to.
+     *
+     * @return the latest schema version.
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    /**
+     * Returns the schema version the database is currently at.
+     *
+     * @return the current schema version.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int getCurrentVersion() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("PRAGMA user_version")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies every migration newer than the database's current schema version.
+     *
+     * @throws SQLException if a migration fails. The failing migration is rolled back, leaving the
+     *                      database at the version of the last successful migration.
+     */
+    public void migrate() throws SQLException {
+        int currentVersion = getCurrentVersion();
+
+        for (LocalSchemaMigration migration : MIGRATIONS) {
+            if (migration.version() > currentVersion) {
+                apply(migration);
+                currentVersion = migration.version();
+            }
+        }
+    }
+
+    /**
+     * Builds the statements creating the entries table. A database created before migrations were tracked already
+     * has the table, keyed by title alone, so the table is rebuilt with every entry copied over: the rebuilt table
+     * has an {@code INTEGER PRIMARY KEY} id, which the full-text search table links its rows to.
+     *
+     * @return the statements of the entries table migration.
+     */
+    private static List<String> createEntryTableStatements() {
+        String entries = LocalDatabaseConstants.ENTRIES_TABLE_NAME;
+        String rebuilt = entries + "_REBUILD";
+        String columns = Arrays.stream(EntryFields.values())
+                .filter(field -> field != EntryFields.ID)
+                .map(EntryFields::toString)
+                .collect(Collectors.joining(", "));
+
+        return List.of(
+                LocalPreparedStatementGenerator.CREATE_ENTRY_TABLE_SQL,
+                "CREATE TABLE " + rebuilt + LocalPreparedStatementGenerator.ENTRY_COLUMNS_SQL,
+                "INSERT INTO " + rebuilt + " (" + columns + ") SELECT " + columns + " FROM " + entries + " ORDER BY rowid",
+                "DROP TABLE " + entries,
+                "ALTER TABLE " + rebuilt + " RENAME TO " + entries
+        );
+    }
+
+    /**
+     * Builds the statements creating the full-text search table for the entries table.
+     * The search table is an FTS5 external content table, so entry data is not duplicated, and is kept in sync
+     * by triggers on every insert, update and delete. Existing entries are indexed by a final rebuild.
+     *
+     * <p>Search rows are linked to entries by their {@code INTEGER PRIMARY KEY} id rather than the implicit rowid,
+     * which a {@code VACUUM} may renumber.
+     *
+     * @return the statements of the full-text search migration.
+     */
+    private static List<String> fullTextSearchStatements() {
+        String entries = LocalDatabaseConstants.ENTRIES_TABLE_NAME;
+        String fts = LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME;
+        String newValues = "new." + EntryFields.TITLE + ", new." + EntryFields.USERNAME + ", new." +
+                EntryFields.EMAIL + ", new." + EntryFields.LINK + ", new." + EntryFields.CATEGORY;
+        String oldValues = "old." + EntryFields.TITLE + ", old." + EntryFields.USERNAME + ", old." +
+                EntryFields.EMAIL + ", old." + EntryFields.LINK + ", old." + EntryFields.CATEGORY;
+
+        String insertNew = "INSERT INTO " + fts + " (rowid, " + FTS_COLUMNS + ") VALUES (new." + EntryFields.ID + ", " + newValues + ");";
+        String deleteOld = "INSERT INTO " + fts + " (" + fts + ", rowid, " + FTS_COLUMNS + ") VALUES ('delete', old." + EntryFields.ID + ", " + oldValues + ");";
+
+        return List.of(
+                "CREATE VIRTUAL TABLE IF NOT EXISTS " + fts + " USING fts5(" + FTS_COLUMNS +
+                        ", content='" + entries + "', content_rowid='" + EntryFields.ID + "', tokenize='unicode61 remove_diacritics 2')",
+                "CREATE TRIGGER IF NOT EXISTS " + fts + "_INSERT AFTER INSERT ON " + entries + " BEGIN " + insertNew + " END",
+                "CREATE TRIGGER IF NOT EXISTS " + fts + "_DELETE AFTER DELETE ON " + entries + " BEGIN " + deleteOld + " END",
+                "CREATE TRIGGER IF NOT EXISTS " + fts + "_UPDATE AFTER UPDATE ON " + entries + " BEGIN " + deleteOld + " " + insertNew + " END",
+                "INSERT INTO " + fts + " (" + fts + ") VALUES ('rebuild')"
+        );
+    }
+
+    /**
+     * Builds the statement creating a case-insensitive index on a column. Entry queries compare text fields
+     * with the {@code NOCASE} collation, equality and {@code LIKE} prefixes alike, which only an index with
+     * the same collation can answer.
+     *
+     * @param name the name of the index.
+     * @param field the indexed column.
+     * @return the statement creating the index.
+     */
+    private static String createNoCaseIndex(String name, EntryFields field) {
+        return "CREATE INDEX IF NOT EXISTS " + name + " ON " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " (" + field + " COLLATE NOCASE)";
+    }
+
+    /**
+     * Applies a single migration and records its version within one transaction.
+     *
+     * @param migration the migration to apply.
+     * @throws SQLException if the migration fails.
+     */
+    private void apply(LocalSchemaMigration migration) throws SQLException {
+        logger.info("Migrating database to version " + migration.version() + ": " + migration.description());
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : migration.statements()) {
+                stmt.execute(sql);
+            }
+            stmt.execute("PRAGMA user_version = " + migration.version());
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
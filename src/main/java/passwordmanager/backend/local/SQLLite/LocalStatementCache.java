@@ -0,0 +1,129 @@
+package passwordmanager.backend.local.SQLLite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code LocalStatementCache} class keeps compiled {@link PreparedStatement}s for a single {@link Connection},
+ * keyed by their SQL text, so that repeated operations only need to rebind their parameters instead of having
+ * SQLite parse and plan the same statement again.
+ *
+ * <p>The cache is bounded. When it is full, the least recently used statement is evicted and closed.
+ * Each cache is owned by the connection it was created for; statements are never shared between connections.
+ *
+ * <p>Statements returned by this cache remain owned by the cache and must not be closed by the caller.
+ * Any {@link java.sql.ResultSet} obtained from them should still be closed once it has been read.
+ *
+ * <p>Hit, miss and eviction counters are kept for monitoring purposes.
+ *
+ * @see LocalPreparedStatementGenerator
+ */
+public class LocalStatementCache {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Constructs a statement cache for the given connection.
+     *
+     * @param connection the connection that all cached statements are prepared on.
+     * @param capacity the maximum number of statements to keep before evicting the least recently used one.
+     */
+    LocalStatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+
+        // Access ordered so the eldest entry is always the least recently used statement
+        this.statements = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached statement if one is available.
+     * Parameters of a reused statement are cleared before it is returned.
+     *
+     * @param sql the SQL text of the statement.
+     * @return a {@code PreparedStatement} ready to have its parameters bound.
+     * @throws SQLException if the statement could not be prepared.
+     */
+    synchronized PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+
+        if (stmt != null && !stmt.isClosed()) {
+            hits++;
+            stmt.clearParameters();
+            return stmt;
+        }
+
+        misses++;
+        stmt = connection.prepareStatement(sql);
+        statements.put(sql, stmt);
+        return stmt;
+    }
+
+    /**
+     * Closes and removes every cached statement.
+     */
+    public synchronized void clear() {
+        for (PreparedStatement stmt : statements.values()) {
+            closeQuietly(stmt);
+        }
+        statements.clear();
+    }
+
+    /**
+     * @return the number of times a cached statement was reused.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of times a statement had to be prepared because it was not cached.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of statements evicted because the cache was full.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the number of statements currently cached.
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes a statement, ignoring any error since the statement is being discarded.
+     *
+     * @param stmt the statement to close.
+     */
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
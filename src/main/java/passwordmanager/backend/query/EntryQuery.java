@@ -0,0 +1,257 @@
+package passwordmanager.backend.query;
+
+import passwordmanager.backend.EntryFields;
+import passwordmanager.model.AsciiCase;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryFacets;
+import passwordmanager.model.SearchText;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The {@code EntryQuery} interface is a predicate over entries, parsed from a small query language and organized
+ * as a tree: {@link And}, {@link Or} and {@link Not} combine other queries, while {@link Equals},
+ * {@link StartsWith}, {@link InGroup}, {@link DateRange} and {@link Words} test a single entry. The same tree is translated into
+ * SQL by the database API and evaluated against the in-memory indexes of the entry cache, so both return the
+ * same entries for a query.
+ *
+ * <p>The language is a list of terms, all of which an entry must match:
+ * <ul>
+ *     <li>{@code field:value} matches entries whose field equals the value, ignoring the case of ASCII letters
+ *         as the database does, so {@code category:gaming} matches "Gaming" but {@code category:école} does not
+ *         match "École". A value ending in {@code *}, such as {@code email:john*}, matches the values starting
+ *         with it instead. The fields are
+ *         {@code title}, {@code email}, {@code username} (or {@code user}), {@code link} (or {@code url}) and
+ *         {@code category}.</li>
+ *     <li>{@code group:value} matches the entries counted under the value by the category counts, which is
+ *         their category without surrounding whitespace, with the same case. {@code group:Gaming} matches
+ *         "Gaming" and " Gaming", but not "gaming", which is counted as a group of its own.</li>
+ *     <li>{@code created:} and {@code modified:} compare the day an entry was created or last modified with a
+ *         {@code yyyy-MM-dd} date, after an optional {@code >}, {@code >=}, {@code <}, {@code <=} or {@code =},
+ *         such as {@code modified:>2025-01-01}.</li>
+ *     <li>Any other word matches entries with a word of their title, username, email, link or category
+ *         starting with it, ignoring case and accents, like the full-text search of the database. Words
+ *         without letters or digits are ignored.</li>
+ * </ul>
+ * Values containing spaces are quoted, such as {@code category:"Social Media"}, and a quote or backslash within
+ * quotes is escaped by a backslash, as {@link #quote(String)} does. Terms can be combined with
+ * {@code OR}, negated with a leading {@code -} and grouped with parentheses.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * EntryQuery query = EntryQuery.parse("category:Gaming email:john* modified:>2025-01-01");
+ * List<Entry> fromDatabase = LocalAPI.getInstance().query(query);
+ * boolean matches = query.test(entry);
+ * }
+ * </pre>
+ *
+ * @see EntryFields
+ */
+public sealed interface EntryQuery permits EntryQuery.And, EntryQuery.Or, EntryQuery.Not, EntryQuery.Equals,
+        EntryQuery.StartsWith, EntryQuery.InGroup, EntryQuery.DateRange, EntryQuery.Words {
+
+    /**
+     * Parses a query.
+     *
+     * @param text the query, in the language described by {@link EntryQuery}.
+     * @return the parsed query. A blank query matches every entry.
+     * @throws IllegalArgumentException if the query is malformed, such as an unknown field or an invalid date.
+     */
+    static EntryQuery parse(String text) {
+        return new EntryQueryParser(text).parse();
+    }
+
+    /**
+     * Checks whether text contains a field term, such as {@code category:Gaming}, and so is meant as a query
+     * rather than as plain search text. The text is not validated.
+     *
+     * @param text the text to check.
+     * @return {@code true} if a word of the text starts with a field name followed by a colon.
+     */
+    static boolean usesFields(String text) {
+        return EntryQueryParser.usesFields(text);
+    }
+
+    /**
+     * Quotes a value for a term, so that it is matched as is whatever characters it contains.
+     *
+     * @param value the value to quote.
+     * @return the value in quotes, with quotes and backslashes escaped, such as {@code "Say \"Hi\""}.
+     */
+    static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * Tests an entry against this query.
+     *
+     * @param entry the entry to test.
+     * @return {@code true} if the entry matches.
+     */
+    boolean test(Entry entry);
+
+    /**
+     * Matches the entries matching every operand, or every entry if there are none.
+     *
+     * @param operands the queries to match.
+     */
+    record And(List<EntryQuery> operands) implements EntryQuery {
+        public And {
+            operands = List.copyOf(operands);
+        }
+
+        @Override
+        public boolean test(Entry entry) {
+            for (EntryQuery operand : operands) {
+                if (!operand.test(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Matches the entries matching any operand, or no entry if there are none.
+     *
+     * @param operands the queries to match.
+     */
+    record Or(List<EntryQuery> operands) implements EntryQuery {
+        public Or {
+            operands = List.copyOf(operands);
+        }
+
+        @Override
+        public boolean test(Entry entry) {
+            for (EntryQuery operand : operands) {
+                if (operand.test(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Matches the entries not matching the operand, including entries lacking the value it tests.
+     *
+     * @param operand the query not to match.
+     */
+    record Not(EntryQuery operand) implements EntryQuery {
+        @Override
+        public boolean test(Entry entry) {
+            return !operand.test(entry);
+        }
+    }
+
+    /**
+     * Matches the entries whose field equals a value, ignoring the case of ASCII letters.
+     *
+     * @param field the text field to compare, such as {@link EntryFields#CATEGORY}.
+     * @param value the value to compare with.
+     */
+    record Equals(EntryFields field, String value) implements EntryQuery {
+        @Override
+        public boolean test(Entry entry) {
+            String fieldValue = textOf(entry, field);
+            return fieldValue != null && AsciiCase.equalsIgnoreCase(fieldValue, value);
+        }
+    }
+
+    /**
+     * Matches the entries whose field starts with a prefix, ignoring the case of ASCII letters.
+     *
+     * @param field the text field to compare, such as {@link EntryFields#EMAIL}.
+     * @param prefix the prefix to compare with.
+     */
+    record StartsWith(EntryFields field, String prefix) implements EntryQuery {
+        @Override
+        public boolean test(Entry entry) {
+            return AsciiCase.startsWithIgnoreCase(textOf(entry, field), prefix);
+        }
+    }
+
+    /**
+     * Matches the entries counted under a group, whose category equals the group once surrounding whitespace is
+     * removed, as {@link EntryFacets#category(String)} does.
+     *
+     * @param group the group, as counted.
+     */
+    record InGroup(String group) implements EntryQuery {
+        @Override
+        public boolean test(Entry entry) {
+            return group.equals(EntryFacets.category(entry.getCategory()));
+        }
+    }
+
+    /**
+     * Matches the entries whose date field falls within a range.
+     *
+     * @param field the date field to compare, {@link EntryFields#DATE_CREATED} or {@link EntryFields#DATE_MODIFIED}.
+     * @param from the earliest matching time, inclusive, or {@code null} for no lower bound.
+     * @param until the time after the latest match, exclusive, or {@code null} for no upper bound.
+     */
+    record DateRange(EntryFields field, LocalDateTime from, LocalDateTime until) implements EntryQuery {
+        @Override
+        public boolean test(Entry entry) {
+            Timestamp timestamp = field == EntryFields.DATE_CREATED ? entry.getDateCreated() : entry.getDateModified();
+            if (timestamp == null) {
+                return false;
+            }
+            LocalDateTime time = timestamp.toLocalDateTime();
+            return (from == null || !time.isBefore(from)) && (until == null || time.isBefore(until));
+        }
+    }
+
+    /**
+     * Matches the entries with a word of their title, username, email, link or category starting with the text,
+     * ignoring case and accents.
+     *
+     * @param text the text to match, as typed.
+     * @param normalizedText the text normalized with {@link SearchText#normalize(String)}.
+     */
+    record Words(String text, String normalizedText) implements EntryQuery {
+
+        /**
+         * Constructs a words query, normalizing the text.
+         *
+         * @param text the text to match, as typed.
+         */
+        public Words(String text) {
+            this(text, SearchText.normalize(text));
+        }
+
+        @Override
+        public boolean test(Entry entry) {
+            String fields = entry.getFieldsSearchKey();
+            for (int index = fields.indexOf(normalizedText); index >= 0;
+                 index = fields.indexOf(normalizedText, index + 1)) {
+                if (index == 0 || !Character.isLetterOrDigit(fields.charAt(index - 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the value of a text field of an entry.
+     *
+     * @param entry the entry.
+     * @param field the field, one of the title, email, username, link or category.
+     * @return the value of the field, or {@code null} if not set.
+     */
+    private static String textOf(Entry entry, EntryFields field) {
+        return switch (field) {
+            case TITLE -> entry.getTitle();
+            case EMAIL -> entry.getEmail();
+            case USERNAME -> entry.getUsername();
+            case LINK -> entry.getLink();
+            case CATEGORY -> entry.getCategory();
+            default -> throw new IllegalArgumentException("Invalid field: " + field);
+        };
+    }
+}
@@ -0,0 +1,365 @@
+package passwordmanager.backend.query;
+
+import passwordmanager.backend.EntryFields;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code EntryQueryParser} class parses the query language described by {@link EntryQuery} into a tree of
+ * queries, by recursive descent. {@code OR} binds looser than the implicit AND between terms, and {@code -}
+ * binds tightest.
+ *
+ * <p>The parser is lenient about queries that are still being typed: a field without a value, an {@code OR}
+ * without a term on one side and a group left open at the end of the query are ignored or closed rather than
+ * rejected.
+ *
+ * @see EntryQuery
+ */
+final class EntryQueryParser {
+
+    // Names of the fields a term can match, mapped to their column
+    private static final Map<String, EntryFields> FIELDS = Map.of(
+            "title", EntryFields.TITLE,
+            "email", EntryFields.EMAIL,
+            "username", EntryFields.USERNAME,
+            "user", EntryFields.USERNAME,
+            "link", EntryFields.LINK,
+            "url", EntryFields.LINK,
+            "category", EntryFields.CATEGORY,
+            "created", EntryFields.DATE_CREATED,
+            "modified", EntryFields.DATE_MODIFIED);
+
+    // Name of the term matching the group an entry is counted under
+    private static final String GROUP = "group";
+
+    private static final String OR = "OR";
+
+    /**
+     * A value of a term.
+     *
+     * @param text the value, without quotes or a trailing {@code *}.
+     * @param prefix whether the value ended in an unquoted {@code *}.
+     * @param quoted whether any part of the value was quoted.
+     */
+    private record Value(String text, boolean prefix, boolean quoted) {}
+
+    private final String text;
+    private int position;
+
+    /**
+     * Constructs a parser for a query.
+     *
+     * @param text the query to parse.
+     */
+    EntryQueryParser(String text) {
+        this.text = text == null ? "" : text;
+    }
+
+    /**
+     * Checks whether text contains a field term.
+     *
+     * @param text the text to check.
+     * @return {@code true} if a word of the text starts with a field name, or {@code group}, followed by a colon.
+     * @see EntryQuery#usesFields(String)
+     */
+    static boolean usesFields(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (String word : text.trim().split("\\s+")) {
+            int start = 0;
+            while (start < word.length() && (word.charAt(start) == '-' || word.charAt(start) == '(')) {
+                start++;
+            }
+            int colon = word.indexOf(':', start);
+            if (colon > start && isFieldName(word.substring(start, colon).toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a name is the name of a field term.
+     *
+     * @param name the lower cased name.
+     * @return {@code true} if the name is a field or {@code group}.
+     */
+    private static boolean isFieldName(String name) {
+        return FIELDS.containsKey(name) || name.equals(GROUP);
+    }
+
+    /**
+     * Parses the whole query.
+     *
+     * @return the parsed query.
+     * @throws IllegalArgumentException if the query is malformed.
+     */
+    EntryQuery parse() {
+        EntryQuery query = parseOr();
+        skipWhitespace();
+        if (position < text.length()) {
+            throw new IllegalArgumentException("Unexpected ')' at position " + position + " of query: " + text);
+        }
+        return query;
+    }
+
+    /**
+     * Parses terms separated by {@code OR}.
+     *
+     * @return the parsed query.
+     */
+    private EntryQuery parseOr() {
+        List<EntryQuery> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (skipOr()) {
+            operands.add(parseAnd());
+        }
+
+        // An OR without a term on one side would otherwise match every entry
+        if (operands.size() > 1) {
+            operands.removeIf(operand -> operand instanceof EntryQuery.And and && and.operands().isEmpty());
+        }
+        return operands.size() == 1 ? operands.get(0) : new EntryQuery.Or(operands);
+    }
+
+    /**
+     * Parses terms up to the next {@code OR}, closing parenthesis or the end of the query.
+     *
+     * @return the parsed query.
+     */
+    private EntryQuery parseAnd() {
+        List<EntryQuery> operands = new ArrayList<>();
+        while (true) {
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) == ')' || atOr()) {
+                break;
+            }
+            EntryQuery operand = parseUnary();
+            if (operand != null) {
+                operands.add(operand);
+            }
+        }
+        return operands.size() == 1 ? operands.get(0) : new EntryQuery.And(operands);
+    }
+
+    /**
+     * Parses a negated term, a group or a single term.
+     *
+     * @return the parsed query, or {@code null} if the term is ignored.
+     */
+    private EntryQuery parseUnary() {
+        char c = text.charAt(position);
+        if (c == '-' && position + 1 < text.length() && !Character.isWhitespace(text.charAt(position + 1))) {
+            position++;
+            EntryQuery operand = parseUnary();
+            return operand == null ? null : new EntryQuery.Not(operand);
+        }
+
+        if (c == '(') {
+            position++;
+            EntryQuery group = parseOr();
+            skipWhitespace();
+            if (position < text.length()) {
+                // parseOr only stops early at a closing parenthesis
+                position++;
+            }
+            return group;
+        }
+
+        return parseTerm();
+    }
+
+    /**
+     * Parses a field term or a word.
+     *
+     * @return the parsed query, or {@code null} if the term is ignored.
+     */
+    private EntryQuery parseTerm() {
+        int nameEnd = position;
+        while (nameEnd < text.length() && Character.isLetter(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd > position && nameEnd < text.length() && text.charAt(nameEnd) == ':') {
+            String name = text.substring(position, nameEnd).toLowerCase(Locale.ROOT);
+            EntryFields field = FIELDS.get(name);
+            if (field != null) {
+                position = nameEnd + 1;
+                return parseFieldValue(name, field, readValue());
+            }
+            if (name.equals(GROUP)) {
+                position = nameEnd + 1;
+                return parseGroup(readValue());
+            }
+        }
+
+        Value word = readValue();
+        for (int i = 0; i < word.text().length(); i++) {
+            if (Character.isLetterOrDigit(word.text().charAt(i))) {
+                return new EntryQuery.Words(word.text());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the query of a field term.
+     *
+     * @param name the name of the field, as typed.
+     * @param field the field.
+     * @param value the value of the term.
+     * @return the query of the term, or {@code null} if it has no value yet.
+     * @throws IllegalArgumentException if the value of a date field is not a valid date.
+     */
+    private EntryQuery parseFieldValue(String name, EntryFields field, Value value) {
+        if (value.text().isEmpty() && !value.quoted() && !value.prefix()) {
+            return null;
+        }
+
+        if (field == EntryFields.DATE_CREATED || field == EntryFields.DATE_MODIFIED) {
+            return parseDateRange(name, field, value.text());
+        }
+        return value.prefix() ? new EntryQuery.StartsWith(field, value.text()) : new EntryQuery.Equals(field, value.text());
+    }
+
+    /**
+     * Builds the query of a group term. Groups are matched exactly, so a value cannot be a prefix.
+     *
+     * @param value the value of the term.
+     * @return the query of the term, or {@code null} if it has no value yet.
+     * @throws IllegalArgumentException if the value is a prefix.
+     */
+    private static EntryQuery parseGroup(Value value) {
+        if (value.text().isEmpty() && !value.quoted() && !value.prefix()) {
+            return null;
+        }
+        if (value.prefix()) {
+            throw new IllegalArgumentException("Invalid group: " + value.text() + "*");
+        }
+        return new EntryQuery.InGroup(value.text());
+    }
+
+    /**
+     * Builds the query of a date field term. Dates are compared by day, so {@code >2025-01-01} matches from
+     * the start of the next day.
+     *
+     * @param name the name of the field, as typed.
+     * @param field the date field.
+     * @param value the comparison, such as {@code >=2025-01-01}.
+     * @return the query of the term.
+     * @throws IllegalArgumentException if the value is not a valid date.
+     */
+    private static EntryQuery parseDateRange(String name, EntryFields field, String value) {
+        String operator = "=";
+        for (String candidate : new String[]{">=", "<=", ">", "<", "="}) {
+            if (value.startsWith(candidate)) {
+                operator = candidate;
+                value = value.substring(candidate.length());
+                break;
+            }
+        }
+
+        LocalDate day;
+        try {
+            day = LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for " + name + ": " + value, e);
+        }
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime nextDay = day.plusDays(1).atStartOfDay();
+
+        return switch (operator) {
+            case ">" -> new EntryQuery.DateRange(field, nextDay, null);
+            case ">=" -> new EntryQuery.DateRange(field, start, null);
+            case "<" -> new EntryQuery.DateRange(field, null, start);
+            case "<=" -> new EntryQuery.DateRange(field, null, nextDay);
+            default -> new EntryQuery.DateRange(field, start, nextDay);
+        };
+    }
+
+    /**
+     * Reads a value up to the next whitespace or closing parenthesis outside quotes. Quotes are removed, a
+     * backslash within quotes escapes a following quote or backslash, and an unterminated quote runs to the end
+     * of the query.
+     *
+     * @return the value read.
+     */
+    private Value readValue() {
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        boolean prefix = false;
+
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (!inQuotes && (Character.isWhitespace(c) || c == ')')) {
+                break;
+            }
+            position++;
+
+            if (c == '\\' && inQuotes && position < text.length()
+                    && (text.charAt(position) == '"' || text.charAt(position) == '\\')) {
+                value.append(text.charAt(position++));
+                prefix = false;
+            } else if (c == '"') {
+                inQuotes = !inQuotes;
+                quoted = true;
+                prefix = false;
+            } else if (c == '*' && !inQuotes && isValueEnd(position)) {
+                prefix = true;
+            } else {
+                value.append(c);
+                prefix = false;
+            }
+        }
+        return new Value(value.toString(), prefix, quoted);
+    }
+
+    /**
+     * Checks whether a value ends at a position, which is at whitespace, a closing parenthesis or the end.
+     *
+     * @param index the position to check.
+     * @return {@code true} if no more of the value follows.
+     */
+    private boolean isValueEnd(int index) {
+        return index >= text.length() || Character.isWhitespace(text.charAt(index)) || text.charAt(index) == ')';
+    }
+
+    /**
+     * Checks whether an {@code OR} keyword starts at the current position.
+     *
+     * @return {@code true} if the next term is {@code OR}.
+     */
+    private boolean atOr() {
+        return text.startsWith(OR, position) && isValueEnd(position + OR.length());
+    }
+
+    /**
+     * Skips an {@code OR} keyword, if one follows.
+     *
+     * @return {@code true} if an {@code OR} was skipped.
+     */
+    private boolean skipOr() {
+        skipWhitespace();
+        if (atOr()) {
+            position += OR.length();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips whitespace at the current position.
+     */
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+}
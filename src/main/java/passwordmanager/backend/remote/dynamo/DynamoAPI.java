@@ -1,32 +1,42 @@
 package passwordmanager.backend.remote.dynamo;
 
 import passwordmanager.backend.DatabaseAPI;
+import passwordmanager.backend.EntryChangeListener;
 import passwordmanager.backend.EntryFields;
+import passwordmanager.backend.query.EntryQuery;
 import passwordmanager.model.Entry;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class DynamoAPI implements DatabaseAPI {
 
     @Override
-    public void newEntry(Entry entry) {
-
+    public boolean newEntry(Entry entry) {
+        return false;
     }
 
     @Override
-    public void modifyEntry(String title, EntryFields field, String newValue) {
-
+    public boolean newEntries(Collection<Entry> entries) {
+        return false;
     }
 
     @Override
-    public void removeEntry(String title) {
-
+    public boolean modifyEntry(String title, EntryFields field, String newValue) {
+        return false;
     }
 
     @Override
-    public void removeEntry(Entry entry) {
+    public boolean removeEntry(String title) {
+        return false;
+    }
 
+    @Override
+    public boolean removeEntry(Entry entry) {
+        return false;
     }
 
     @Override
@@ -39,6 +49,11 @@ public class DynamoAPI implements DatabaseAPI {
         return List.of();
     }
 
+    @Override
+    public Stream<Entry> streamAllEntries() {
+        return Stream.empty();
+    }
+
     @Override
     public List<String> getEntryTitles() {
         return List.of();
@@ -48,4 +63,34 @@ public class DynamoAPI implements DatabaseAPI {
     public Set<String> getGroups() {
         return Set.of();
     }
+
+    @Override
+    public Map<String, Integer> getCategoryCounts() {
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, Integer> getEmailDomainCounts() {
+        return Map.of();
+    }
+
+    @Override
+    public void addChangeListener(EntryChangeListener listener) {
+
+    }
+
+    @Override
+    public void removeChangeListener(EntryChangeListener listener) {
+
+    }
+
+    @Override
+    public List<Entry> search(String query, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public List<Entry> query(EntryQuery query) {
+        return List.of();
+    }
 }
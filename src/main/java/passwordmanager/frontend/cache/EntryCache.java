@@ -1,30 +1,54 @@
 package passwordmanager.frontend.cache;
 
 import passwordmanager.backend.DatabaseAPI;
+import passwordmanager.backend.EntryChangeEvent;
 import passwordmanager.backend.local.SQLLite.LocalAPI;
 import passwordmanager.model.Entry;
+import passwordmanager.model.EntrySortOrder;
 import passwordmanager.model.EntryTitleComparator;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The {@code EntryCache} class is a singleton that provides a cache for entries in the password manager application.
  * This class retrieves all entries from the database upon initialization and sorts them by title.
  * It also provides methods to access the cached entries.
  *
- * <p>This class ensures that the entries are fetched and sorted efficiently, and provides timing information for these operations.
+ * <p>Once loaded, the cache subscribes to the changes made through the database API and applies them as they
+ * are made, rather than reloading every entry. Changes delivered together, such as a bulk insert, are applied
+ * as one update. Entries are located by binary search on their title.
+ *
+ * <p>Alongside the sorted list, entries are indexed by title, so {@link #contains(String)} and {@link #get(String)}
+ * take constant time. The distinct emails, secondary emails and categories of the cached entries are maintained
+ * as reference counted maps, so choice boxes read them as sorted, read-only views without scanning the entries.
+ * The same counts give the number of entries in each category, and with each email domain, as facets.
+ * The entries can also be read in any {@link EntrySortOrder}, which the snapshot keeps sorted once it is read.
+ *
+ * <p>The cached entries are also indexed by the trigrams of their searchable fields in a {@link TrigramIndex},
+ * updated together with the snapshot, so substring searches do not need to check every entry. Likewise, a
+ * {@link FieldIndex} of the values of their fields answers the terms of entry queries, such as {@code category:Gaming},
+ * without checking every entry.
+ *
+ * <p>The cached entries are held in an immutable {@link EntrySnapshot}, published through a volatile field.
+ * Changes are made by a single writer at a time, which copies the current snapshot, applies the change and
+ * publishes the copy. Any number of threads can read without locking, and a reader holding a snapshot from
+ * {@link #getSnapshot()} keeps a consistent view of the entries while newer snapshots are published.
  *
  * <p>Usage example:
  * <pre>
  * {@code
  * EntryCache cache = EntryCache.getInstance();
- * ArrayList<Entry> entries = cache.getEntries();
+ * List<Entry> entries = cache.getEntries();
  * }
  * </pre>
  *
  * @see LocalAPI
  * @see Entry
+ * @see EntrySnapshot
+ * @see TrigramIndex
+ * @see FieldIndex
  * @see EntryTitleComparator
  */
 public class EntryCache {
@@ -32,11 +56,14 @@ public class EntryCache {
     // TODO: This class is not going to work whenever syncing between a local / remote database is needed
     // Changing from a singleton messes with some UI logic right now so for now we wait to change
 
-    private static DatabaseAPI dbapi = null;
+    private final DatabaseAPI dbapi;
 
-    private static EntryCache instance = null;
+    // The current snapshot, replaced as a whole on every change
+    private volatile EntrySnapshot snapshot = EntrySnapshot.EMPTY;
 
-    private List<Entry> entries = null;
+    // Updated in place by the same writers as the snapshot
+    private final TrigramIndex index = new TrigramIndex();
+    private final FieldIndex fieldIndex = new FieldIndex();
 
     /**
      * Private constructor to initialize the EntryCache.
@@ -44,6 +71,16 @@ public class EntryCache {
     private EntryCache() {
         dbapi = LocalAPI.getInstance();
         updateEntries();
+
+        // Keep the cache in sync with every write made through the database API
+        dbapi.addChangeListener(this::applyChanges);
+    }
+
+    /**
+     * Lazily creates the singleton instance the first time it is accessed, safely across threads.
+     */
+    private static class Holder {
+        private static final EntryCache INSTANCE = new EntryCache();
     }
 
     /**
@@ -52,30 +89,124 @@ public class EntryCache {
      * @return the singleton instance of the {@code EntryCache}.
      */
     public static EntryCache getInstance() {
-        if (instance == null) {
-            instance = new EntryCache();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
      * Loads all entries from the database and sorts them by title in the class's containing data structure.
      */
     public void updateEntries() {
-        if (entries != null) {
-            entries.clear();
-        }
-        entries = dbapi.getAllEntries();
-        entries.sort(new EntryTitleComparator());
+        setEntries(dbapi.getAllEntries());
+    }
+
+    /**
+     * Replaces the cached entries with the given entries, sorted by title. This allows the entries to be
+     * loaded from the database off the JavaFX application thread, such as with {@code AsyncDatabaseAPI}.
+     *
+     * @param entries all entries in the database.
+     */
+    public synchronized void setEntries(List<Entry> entries) {
+        index.setEntries(entries);
+        fieldIndex.setEntries(entries);
+        snapshot = EntrySnapshot.of(entries);
+    }
+
+    /**
+     * Applies changes made to the database, publishing a single new snapshot for all of them.
+     *
+     * @param events the changes, in the order they were made.
+     */
+    public synchronized void applyChanges(List<EntryChangeEvent> events) {
+        index.applyChanges(events);
+        fieldIndex.applyChanges(events);
+        snapshot = snapshot.withChanges(events);
+    }
+
+    /**
+     * Adds a newly created entry to the cache at its sorted position. If an entry with the same title is
+     * already cached, it is replaced instead.
+     *
+     * @param entry the entry added to the database.
+     */
+    public synchronized void addEntry(Entry entry) {
+        index.addEntry(entry);
+        fieldIndex.addEntry(entry);
+        snapshot = snapshot.withEntry(entry);
+    }
+
+    /**
+     * Replaces the cached entry with the same title as the given, modified entry. As titles cannot change,
+     * the entry keeps its position. If no entry with the title is cached, the entry is added.
+     *
+     * @param entry the entry modified in the database.
+     */
+    public void updateEntry(Entry entry) {
+        addEntry(entry);
+    }
+
+    /**
+     * Removes the entry with the given title from the cache.
+     *
+     * @param title the title of the entry removed from the database.
+     * @return {@code true} if an entry was removed, {@code false} if no entry with the title was cached.
+     */
+    public synchronized boolean removeEntry(String title) {
+        index.removeEntry(title);
+        fieldIndex.removeEntry(title);
+        EntrySnapshot current = snapshot;
+        EntrySnapshot updated = current.withoutEntry(title);
+        snapshot = updated;
+        return updated != current;
+    }
+
+    /**
+     * Returns the current snapshot of the cached entries. Read several values from the same snapshot when they
+     * need to be consistent with each other.
+     *
+     * @return the current {@code EntrySnapshot}.
+     */
+    public EntrySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the trigram index of the cached entries. The index is updated in place, so it may already reflect
+     * changes newer than a snapshot taken earlier; check matches against the snapshot when both are used.
+     *
+     * @return the {@code TrigramIndex} of the cached entries.
+     */
+    public TrigramIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the field index of the cached entries. Like the trigram index, it is updated in place and may
+     * already reflect changes newer than a snapshot taken earlier.
+     *
+     * @return the {@code FieldIndex} of the cached entries.
+     */
+    public FieldIndex getFieldIndex() {
+        return fieldIndex;
     }
 
     /**
      * Returns the list of cached entries.
      *
-     * @return a {@code List} containing the cached entries.
+     * @return a read-only {@code List} containing the cached entries of the current snapshot.
      */
     public List<Entry> getEntries() {
-        return entries;
+        return snapshot.getEntries();
+    }
+
+    /**
+     * Returns the list of cached entries in a sort order.
+     *
+     * @param order the order of the entries.
+     * @return a read-only {@code List} containing the cached entries of the current snapshot, sorted in the order.
+     * @see EntrySnapshot#getEntries(EntrySortOrder)
+     */
+    public List<Entry> getEntries(EntrySortOrder order) {
+        return snapshot.getEntries(order);
     }
 
     /**
@@ -85,29 +216,63 @@ public class EntryCache {
      * @return {@code true} if the entry already exists, {@code false} otherwise.
      */
     public boolean contains(String title) {
-        for (Entry entry : entries) {
-            if (entry.getTitle().equals(title)) {
-                return true;
-            }
-        }
-        return false;
+        return snapshot.contains(title);
+    }
+
+    /**
+     * Returns the cached entry with the supplied title.
+     *
+     * @param title the title of the entry to retrieve.
+     * @return the {@code Entry} with the title, or {@code null} if no such entry is cached.
+     */
+    public Entry get(String title) {
+        return snapshot.get(title);
     }
 
     /**
-     * Returns the list of unique emails in the cached entries.
+     * Returns the unique emails in the cached entries.
      *
-     * @return a {@code List} of unique emails in the cached entries.
+     * @return a sorted, read-only view of the unique, non-blank emails in the cached entries.
      */
-    public List<String> getUniqueEmails() {
+    public Set<String> getUniqueEmails() {
+        return snapshot.getUniqueEmails();
+    }
 
-        // TODO: I feel like this is not an efficient place to do this
+    /**
+     * Returns the unique secondary emails in the cached entries.
+     *
+     * @return a sorted, read-only view of the unique, non-blank secondary emails in the cached entries.
+     */
+    public Set<String> getUniqueSecondaryEmails() {
+        return snapshot.getUniqueSecondaryEmails();
+    }
 
-        List<String> emails = new ArrayList<>();
-        for (Entry entry : entries) {
-            if (!emails.contains(entry.getEmail())) {
-                emails.add(entry.getEmail());
-            }
-        }
-        return emails;
+    /**
+     * Returns the unique categories in the cached entries.
+     *
+     * @return a sorted, read-only view of the unique, non-blank categories in the cached entries.
+     */
+    public Set<String> getUniqueCategories() {
+        return snapshot.getUniqueCategories();
+    }
+
+    /**
+     * Returns the number of cached entries in each category.
+     *
+     * @return a sorted, read-only view of the unique, non-blank categories, mapped to the number of entries in each.
+     */
+    public Map<String, Integer> getCategoryCounts() {
+        return snapshot.getCategoryCounts();
+    }
+
+    /**
+     * Returns the number of cached entries using each email domain.
+     *
+     * @return a sorted, read-only view of the unique, lowercased email domains, mapped to the number of entries
+     *         using each.
+     * @see EntrySnapshot#getEmailDomainCounts()
+     */
+    public Map<String, Integer> getEmailDomainCounts() {
+        return snapshot.getEmailDomainCounts();
     }
 }
@@ -0,0 +1,427 @@
+package passwordmanager.frontend.cache;
+
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryFacets;
+import passwordmanager.model.EntrySortOrder;
+import passwordmanager.model.EntryTitleComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code EntrySnapshot} class is an immutable view of every cached entry at one point in time, as published
+ * by the {@link EntryCache}. It holds the entries sorted by title, an index of the entries by title, and the
+ * distinct emails, secondary emails, categories and email domains of the entries along with the number of entries
+ * using each. The counts are adjusted as entries are added and removed rather than recounted, so facets such as
+ * the number of entries in each category are read without scanning the entries.
+ *
+ * <p>The entries can also be read in any {@link EntrySortOrder} with {@link #getEntries(EntrySortOrder)}. Each order
+ * is sorted the first time it is read, and from then on kept sorted as entries are added and removed, each change
+ * placing the entry by binary search, so switching between orders does not sort the whole snapshot again.
+ *
+ * <p>A snapshot is never modified once created. Changes are made by copying it with {@link #withEntry(Entry)} or
+ * {@link #withoutEntry(String)}, so a snapshot can be read by any number of threads without locking while newer
+ * snapshots are built. Only the snapshot's structure is immutable; the {@code Entry} objects it holds are shared.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * EntrySnapshot snapshot = EntryCache.getInstance().getSnapshot();
+ * for (Entry entry : snapshot.getEntries()) {
+ *     // Every entry of the same, consistent snapshot
+ * }
+ * }
+ * </pre>
+ *
+ * @see EntryCache
+ */
+public final class EntrySnapshot {
+
+    /**
+     * A snapshot without any entries.
+     */
+    public static final EntrySnapshot EMPTY = of(List.of());
+
+    // Orders the entries, titles are unique so it also identifies an entry
+    private static final EntryTitleComparator titleComparator = new EntryTitleComparator();
+
+    private final List<Entry> entries;
+    private final Map<String, Entry> entriesByTitle;
+
+    // Distinct field values, mapped to the number of entries using them
+    private final TreeMap<String, Integer> emailCounts;
+    private final TreeMap<String, Integer> secondaryEmailCounts;
+    private final TreeMap<String, Integer> categoryCounts;
+    private final TreeMap<String, Integer> emailDomainCounts;
+
+    // The entries in each sort order, by ordinal, or null for orders not yet read
+    private final AtomicReferenceArray<List<Entry>> sortedEntries;
+
+    /**
+     * Constructs a snapshot taking ownership of the given structures, which must not be modified afterwards.
+     */
+    private EntrySnapshot(List<Entry> entries, Map<String, Entry> entriesByTitle, TreeMap<String, Integer> emailCounts,
+                          TreeMap<String, Integer> secondaryEmailCounts, TreeMap<String, Integer> categoryCounts,
+                          TreeMap<String, Integer> emailDomainCounts, AtomicReferenceArray<List<Entry>> sortedEntries) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.entriesByTitle = entriesByTitle;
+        this.emailCounts = emailCounts;
+        this.secondaryEmailCounts = secondaryEmailCounts;
+        this.categoryCounts = categoryCounts;
+        this.emailDomainCounts = emailDomainCounts;
+        this.sortedEntries = sortedEntries;
+    }
+
+    /**
+     * Creates a snapshot of the given entries, sorted by title. The entries are sorted with
+     * {@link Arrays#parallelSort(Object[], java.util.Comparator)}, which sorts large vaults on several threads and
+     * smaller ones sequentially.
+     *
+     * @param entries the entries of the snapshot.
+     * @return a new {@code EntrySnapshot}.
+     */
+    public static EntrySnapshot of(Collection<Entry> entries) {
+        Entry[] array = entries.toArray(new Entry[0]);
+        Arrays.parallelSort(array, titleComparator);
+        List<Entry> sorted = new ArrayList<>(Arrays.asList(array));
+
+        Map<String, Entry> byTitle = new HashMap<>();
+        TreeMap<String, Integer> emails = new TreeMap<>();
+        TreeMap<String, Integer> secondaryEmails = new TreeMap<>();
+        TreeMap<String, Integer> categories = new TreeMap<>();
+        TreeMap<String, Integer> domains = new TreeMap<>();
+        for (Entry entry : sorted) {
+            byTitle.put(entry.getTitle(), entry);
+            countValues(entry, 1, emails, secondaryEmails, categories, domains);
+        }
+
+        return new EntrySnapshot(sorted, byTitle, emails, secondaryEmails, categories, domains, noSortedEntries());
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given entry added at its sorted position, replacing any entry
+     * with the same title. Entries are located by binary search on their title.
+     *
+     * @param entry the entry to add or replace.
+     * @return a new {@code EntrySnapshot} containing the entry.
+     */
+    public EntrySnapshot withEntry(Entry entry) {
+        List<Entry> newEntries = new ArrayList<>(entries);
+        Map<String, Entry> newByTitle = new HashMap<>(entriesByTitle);
+        TreeMap<String, Integer> emails = new TreeMap<>(emailCounts);
+        TreeMap<String, Integer> secondaryEmails = new TreeMap<>(secondaryEmailCounts);
+        TreeMap<String, Integer> categories = new TreeMap<>(categoryCounts);
+        TreeMap<String, Integer> domains = new TreeMap<>(emailDomainCounts);
+
+        int index = Collections.binarySearch(newEntries, entry, titleComparator);
+        Entry replaced = null;
+        if (index >= 0) {
+            replaced = newEntries.set(index, entry);
+            countValues(replaced, -1, emails, secondaryEmails, categories, domains);
+        } else {
+            newEntries.add(-index - 1, entry);
+        }
+        newByTitle.put(entry.getTitle(), entry);
+        countValues(entry, 1, emails, secondaryEmails, categories, domains);
+
+        return new EntrySnapshot(newEntries, newByTitle, emails, secondaryEmails, categories, domains,
+                changeSortedEntries(replaced, entry));
+    }
+
+    /**
+     * Returns a copy of this snapshot without the entry with the given title.
+     *
+     * @param title the title of the entry to remove.
+     * @return a new {@code EntrySnapshot} without the entry, or this snapshot if it has no entry with the title.
+     */
+    public EntrySnapshot withoutEntry(String title) {
+        if (!entriesByTitle.containsKey(title)) {
+            return this;
+        }
+
+        List<Entry> newEntries = new ArrayList<>(entries);
+        Map<String, Entry> newByTitle = new HashMap<>(entriesByTitle);
+        TreeMap<String, Integer> emails = new TreeMap<>(emailCounts);
+        TreeMap<String, Integer> secondaryEmails = new TreeMap<>(secondaryEmailCounts);
+        TreeMap<String, Integer> categories = new TreeMap<>(categoryCounts);
+        TreeMap<String, Integer> domains = new TreeMap<>(emailDomainCounts);
+
+        int index = Collections.binarySearch(newEntries, new Entry(title), titleComparator);
+        Entry removed = newEntries.remove(index);
+        countValues(removed, -1, emails, secondaryEmails, categories, domains);
+        newByTitle.remove(title);
+
+        return new EntrySnapshot(newEntries, newByTitle, emails, secondaryEmails, categories, domains,
+                changeSortedEntries(removed, null));
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given changes applied in order. A single change is applied by
+     * {@link #withEntry(Entry)} or {@link #withoutEntry(String)}, while several changes, such as those of a bulk
+     * insert, are applied to a working copy of the entries which is then sorted once.
+     *
+     * @param events the changes to apply.
+     * @return a new {@code EntrySnapshot} with the changes applied, or this snapshot if there are none.
+     */
+    public EntrySnapshot withChanges(List<EntryChangeEvent> events) {
+        if (events.isEmpty()) {
+            return this;
+        }
+        if (events.size() == 1) {
+            return withChange(events.get(0));
+        }
+
+        Map<String, Entry> working = new LinkedHashMap<>(entriesByTitle);
+        for (EntryChangeEvent event : events) {
+            if (event.type() == EntryChangeEvent.Type.REMOVED) {
+                working.remove(event.title());
+            } else {
+                working.put(event.title(), event.entry());
+            }
+        }
+        return of(working.values());
+    }
+
+    /**
+     * Returns a copy of this snapshot with a single change applied.
+     *
+     * @param event the change to apply.
+     * @return a new {@code EntrySnapshot} with the change applied.
+     */
+    private EntrySnapshot withChange(EntryChangeEvent event) {
+        return switch (event.type()) {
+            case ADDED, MODIFIED -> withEntry(event.entry());
+            case REMOVED -> withoutEntry(event.title());
+        };
+    }
+
+    /**
+     * Returns the entries of this snapshot.
+     *
+     * @return a read-only {@code List} of the entries, sorted by title.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the entries of this snapshot in a sort order. The first time an order is read it is sorted, and
+     * later snapshots keep it sorted as entries change.
+     *
+     * @param order the order of the entries.
+     * @return a read-only {@code List} of the entries, sorted in the order.
+     */
+    public List<Entry> getEntries(EntrySortOrder order) {
+        // Racing threads can only sort the same entries into equal lists, so no locking is needed
+        List<Entry> sorted = sortedEntries.get(order.ordinal());
+        if (sorted == null) {
+            Entry[] array = entries.toArray(new Entry[0]);
+            Arrays.parallelSort(array, order.comparator());
+            sorted = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(array)));
+            sortedEntries.compareAndSet(order.ordinal(), null, sorted);
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns entries, such as search results, in a sort order. The entries of this snapshot are returned as the
+     * already sorted {@link #getEntries(EntrySortOrder)}, while any other entries are sorted.
+     *
+     * @param entries the entries to sort, such as a subset of this snapshot. Not modified.
+     * @param order the order of the entries.
+     * @return a read-only {@code List} of the entries, sorted in the order.
+     */
+    public List<Entry> sort(List<Entry> entries, EntrySortOrder order) {
+        if (entries == this.entries) {
+            return getEntries(order);
+        }
+        Entry[] array = entries.toArray(new Entry[0]);
+        Arrays.parallelSort(array, order.comparator());
+        return Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    /**
+     * Returns the number of entries in this snapshot.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns whether this snapshot has an entry with the given title.
+     *
+     * @param title the title of the entry to check.
+     * @return {@code true} if the entry exists, {@code false} otherwise.
+     */
+    public boolean contains(String title) {
+        return entriesByTitle.containsKey(title);
+    }
+
+    /**
+     * Returns the entry with the given title.
+     *
+     * @param title the title of the entry to retrieve.
+     * @return the {@code Entry} with the title, or {@code null} if this snapshot has no such entry.
+     */
+    public Entry get(String title) {
+        return entriesByTitle.get(title);
+    }
+
+    /**
+     * Returns the unique emails of the entries.
+     *
+     * @return a sorted, read-only view of the unique, non-blank emails.
+     */
+    public Set<String> getUniqueEmails() {
+        return Collections.unmodifiableSet(emailCounts.keySet());
+    }
+
+    /**
+     * Returns the unique secondary emails of the entries.
+     *
+     * @return a sorted, read-only view of the unique, non-blank secondary emails.
+     */
+    public Set<String> getUniqueSecondaryEmails() {
+        return Collections.unmodifiableSet(secondaryEmailCounts.keySet());
+    }
+
+    /**
+     * Returns the unique categories of the entries.
+     *
+     * @return a sorted, read-only view of the unique, non-blank categories, without surrounding whitespace.
+     */
+    public Set<String> getUniqueCategories() {
+        return Collections.unmodifiableSet(categoryCounts.keySet());
+    }
+
+    /**
+     * Returns the number of entries in each category, as normalized by {@link EntryFacets#category(String)}.
+     *
+     * @return a sorted, read-only view of the unique, non-blank categories, mapped to the number of entries in each.
+     */
+    public Map<String, Integer> getCategoryCounts() {
+        return Collections.unmodifiableMap(categoryCounts);
+    }
+
+    /**
+     * Returns the number of entries using each email domain, the part of their email after the first {@code @},
+     * as normalized by {@link EntryFacets#emailDomain(String)}.
+     *
+     * @return a sorted, read-only view of the unique, non-blank email domains, mapped to the number of entries
+     *         using each.
+     */
+    public Map<String, Integer> getEmailDomainCounts() {
+        return Collections.unmodifiableMap(emailDomainCounts);
+    }
+
+    /**
+     * Returns the sort orders of a new snapshot, none of which has been read.
+     *
+     * @return an array with no sorted entries.
+     */
+    private static AtomicReferenceArray<List<Entry>> noSortedEntries() {
+        return new AtomicReferenceArray<>(EntrySortOrder.values().length);
+    }
+
+    /**
+     * Copies the sort orders read from this snapshot with an entry removed and another added, each placed by
+     * binary search. Orders not yet read are left to be sorted when first read.
+     *
+     * @param removed the entry to remove, or {@code null}.
+     * @param added the entry to add, or {@code null}.
+     * @return the sort orders of the changed snapshot.
+     */
+    private AtomicReferenceArray<List<Entry>> changeSortedEntries(Entry removed, Entry added) {
+        AtomicReferenceArray<List<Entry>> changed = noSortedEntries();
+        for (EntrySortOrder order : EntrySortOrder.values()) {
+            List<Entry> sorted = sortedEntries.get(order.ordinal());
+            if (sorted == null) {
+                continue;
+            }
+
+            List<Entry> copy = new ArrayList<>(sorted);
+            if (removed != null) {
+                copy.remove(indexOf(copy, removed, order));
+            }
+            if (added != null) {
+                int index = Collections.binarySearch(copy, added, order.comparator());
+                copy.add(index < 0 ? -index - 1 : index, added);
+            }
+            changed.set(order.ordinal(), Collections.unmodifiableList(copy));
+        }
+        return changed;
+    }
+
+    /**
+     * Finds an entry in a sort order by binary search. An entry modified in place since it was sorted may no
+     * longer be where its values place it, and is then found by scanning.
+     *
+     * @param sorted the entries in the order.
+     * @param entry the entry to find, compared by identity.
+     * @param order the order of the entries.
+     * @return the index of the entry.
+     */
+    private static int indexOf(List<Entry> sorted, Entry entry, EntrySortOrder order) {
+        int index = Collections.binarySearch(sorted, entry, order.comparator());
+        if (index >= 0 && sorted.get(index) == entry) {
+            return index;
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            if (sorted.get(i) == entry) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Entry not found in sort order " + order + ": " + entry.getTitle());
+    }
+
+    /**
+     * Adjusts the reference counts of an entry's email, secondary email, category and email domain.
+     *
+     * @param entry the entry whose values are counted.
+     * @param delta {@code 1} when the entry is added, {@code -1} when it is removed.
+     */
+    private static void countValues(Entry entry, int delta, Map<String, Integer> emails,
+                                    Map<String, Integer> secondaryEmails, Map<String, Integer> categories,
+                                    Map<String, Integer> domains) {
+        count(emails, nonBlank(entry.getEmail()), delta);
+        count(secondaryEmails, nonBlank(entry.getSecondaryEmail()), delta);
+        count(categories, EntryFacets.category(entry.getCategory()), delta);
+        count(domains, EntryFacets.emailDomain(entry.getEmail()), delta);
+    }
+
+    /**
+     * Adjusts the reference count of a single value, removing it once no entry uses it.
+     *
+     * @param counts the reference counts to adjust.
+     * @param value the value to count, or {@code null} if it is not counted.
+     * @param delta the change in the number of entries using the value.
+     */
+    private static void count(Map<String, Integer> counts, String value, int delta) {
+        if (value == null) {
+            return;
+        }
+        counts.merge(value, delta, (count, change) -> count + change == 0 ? null : count + change);
+    }
+
+    /**
+     * Returns a value to count, unless it is blank.
+     *
+     * @param value the value, or {@code null}.
+     * @return the value, or {@code null} if it is {@code null} or blank.
+     */
+    private static String nonBlank(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,349 @@
+package passwordmanager.frontend.cache;
+
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.backend.EntryFields;
+import passwordmanager.backend.query.EntryQuery;
+import passwordmanager.model.AsciiCase;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryFacets;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The {@code FieldIndex} class indexes entries by the values of the fields an {@link EntryQuery} compares, so
+ * the terms of a query are answered without checking every entry.
+ *
+ * <p>The title, email, username, link and category of the entries are each kept in a sorted map from value to the
+ * entries with it, ordered ignoring the case of ASCII letters as {@link EntryQuery.Equals} and
+ * {@link EntryQuery.StartsWith} compare.
+ * An equality is a single lookup, and a prefix the range of values starting with it. The dates an entry was
+ * created and last modified are kept the same way, so a {@link EntryQuery.DateRange} is a range of the map.
+ * Entries without a value for a field are not indexed for it. Entries are also kept by the group they are counted
+ * under, their category as {@link EntryFacets#category(String)} normalizes it, for {@link EntryQuery.InGroup}.
+ *
+ * <p>The index is updated in place as entries change, rather than rebuilt. Each entry is removed with the values
+ * it was indexed with, so entries modified afterwards are still removed completely. Updates take a write lock
+ * and lookups a read lock, so any number of lookups can run at once.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * FieldIndex index = EntryCache.getInstance().getFieldIndex();
+ * List<Entry> gaming = index.equalTo(EntryFields.CATEGORY, "gaming");
+ * List<Entry> recent = index.between(EntryFields.DATE_MODIFIED, LocalDate.of(2025, 1, 2).atStartOfDay(), null);
+ * }
+ * </pre>
+ *
+ * @see EntryCache
+ * @see EntryQuery
+ */
+public class FieldIndex {
+
+    // Text fields compared by field terms, and the dates compared by date terms
+    private static final EntryFields[] TEXT_FIELDS = {EntryFields.TITLE, EntryFields.EMAIL, EntryFields.USERNAME,
+            EntryFields.LINK, EntryFields.CATEGORY};
+    private static final EntryFields[] DATE_FIELDS = {EntryFields.DATE_CREATED, EntryFields.DATE_MODIFIED};
+
+    /**
+     * An indexed entry and the values it was indexed with, in the order of {@link #TEXT_FIELDS} and
+     * {@link #DATE_FIELDS}, and the group it was indexed under.
+     */
+    private record IndexedEntry(Entry entry, String[] texts, String group, LocalDateTime[] dates) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<EntryFields, TreeMap<String, Set<Entry>>> entriesByText = new EnumMap<>(EntryFields.class);
+    private final Map<EntryFields, TreeMap<LocalDateTime, Set<Entry>>> entriesByDate = new EnumMap<>(EntryFields.class);
+    private final Map<String, Set<Entry>> entriesByGroup = new HashMap<>();
+    private final Map<String, IndexedEntry> indexedByTitle = new HashMap<>();
+
+    /**
+     * Constructs an empty index.
+     */
+    public FieldIndex() {
+        for (EntryFields field : TEXT_FIELDS) {
+            entriesByText.put(field, new TreeMap<>(AsciiCase.ORDER));
+        }
+        for (EntryFields field : DATE_FIELDS) {
+            entriesByDate.put(field, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Replaces the indexed entries with the given entries.
+     *
+     * @param entries all entries to index.
+     */
+    public void setEntries(Collection<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            entriesByText.values().forEach(Map::clear);
+            entriesByDate.values().forEach(Map::clear);
+            entriesByGroup.clear();
+            indexedByTitle.clear();
+
+            for (Entry entry : entries) {
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies changes made to the database to the index.
+     *
+     * @param events the changes, in the order they were made.
+     */
+    public void applyChanges(List<EntryChangeEvent> events) {
+        lock.writeLock().lock();
+        try {
+            for (EntryChangeEvent event : events) {
+                switch (event.type()) {
+                    case ADDED, MODIFIED -> add(event.entry());
+                    case REMOVED -> remove(event.title());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes an entry, replacing the indexed entry with the same title if there is one.
+     *
+     * @param entry the entry to index.
+     */
+    public void addEntry(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the entry with the given title from the index.
+     *
+     * @param title the title of the entry to remove.
+     * @return {@code true} if an entry was removed, {@code false} if no entry with the title was indexed.
+     */
+    public boolean removeEntry(String title) {
+        lock.writeLock().lock();
+        try {
+            return remove(title);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries whose field equals a value, ignoring case.
+     *
+     * @param field the title, email, username, link or category.
+     * @param value the value to find.
+     * @return the entries with the value, in no particular order.
+     */
+    public List<Entry> equalTo(EntryFields field, String value) {
+        lock.readLock().lock();
+        try {
+            Set<Entry> entries = textsOf(field).get(value);
+            return entries == null ? new ArrayList<>() : new ArrayList<>(entries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries whose field starts with a prefix, ignoring case.
+     *
+     * @param field the title, email, username, link or category.
+     * @param prefix the prefix to find.
+     * @return the entries with a value starting with the prefix, in no particular order.
+     */
+    public List<Entry> startingWith(EntryFields field, String prefix) {
+        lock.readLock().lock();
+        try {
+            // Every value starting with the prefix sorts between it and the prefix followed by the last character
+            return collect(textsOf(field).subMap(prefix, true, prefix + Character.MAX_VALUE, false));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries counted under a group.
+     *
+     * @param group the group, as counted.
+     * @return the entries in the group, in no particular order.
+     */
+    public List<Entry> inGroup(String group) {
+        lock.readLock().lock();
+        try {
+            Set<Entry> entries = entriesByGroup.get(group);
+            return entries == null ? new ArrayList<>() : new ArrayList<>(entries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entries whose date field falls within a range.
+     *
+     * @param field the date created or date modified.
+     * @param from the earliest time to find, inclusive, or {@code null} for no lower bound.
+     * @param until the time after the latest to find, exclusive, or {@code null} for no upper bound.
+     * @return the entries with a date in the range, in no particular order.
+     */
+    public List<Entry> between(EntryFields field, LocalDateTime from, LocalDateTime until) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Set<Entry>> dates = entriesByDate.get(field);
+            if (dates == null) {
+                throw new IllegalArgumentException("Invalid field: " + field);
+            }
+            if (from != null) {
+                dates = dates.tailMap(from, true);
+            }
+            if (until != null) {
+                dates = dates.headMap(until, false);
+            }
+            return collect(dates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedByTitle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the index of a text field.
+     *
+     * @param field the title, email, username, link or category.
+     * @return the entries by value of the field.
+     * @throws IllegalArgumentException if the field is not an indexed text field.
+     */
+    private TreeMap<String, Set<Entry>> textsOf(EntryFields field) {
+        TreeMap<String, Set<Entry>> texts = entriesByText.get(field);
+        if (texts == null) {
+            throw new IllegalArgumentException("Invalid field: " + field);
+        }
+        return texts;
+    }
+
+    /**
+     * Collects the entries of a range of an index.
+     *
+     * @param range the range of values.
+     * @return the entries with any of the values.
+     */
+    private static List<Entry> collect(Map<?, Set<Entry>> range) {
+        List<Entry> entries = new ArrayList<>();
+        for (Set<Entry> withValue : range.values()) {
+            entries.addAll(withValue);
+        }
+        return entries;
+    }
+
+    /**
+     * Indexes an entry under its current values, replacing the indexed entry with the same title.
+     *
+     * @param entry the entry to index.
+     */
+    private void add(Entry entry) {
+        remove(entry.getTitle());
+
+        String[] texts = {entry.getTitle(), entry.getEmail(), entry.getUsername(), entry.getLink(), entry.getCategory()};
+        LocalDateTime[] dates = {toLocalDateTime(entry.getDateCreated()), toLocalDateTime(entry.getDateModified())};
+        for (int i = 0; i < TEXT_FIELDS.length; i++) {
+            if (texts[i] != null) {
+                entriesByText.get(TEXT_FIELDS[i]).computeIfAbsent(texts[i], value -> new HashSet<>()).add(entry);
+            }
+        }
+        for (int i = 0; i < DATE_FIELDS.length; i++) {
+            if (dates[i] != null) {
+                entriesByDate.get(DATE_FIELDS[i]).computeIfAbsent(dates[i], value -> new HashSet<>()).add(entry);
+            }
+        }
+        String group = EntryFacets.category(entry.getCategory());
+        if (group != null) {
+            entriesByGroup.computeIfAbsent(group, value -> new HashSet<>()).add(entry);
+        }
+        indexedByTitle.put(entry.getTitle(), new IndexedEntry(entry, texts, group, dates));
+    }
+
+    /**
+     * Removes the entry with the given title from the index, under the values it was indexed with.
+     *
+     * @param title the title of the entry to remove.
+     * @return {@code true} if an entry was removed.
+     */
+    private boolean remove(String title) {
+        IndexedEntry indexed = indexedByTitle.remove(title);
+        if (indexed == null) {
+            return false;
+        }
+
+        for (int i = 0; i < TEXT_FIELDS.length; i++) {
+            removeValue(entriesByText.get(TEXT_FIELDS[i]), indexed.texts()[i], indexed.entry());
+        }
+        for (int i = 0; i < DATE_FIELDS.length; i++) {
+            removeValue(entriesByDate.get(DATE_FIELDS[i]), indexed.dates()[i], indexed.entry());
+        }
+        removeValue(entriesByGroup, indexed.group(), indexed.entry());
+        return true;
+    }
+
+    /**
+     * Removes an entry from the entries with a value, dropping the value once no entry has it.
+     *
+     * @param index the index of a field.
+     * @param value the value the entry was indexed with, or {@code null} if it was not indexed.
+     * @param entry the entry to remove.
+     * @param <K> the type of the values.
+     */
+    private static <K> void removeValue(Map<K, Set<Entry>> index, K value, Entry entry) {
+        if (value == null) {
+            return;
+        }
+        Set<Entry> entries = index.get(value);
+        if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+            index.remove(value);
+        }
+    }
+
+    /**
+     * Converts a timestamp into the time it shows, as {@link EntryQuery.DateRange} compares it.
+     *
+     * @param timestamp the timestamp, or {@code null}.
+     * @return the time of the timestamp, or {@code null}.
+     */
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
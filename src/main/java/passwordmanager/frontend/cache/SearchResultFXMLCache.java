@@ -2,30 +2,40 @@ package passwordmanager.frontend.cache;
 
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
+import passwordmanager.app.ApplicationSettings;
 import passwordmanager.frontend.controller.SearchResultController;
+import passwordmanager.frontend.controller.SearchResultView;
 import passwordmanager.model.Entry;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.logging.Logger;
 
 /**
- * The {@code SearchResultFXMLCache} class is a singleton that provides a cache for search results in the password manager application.
- * This class loads and caches search results as JavaFX nodes upon initialization and provides methods to access and refresh the cached results.
+ * The {@code SearchResultFXMLCache} class is a singleton that provides a pool of loaded search result nodes in the
+ * password manager application. Search results are displayed in a virtualized list, which only needs a node for
+ * each visible row and reuses them as the list scrolls, showing a different {@link Entry} in each.
  *
- * <p>This class ensures that the search results are loaded efficiently and provides logging information for these operations.
+ * <p>A small number of nodes are loaded upon startup with {@link #preload(int)}, so the first rows are shown
+ * without waiting on {@code SearchResult.fxml} to be parsed. A few more can be loaded in the background with
+ * {@link #preloadInBackground(int, int)}, ahead of the list growing or scrolling quickly. Any further nodes
+ * are loaded on demand.
+ *
+ * <p>Nodes are loaded from {@code SearchResult.fxml} in {@code GUIMode.FXML}, and built in code by
+ * {@link SearchResultView} in {@code GUIMode.PROGRAMMATIC}, which skips FXML parsing altogether.
  *
  * <p>Usage example:
  * <pre>
  * {@code
  * SearchResultFXMLCache cache = SearchResultFXMLCache.getInstance();
- * List<Node> searchResults = cache.getSearchResults();
+ * SearchResultFXMLCache.LoadedSearchResult searchResult = cache.acquire();
+ * searchResult.controller().setEntry(entry);
  * }
  * </pre>
  *
- * @see EntryCache
- * @see Entry
+ * @see passwordmanager.frontend.component.SearchResultCell
  * @see SearchResultController
  */
 public class SearchResultFXMLCache {
@@ -36,8 +46,20 @@ public class SearchResultFXMLCache {
     // Singleton instance
     private static SearchResultFXMLCache instance = null;
 
-    // Cached list of search results
-    private List<Node> searchResults = new ArrayList<>();
+    // Location of the search result layout, resolved once
+    private static final URL SEARCH_RESULT_FXML = SearchResultFXMLCache.class.getResource("/fxml/SearchResult.fxml");
+
+    // Loaded search results not yet handed out
+    private final Deque<LoadedSearchResult> pool = new ArrayDeque<>();
+
+    /**
+     * A search result node together with the controller used to show an entry in it.
+     *
+     * @param root the root node of the search result.
+     * @param controller the controller of the search result.
+     */
+    public record LoadedSearchResult(Node root, SearchResultController controller) {
+    }
 
     /**
      * Returns the singleton instance of the {@code SearchResultFXMLCache} class.
@@ -53,45 +75,85 @@ public class SearchResultFXMLCache {
     }
 
     /**
-     * Loads the search result cache. This method should be called on app startup or when the cache needs to be refreshed.
+     * Loads search results into the pool ahead of time. This method should be called on app startup with
+     * roughly the number of rows visible at once.
+     *
+     * @param count the number of search results to load.
      */
-    public void loadSearchResults() {
-        logger.info("Initializing search result cache");
-
-        // Get all entries from the database and build cache
-        List<Entry> entries = EntryCache.getInstance().getEntries();
-        for (Entry entry : entries) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/SearchResult.fxml"));
-                Node searchResult = loader.load();
-                SearchResultController controller = loader.getController();
-                controller.setEntry(entry);
-
-                // Embed entry data in node for later access (filtering in MainWindowController)
-                searchResult.setUserData(entry);
-
-                searchResults.add(searchResult);
-            } catch (IOException e) {
-                logger.severe("Failed to load SearchResult.fxml: " + e.getMessage());
+    public synchronized void preload(int count) {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < count; i++) {
+            LoadedSearchResult searchResult = load();
+            if (searchResult != null) {
+                pool.push(searchResult);
             }
         }
+
+        logger.info("Preloaded " + pool.size() + " search results in " + (System.nanoTime() - start) / 1_000_000 + " ms");
     }
 
     /**
-     * Refreshes the search results cache.
+     * Loads search results into the pool on a background thread, in batches so that search results handed out
+     * in the meantime are not held up for the whole preload. Nodes may be built off the JavaFX application thread
+     * as they are not yet part of a scene.
+     *
+     * @param count the number of search results to load.
+     * @param batchSize the number of search results loaded between each handover to the pool.
      */
-    public void refreshSearchResults() {
-        logger.info("Refreshing search result cache");
-        searchResults.clear();
-        loadSearchResults();
+    public void preloadInBackground(int count, int batchSize) {
+        Thread.ofVirtual().name("search-result-preload").start(() -> {
+            long start = System.nanoTime();
+
+            int loaded = 0;
+            while (loaded < count) {
+                int batch = Math.min(batchSize, count - loaded);
+
+                Deque<LoadedSearchResult> batchResults = new ArrayDeque<>(batch);
+                for (int i = 0; i < batch; i++) {
+                    LoadedSearchResult searchResult = load();
+                    if (searchResult != null) {
+                        batchResults.push(searchResult);
+                    }
+                }
+                synchronized (this) {
+                    pool.addAll(batchResults);
+                }
+                loaded += batch;
+            }
+
+            logger.info("Preloaded " + count + " search results in the background in " +
+                    (System.nanoTime() - start) / 1_000_000 + " ms");
+        });
     }
 
     /**
-     * Returns the list of cached search results.
+     * Hands out a loaded search result from the pool, loading a new one if the pool is empty.
      *
-     * @return a {@code List} containing the cached search results.
+     * @return a {@code LoadedSearchResult}, or {@code null} if {@code SearchResult.fxml} could not be loaded.
      */
-    public List<Node> getSearchResults() {
-        return searchResults;
+    public synchronized LoadedSearchResult acquire() {
+        LoadedSearchResult searchResult = pool.poll();
+        return searchResult != null ? searchResult : load();
+    }
+
+    /**
+     * Loads a new search result, built according to the GUI mode selected in {@link ApplicationSettings}.
+     *
+     * @return the {@code LoadedSearchResult}, or {@code null} if it could not be loaded.
+     */
+    private LoadedSearchResult load() {
+        if (ApplicationSettings.getGuiMode() == ApplicationSettings.GUIMode.PROGRAMMATIC) {
+            return SearchResultView.build();
+        }
+
+        try {
+            FXMLLoader loader = new FXMLLoader(SEARCH_RESULT_FXML);
+            Node root = loader.load();
+            return new LoadedSearchResult(root, loader.getController());
+        } catch (IOException e) {
+            logger.severe("Failed to load SearchResult.fxml: " + e.getMessage());
+            return null;
+        }
     }
 }
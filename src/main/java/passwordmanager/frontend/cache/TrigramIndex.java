@@ -0,0 +1,478 @@
+package passwordmanager.frontend.cache;
+
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.model.Entry;
+import passwordmanager.model.SearchText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The {@code TrigramIndex} class is an inverted index answering substring searches over the title, username,
+ * email, link and category of entries without checking every entry.
+ *
+ * <p>Each entry is given an int id, and its {@link Entry#getFieldsSearchKey()} is split into every run of three
+ * characters, its trigrams. For each trigram, the index keeps a sorted array of the ids of the entries containing
+ * it, its postings. Every entry containing a query contains each of the query's trigrams, so intersecting the
+ * postings of the query's trigrams, smallest first, leaves only the few entries that can match. Those are then
+ * checked against the whole query, as an entry can contain every trigram of a query without containing the query.
+ *
+ * <p>Queries shorter than three characters have no trigrams and cannot be answered by the index, check
+ * {@link #canSearch(String)} before searching.
+ *
+ * <p>The index is updated in place as entries change, rather than rebuilt. Updates take a write lock and searches
+ * a read lock, so any number of searches can run at once.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * TrigramIndex index = EntryCache.getInstance().getIndex();
+ * String query = SearchText.normalize("hub");
+ * if (TrigramIndex.canSearch(query)) {
+ *     List<Entry> matches = index.search(query);
+ * }
+ * }
+ * </pre>
+ *
+ * @see EntryCache
+ * @see SearchText
+ */
+public class TrigramIndex {
+
+    // Number of characters in a trigram, and so the shortest query the index can answer
+    static final int GRAM_LENGTH = 3;
+
+    // Postings this many times larger than the candidates are binary searched rather than walked
+    private static final int BINARY_SEARCH_RATIO = 8;
+
+    /**
+     * The sorted ids of the entries containing a trigram.
+     */
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        /**
+         * Adds an id, keeping the ids sorted. Ids are usually new and so the largest, and are then appended.
+         *
+         * @param id the id to add.
+         */
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            int position = size == 0 || id > ids[size - 1] ? size : -Arrays.binarySearch(ids, 0, size, id) - 1;
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        /**
+         * Removes an id.
+         *
+         * @param id the id to remove.
+         */
+        void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Maps trigrams to their postings. Trigrams are kept as primitive longs in an open addressing table, as
+     * boxing every trigram made building the index several times slower. No trigram packs to 0, which marks
+     * an empty slot, and trigrams are never removed from the table, only their postings emptied.
+     */
+    private static final class PostingsTable {
+
+        private long[] trigrams = new long[1024];
+        private Postings[] postings = new Postings[1024];
+        private int size;
+
+        /**
+         * Returns the postings of a trigram.
+         *
+         * @param trigram the trigram.
+         * @return the postings of the trigram, or {@code null} if no entry has ever contained it.
+         */
+        Postings get(long trigram) {
+            int slot = slot(trigrams, trigram);
+            return postings[slot];
+        }
+
+        /**
+         * Returns the postings of a trigram, adding empty postings if no entry has contained it before.
+         *
+         * @param trigram the trigram.
+         * @return the postings of the trigram.
+         */
+        Postings getOrAdd(long trigram) {
+            int slot = slot(trigrams, trigram);
+            if (postings[slot] == null) {
+                if ((size + 1) * 2 > trigrams.length) {
+                    grow();
+                    slot = slot(trigrams, trigram);
+                }
+                trigrams[slot] = trigram;
+                postings[slot] = new Postings();
+                size++;
+            }
+            return postings[slot];
+        }
+
+        /**
+         * Removes every trigram.
+         */
+        void clear() {
+            Arrays.fill(trigrams, 0);
+            Arrays.fill(postings, null);
+            size = 0;
+        }
+
+        /**
+         * Doubles the capacity of the table, keeping the load factor at most a half.
+         */
+        private void grow() {
+            long[] oldTrigrams = trigrams;
+            Postings[] oldPostings = postings;
+            trigrams = new long[oldTrigrams.length * 2];
+            postings = new Postings[oldPostings.length * 2];
+            for (int i = 0; i < oldTrigrams.length; i++) {
+                if (oldPostings[i] != null) {
+                    int slot = slot(trigrams, oldTrigrams[i]);
+                    trigrams[slot] = oldTrigrams[i];
+                    postings[slot] = oldPostings[i];
+                }
+            }
+        }
+
+        /**
+         * Finds the slot holding a trigram, or the empty slot it belongs in, by linear probing.
+         *
+         * @param table the trigrams of the table.
+         * @param trigram the trigram to find.
+         * @return the slot of the trigram.
+         */
+        private static int slot(long[] table, long trigram) {
+            int mask = table.length - 1;
+            int slot = Long.hashCode(trigram * 0x9E3779B97F4A7C15L) & mask;
+            while (table[slot] != 0 && table[slot] != trigram) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final PostingsTable postingsByTrigram = new PostingsTable();
+    private final Map<String, Integer> idsByTitle = new HashMap<>();
+
+    // Indexed entries and the search keys they were indexed with, by id. Ids of removed entries are reused
+    private Entry[] entries = new Entry[16];
+    private String[] keys = new String[16];
+    private int[] freeIds = new int[16];
+    private int freeIdCount;
+    private int nextId;
+
+    /**
+     * Checks whether a query is long enough to be answered by the index.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}.
+     * @return {@code true} if the query has at least one trigram, {@code false} otherwise.
+     */
+    public static boolean canSearch(String normalizedQuery) {
+        return normalizedQuery.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Replaces the indexed entries with the given entries.
+     *
+     * @param entries all entries to index.
+     */
+    public void setEntries(Collection<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            postingsByTrigram.clear();
+            idsByTitle.clear();
+            this.entries = new Entry[Math.max(16, entries.size())];
+            this.keys = new String[this.entries.length];
+            freeIdCount = 0;
+            nextId = 0;
+
+            for (Entry entry : entries) {
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies changes made to the database to the index.
+     *
+     * @param events the changes, in the order they were made.
+     */
+    public void applyChanges(List<EntryChangeEvent> events) {
+        lock.writeLock().lock();
+        try {
+            for (EntryChangeEvent event : events) {
+                switch (event.type()) {
+                    case ADDED, MODIFIED -> add(event.entry());
+                    case REMOVED -> remove(event.title());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes an entry, replacing the indexed entry with the same title if there is one.
+     *
+     * @param entry the entry to index.
+     */
+    public void addEntry(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the entry with the given title from the index.
+     *
+     * @param title the title of the entry to remove.
+     * @return {@code true} if an entry was removed, {@code false} if no entry with the title was indexed.
+     */
+    public boolean removeEntry(String title) {
+        lock.writeLock().lock();
+        try {
+            return remove(title);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed entries.
+     *
+     * @return the number of indexed entries.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idsByTitle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns an upper bound on the number of entries matching a query: the size of the smallest postings of
+     * its trigrams. Cheap to compute, so it can be used to decide whether a search is worth answering with
+     * the index at all.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}. Must be at least
+     *                        three characters long, see {@link #canSearch(String)}.
+     * @return the upper bound on the number of matching entries.
+     */
+    public int countCandidates(String normalizedQuery) {
+        lock.readLock().lock();
+        try {
+            int candidates = idsByTitle.size();
+            for (long trigram : trigrams(normalizedQuery)) {
+                Postings postings = postingsByTrigram.get(trigram);
+                candidates = Math.min(candidates, postings == null ? 0 : postings.size);
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the indexed entries whose title, username, email, link or category contains the query.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}. Must be at least
+     *                        three characters long, see {@link #canSearch(String)}.
+     * @return the matching entries, in no particular order.
+     * @throws IllegalArgumentException if the query is too short to be answered by the index.
+     */
+    public List<Entry> search(String normalizedQuery) {
+        if (!canSearch(normalizedQuery)) {
+            throw new IllegalArgumentException("Query is shorter than " + GRAM_LENGTH + " characters: " + normalizedQuery);
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] trigrams = trigrams(normalizedQuery);
+            if (trigrams.length == 0) {
+                // Only a query spanning two fields has no trigrams, and it can never match
+                return List.of();
+            }
+
+            Postings[] lists = new Postings[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postingsByTrigram.get(trigrams[i]);
+                if (lists[i] == null || lists[i].size == 0) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+            // Intersect from the smallest postings, so the candidates only ever shrink
+            int[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int candidateCount = candidates.length;
+            for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+                candidateCount = retain(candidates, candidateCount, lists[i]);
+            }
+
+            List<Entry> matches = new ArrayList<>(candidateCount);
+            for (int i = 0; i < candidateCount; i++) {
+                int id = candidates[i];
+                if (SearchText.contains(keys[id], normalizedQuery)) {
+                    matches.add(entries[id]);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps only the candidates found in the given postings. Both are sorted, so postings of a similar size are
+     * walked alongside the candidates, while much larger postings are binary searched from where the previous
+     * candidate was found.
+     *
+     * @param candidates the sorted candidate ids, compacted in place.
+     * @param candidateCount the number of candidates.
+     * @param postings the postings to intersect with.
+     * @return the number of remaining candidates.
+     */
+    private static int retain(int[] candidates, int candidateCount, Postings postings) {
+        int[] ids = postings.ids;
+        int retained = 0;
+        int from = 0;
+
+        if (postings.size / candidateCount < BINARY_SEARCH_RATIO) {
+            for (int i = 0; i < candidateCount && from < postings.size; i++) {
+                int candidate = candidates[i];
+                while (from < postings.size && ids[from] < candidate) {
+                    from++;
+                }
+                if (from < postings.size && ids[from] == candidate) {
+                    candidates[retained++] = candidate;
+                    from++;
+                }
+            }
+            return retained;
+        }
+
+        for (int i = 0; i < candidateCount && from < postings.size; i++) {
+            int position = Arrays.binarySearch(ids, from, postings.size, candidates[i]);
+            if (position >= 0) {
+                candidates[retained++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return retained;
+    }
+
+    /**
+     * Indexes an entry, replacing the indexed entry with the same title if there is one. Requires the write lock.
+     *
+     * @param entry the entry to index.
+     */
+    private void add(Entry entry) {
+        remove(entry.getTitle());
+
+        int id = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+        if (id == entries.length) {
+            entries = Arrays.copyOf(entries, id * 2);
+            keys = Arrays.copyOf(keys, id * 2);
+        }
+
+        String key = entry.getFieldsSearchKey();
+        entries[id] = entry;
+        keys[id] = key;
+        idsByTitle.put(entry.getTitle(), id);
+
+        for (long trigram : trigrams(key)) {
+            postingsByTrigram.getOrAdd(trigram).add(id);
+        }
+    }
+
+    /**
+     * Removes the entry with the given title from the index. Requires the write lock.
+     *
+     * @param title the title of the entry to remove.
+     * @return {@code true} if an entry was removed, {@code false} if no entry with the title was indexed.
+     */
+    private boolean remove(String title) {
+        Integer id = idsByTitle.remove(title);
+        if (id == null) {
+            return false;
+        }
+
+        // The key the entry was indexed with gives exactly the postings it was added to
+        for (long trigram : trigrams(keys[id])) {
+            postingsByTrigram.get(trigram).remove(id);
+        }
+
+        entries[id] = null;
+        keys[id] = null;
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+        }
+        freeIds[freeIdCount++] = id;
+        return true;
+    }
+
+    /**
+     * Returns the distinct trigrams of a normalized text, each packed into a long. Trigrams spanning two fields
+     * are skipped.
+     *
+     * @param text the normalized text.
+     * @return the sorted, distinct trigrams of the text.
+     */
+    private static long[] trigrams(String text) {
+        int count = Math.max(0, text.length() - GRAM_LENGTH + 1);
+        long[] trigrams = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            char third = text.charAt(i + 2);
+            if (first != SearchText.FIELD_SEPARATOR && second != SearchText.FIELD_SEPARATOR &&
+                    third != SearchText.FIELD_SEPARATOR) {
+                trigrams[size++] = ((long) first << 32) | ((long) second << 16) | third;
+            }
+        }
+
+        Arrays.sort(trigrams, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+}
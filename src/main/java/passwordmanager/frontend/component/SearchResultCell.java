@@ -0,0 +1,58 @@
+package passwordmanager.frontend.component;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import passwordmanager.frontend.cache.SearchResultFXMLCache;
+import passwordmanager.model.Entry;
+
+/**
+ * The {@code SearchResultCell} class displays an {@link Entry} in the search results list using a search result
+ * node from the {@link SearchResultFXMLCache}. The list only creates cells for the visible rows and reuses them as
+ * it scrolls, so each cell keeps its node and shows whichever entry it is currently given.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * ListView<Entry> listView = new ListView<>();
+ * listView.setCellFactory(view -> new SearchResultCell());
+ * }
+ * </pre>
+ *
+ * @see SearchResultFXMLCache
+ * @see passwordmanager.frontend.controller.SearchResultController
+ */
+public final class SearchResultCell extends ListCell<Entry> {
+
+    private final SearchResultFXMLCache.LoadedSearchResult searchResult;
+
+    /**
+     * Constructs a cell with a search result node taken from the pool.
+     */
+    public SearchResultCell() {
+        searchResult = SearchResultFXMLCache.getInstance().acquire();
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    /**
+     * Shows the given entry in this cell's search result node.
+     *
+     * @param entry the entry to show, or {@code null} if the cell is empty.
+     * @param empty whether the cell is empty.
+     */
+    @Override
+    protected void updateItem(Entry entry, boolean empty) {
+        super.updateItem(entry, empty);
+
+        if (empty || entry == null) {
+            setText(null);
+            setGraphic(null);
+        } else if (searchResult == null) {
+            // Fall back to the title alone if the search result could not be loaded
+            setText(entry.getTitle());
+            setContentDisplay(ContentDisplay.TEXT_ONLY);
+        } else {
+            searchResult.controller().setEntry(entry);
+            setGraphic(searchResult.root());
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package passwordmanager.frontend.controller;
 
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.layout.VBox;
-import javafx.scene.Node;
 import javafx.stage.Window;
-import passwordmanager.backend.local.SQLLite.LocalAPI;
+import javafx.util.Duration;
+import passwordmanager.backend.AsyncDatabaseAPI;
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.backend.query.EntryQuery;
 import passwordmanager.model.Entry;
 import passwordmanager.model.EntryBuilder;
+import passwordmanager.model.EntrySortOrder;
 import passwordmanager.frontend.cache.EntryCache;
-import passwordmanager.frontend.cache.SearchResultFXMLCache;
+import passwordmanager.frontend.component.SearchResultCell;
+import passwordmanager.frontend.search.FuzzySearch;
+import passwordmanager.frontend.search.NarrowingSearch;
+import passwordmanager.frontend.search.QuerySearch;
+import passwordmanager.frontend.search.SearchPipeline;
+import passwordmanager.frontend.search.SearchResultsDiff;
 import passwordmanager.frontend.util.PasswordGenerator;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 
 public class MainWindowController {
 
@@ -37,13 +51,47 @@ public class MainWindowController {
     @FXML
     MenuButton filterMenuButton;
     @FXML
-    ScrollPane scrollBox;
+    ChoiceBox<EntrySortOrder> sortChoiceBox;
     @FXML
-    VBox searchResultsDisplayVBox;
+    ListView<Entry> searchResultsListView;
+
+    // Entries shown in the search results list, only the visible ones have a node
+    private final ObservableList<Entry> searchResults = FXCollections.observableArrayList();
+
+    // Database operations run off the FX thread
+    private final AsyncDatabaseAPI database = AsyncDatabaseAPI.getInstance();
 
     // Caches
     private final EntryCache entryCache = EntryCache.getInstance();
-    private final SearchResultFXMLCache searchResultFXMLCache = SearchResultFXMLCache.getInstance();
+
+    // Set while a refresh is queued on the FX thread, so a burst of changes only refreshes once
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+
+    // Searches typed into the search field, off the FX thread
+    private static final Duration SEARCH_DEBOUNCE_DELAY = Duration.millis(120);
+    private static final int FUZZY_RESULT_LIMIT = 50;
+    private SearchPipeline searchPipeline;
+    private NarrowingSearch substringSearch;
+    private FuzzySearch fuzzySearch;
+    private QuerySearch querySearch;
+
+    // Order the search results are shown in, read by the search thread
+    private volatile EntrySortOrder sortOrder = EntrySortOrder.TITLE;
+
+    // Filters offered by the filter menu, and the term each starts in the search field
+    private static final Map<String, String> FILTER_TERMS = new LinkedHashMap<>();
+    static {
+        FILTER_TERMS.put("Title", "title:");
+        FILTER_TERMS.put("Email", "email:");
+        FILTER_TERMS.put("Username", "username:");
+        FILTER_TERMS.put("Link", "link:");
+        FILTER_TERMS.put("Group", "category:");
+        FILTER_TERMS.put("Created After", "created:>");
+        FILTER_TERMS.put("Modified After", "modified:>");
+    }
+
+    // Groups offered by the filter menu, along with the number of entries in each
+    private final Menu groupsMenu = new Menu("Groups");
 
     @FXML
     public void initialize() {
@@ -51,67 +99,128 @@ public class MainWindowController {
         // Load and display search results in the view tab
         setupSearchResultsDisplay();
 
-        // Set the email choice box options to unique emails in the database
-        setUpEmailChoiceBoxOptions();
+        // Add a listener to the search bar
+        searchField.textProperty().addListener(new ChangeListener<String>() {
+            @Override
+            public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
+                searchPipeline.submit(newValue);
+            }
+        });
+
+        // Refresh the display whenever entries are changed, the entry cache has already been updated by then
+        database.addChangeListener(this::entriesChangedCallback);
+
+        // Set the choice box options to the unique emails and groups in the database
+        setUpChoiceBoxOptions();
 
         // Set up various button callbacks
         addBtn.setOnAction(e -> addButtonCallback());
         clearBtn.setOnAction(e -> clearTextFields());
         generatePasswordBtn.setOnAction(e -> generatePasswordCallback());
         emailChoiceBox.setOnAction(e -> emailChoiceBoxCallback());
+        secondaryEmailChoiceBox.setOnAction(e -> secondaryEmailChoiceBoxCallback());
+        groupChoiceBox.setOnAction(e -> groupChoiceBoxCallback());
 
         setUpChooseFilterButton();
+        setUpSortChoiceBox();
+    }
+
+    private void setUpSortChoiceBox() {
+        // Each order is sorted once and then kept sorted by the cache, so switching only searches again
+        sortChoiceBox.getItems().setAll(EntrySortOrder.values());
+        sortChoiceBox.setValue(sortOrder);
+        sortChoiceBox.setOnAction(e -> {
+            sortOrder = sortChoiceBox.getValue();
+            searchPipeline.searchNow(searchField.getText());
+        });
     }
 
     private void setUpChooseFilterButton() {
-        // TODO: Implement filtering by different criteria
-        filterMenuButton.setDisable(true);
+        // Each filter starts its term in the search field, where it is completed and combined with other terms
+        filterMenuButton.getItems().clear();
+        for (Map.Entry<String, String> filter : FILTER_TERMS.entrySet()) {
+            MenuItem item = new MenuItem(filter.getKey());
+            item.setOnAction(e -> appendFilterTerm(filter.getValue()));
+            filterMenuButton.getItems().add(item);
+        }
+
+        // Every group with its number of entries, each filtering the search to that group
+        filterMenuButton.getItems().addAll(new SeparatorMenuItem(), groupsMenu);
+        setUpGroupsMenu();
+    }
+
+    private void setUpGroupsMenu() {
+        // Read from the counts maintained by the cache, called again whenever entries change
+        Map<String, Integer> counts = entryCache.getCategoryCounts();
+        groupsMenu.getItems().clear();
+        for (Map.Entry<String, Integer> group : counts.entrySet()) {
+            MenuItem item = new MenuItem(group.getKey() + " (" + group.getValue() + ")");
+            item.setOnAction(e -> appendFilterTerm("group:" + EntryQuery.quote(group.getKey())));
+            groupsMenu.getItems().add(item);
+        }
+        groupsMenu.setDisable(counts.isEmpty());
+    }
+
+    private void appendFilterTerm(String term) {
+        String text = searchField.getText();
+        searchField.setText(text.isBlank() ? term : text.stripTrailing() + " " + term);
+        searchField.requestFocus();
+        searchField.end();
     }
 
     private void setupSearchResultsDisplay() {
 
-        // Clear the search results display
-        searchResultsDisplayVBox.getChildren().clear();
+        // Cells are only created for visible rows, and reused as the list scrolls
+        searchResultsListView.setCellFactory(listView -> new SearchResultCell());
+        searchResultsListView.setItems(searchResults);
 
-        // Get search results from cache
-        List<Node> searchResults = searchResultFXMLCache.getSearchResults();
+        // Matches are found in the background, from the trigram index or by narrowing the previous matches
+        // as the query grows, and applied as a minimal change to the displayed results
+        substringSearch = new NarrowingSearch(entryCache::getSnapshot, entryCache.getIndex());
+        fuzzySearch = new FuzzySearch(entryCache::getSnapshot, FUZZY_RESULT_LIMIT);
+        querySearch = new QuerySearch(entryCache::getSnapshot, entryCache.getFieldIndex(), entryCache.getIndex());
+        searchPipeline = new SearchPipeline(SEARCH_DEBOUNCE_DELAY, this::findMatches,
+                matches -> SearchResultsDiff.apply(searchResults, matches));
 
-        // Add search results to display
         // Default is to display all entries in the database
-        for (Node searchResult : searchResults) {
-            searchResultsDisplayVBox.getChildren().add(searchResult);
-        }
-
-        // Add a listener to the search bar
-        searchField.textProperty().addListener(new ChangeListener<String>() {
-            @Override
-            public void changed(ObservableValue<? extends String> observable, String oldValue, String newValue) {
-                filterSearchResults(newValue);
-            }
-        });
+        searchResults.setAll(entryCache.getEntries(sortOrder));
     }
 
-    public double getScrollBarPosition() {
-        return scrollBox.getVvalue();
+    private void entriesChangedCallback(List<EntryChangeEvent> events) {
+        // Called on the thread that made the changes, the refresh itself must run on the FX thread
+        if (refreshScheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                refreshScheduled.set(false);
+                refreshDisplay();
+            });
+        }
     }
 
-    public void setScrollBarPosition(double position) {
-        scrollBox.setVvalue(position);
+    private void refreshDisplay() {
+        searchPipeline.searchNow(searchField.getText());
+        setUpChoiceBoxOptions();
+        setUpGroupsMenu();
     }
 
-    private void filterSearchResults(String searchText) {
-        // Clear the search results display
-        searchResultsDisplayVBox.getChildren().clear();
-
-        // Get search results from cache
-        List<Node> searchResults = searchResultFXMLCache.getSearchResults();
+    private List<Entry> findMatches(String searchText, BooleanSupplier cancelled) {
+        // Runs on the search thread. Text with field terms, such as "category:Gaming", is a query answered
+        // from the cache's indexes
+        if (EntryQuery.usesFields(searchText)) {
+            return inSortOrder(querySearch.search(searchText, cancelled));
+        }
 
-        for (Node searchResult : searchResults) {
-            Entry currentResultEntry = (Entry) searchResult.getUserData();
-            if (currentResultEntry.titleContains(searchText)) {
-                searchResultsDisplayVBox.getChildren().add(searchResult);
-            }
+        // When nothing contains the search text, such as when it has a typo, the closest titles are shown
+        // instead, best first
+        List<Entry> matches = substringSearch.search(searchText, cancelled);
+        if (matches.isEmpty() && !cancelled.getAsBoolean()) {
+            return fuzzySearch.search(searchText, cancelled);
         }
+        return inSortOrder(matches);
+    }
+
+    private List<Entry> inSortOrder(List<Entry> matches) {
+        // All entries are already kept sorted by the cache, only a subset of them is sorted here
+        return entryCache.getSnapshot().sort(matches, sortOrder);
     }
 
     private void addButtonCallback() {
@@ -167,31 +276,64 @@ public class MainWindowController {
                     .category(group)
                     .build();
 
-            LocalAPI.getInstance().newEntry(entry);
-            entryCache.updateEntries();
-            searchResultFXMLCache.refreshSearchResults();
-            setupSearchResultsDisplay();
-            clearTextFields();
+            // Write in the background, caches and display are refreshed by the change listener
+            addBtn.setDisable(true);
+            database.newEntry(entry)
+                    .whenCompleteAsync((ignored, error) -> {
+                        addBtn.setDisable(false);
+
+                        if (error == null) {
+                            clearTextFields();
+                            return;
+                        }
+
+                        // Notifying popup, the fields are kept so the entry can be retried
+                        Alert alert = new Alert(Alert.AlertType.WARNING);
+                        alert.setTitle("Entry Not Added");
+                        alert.setContentText("The entry '" + title + "' could not be added.");
+                        // Set the owner of the alert to the main window
+                        Window window = addBtn.getScene().getWindow();
+                        alert.initOwner(window);
+                        alert.show();
+                    }, Platform::runLater);
 
         }
     }
 
-    private void setUpEmailChoiceBoxOptions() {
-        List<String> emails = entryCache.getUniqueEmails();
-        for (String email : emails) {
-            emailChoiceBox.getItems().add(email);
-        }
-        // TODO: Need to reset this when new emails are added
+    private void setUpChoiceBoxOptions() {
+        // Read from the sets maintained by the cache, called again whenever entries change
+        emailChoiceBox.getItems().setAll(entryCache.getUniqueEmails());
+        secondaryEmailChoiceBox.getItems().setAll(entryCache.getUniqueSecondaryEmails());
+        groupChoiceBox.getItems().setAll(entryCache.getUniqueCategories());
     }
 
     private void emailChoiceBoxCallback() {
         String selectedEmail = emailChoiceBox.getValue();
+
+        // The selection is cleared when the options are reset
+        if (selectedEmail == null) {
+            return;
+        }
         emailEntryField.setText(selectedEmail);
 
         // TODO: Clear the email choice box selection without clearing the text field
         // This doesn't work! : emailChoiceBox.setValue(null);
     }
 
+    private void secondaryEmailChoiceBoxCallback() {
+        String selectedEmail = secondaryEmailChoiceBox.getValue();
+        if (selectedEmail != null) {
+            secondaryEmailEntryField.setText(selectedEmail);
+        }
+    }
+
+    private void groupChoiceBoxCallback() {
+        String selectedGroup = groupChoiceBox.getValue();
+        if (selectedGroup != null) {
+            groupEntryField.setText(selectedGroup);
+        }
+    }
+
     private void generatePasswordCallback() {
         // Generate a random password
         String password = PasswordGenerator.getPassword();
@@ -1,15 +1,14 @@
 package passwordmanager.frontend.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.stage.Window;
-import passwordmanager.backend.local.SQLLite.LocalAPI;
+import passwordmanager.backend.AsyncDatabaseAPI;
 import passwordmanager.model.Entry;
-import passwordmanager.frontend.cache.EntryCache;
-import passwordmanager.frontend.cache.SearchResultFXMLCache;
 
 import javafx.event.ActionEvent;
 import javafx.scene.control.Button;
@@ -27,14 +26,15 @@ public class SearchResultController {
     @FXML
     VBox root;
 
+    // Package-private so SearchResultView can bind the nodes it builds in programmatic GUI mode
     @FXML
-    private Label titleLabel;
+    Label titleLabel;
 
     @FXML
-    private TextField emailTextField, passwordTextField, usernameTextField;
+    TextField emailTextField, passwordTextField, usernameTextField;
 
     @FXML
-    private Button copyEmailBtn, copyPasswordBtn, copyUsernameBtn, editBtn, deleteBtn;
+    Button copyEmailBtn, copyPasswordBtn, copyUsernameBtn, editBtn, deleteBtn;
 
     @FXML
     public void initialize() {
@@ -52,19 +52,21 @@ public class SearchResultController {
     }
 
     public void setEntry(Entry entry) {
+        // The same search result is reused for different entries as the results list scrolls,
+        // so every field is reset rather than only set when present
         this.entry = entry;
 
         emailTextField.setText(this.entry.getEmail());
         passwordTextField.setText(this.entry.getPassword());
 
         // Gray out the username field if it is empty
-        if (this.entry.getUsername().isEmpty()) {
-            usernameTextField.setDisable(true);
-        } else {
-            usernameTextField.setText(this.entry.getUsername());
-        }
+        String username = this.entry.getUsername();
+        boolean noUsername = username == null || username.isEmpty();
+        usernameTextField.setDisable(noUsername);
+        usernameTextField.setText(noUsername ? "" : username);
 
         titleLabel.setText(this.entry.getTitle());
+        deleteBtn.setDisable(false);
     }
 
     private void setCopyCallbacks() {
@@ -95,7 +97,6 @@ public class SearchResultController {
     }
 
     private void setDeleteCallback() {
-        // TODO: Re-implement more efficient way to keep caches accurate
         // TODO: Figure out why title on succeeding entry gets highlighted when deleting an entry
 
         deleteBtn.setOnAction((ActionEvent event) -> {
@@ -113,35 +114,26 @@ public class SearchResultController {
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
 
-                // Delete the entry from the database and update caches
-                LocalAPI.getInstance().removeEntry(this.entry.getTitle());
-                EntryCache.getInstance().updateEntries();
-                SearchResultFXMLCache.getInstance().refreshSearchResults();
-
-                // Remove the entry from the VBox
-                VBox parent = (VBox) root.getParent();
-                parent.getChildren().remove(root);
-
-                // Cleanup resources
-                cleanup();
+                // Delete the entry in the background, caches and display are refreshed by the change listener
+                // The cell may show another entry by the time the deletion completes
+                Entry toDelete = this.entry;
+                deleteBtn.setDisable(true);
+                AsyncDatabaseAPI.getInstance().removeEntry(toDelete)
+                        .whenCompleteAsync((ignored, error) -> {
+                            deleteBtn.setDisable(false);
+
+                            if (error != null) {
+                                // Notifying popup
+                                Alert failure = new Alert(Alert.AlertType.WARNING);
+                                failure.setTitle("Entry Not Deleted");
+                                failure.setContentText("The entry '" + toDelete.getTitle() + "' could not be deleted.");
+                                failure.initOwner(window);
+                                failure.show();
+                            }
+                        }, Platform::runLater);
             } else {
 
             }
         });
     }
-
-    private void cleanup() {
-        // Remove event handlers
-        copyEmailBtn.setOnAction(null);
-        copyPasswordBtn.setOnAction(null);
-        copyUsernameBtn.setOnAction(null);
-        editBtn.setOnAction(null);
-        deleteBtn.setOnAction(null);
-
-        // Clear references to help with garbage collection
-        entry = null;
-        emailTextField.setText("");
-        passwordTextField.setText("");
-        usernameTextField.setText("");
-    }
 }
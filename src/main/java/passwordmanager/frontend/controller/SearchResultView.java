@@ -0,0 +1,190 @@
+package passwordmanager.frontend.controller;
+
+import javafx.geometry.HPos;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import passwordmanager.frontend.cache.SearchResultFXMLCache.LoadedSearchResult;
+
+/**
+ * The {@code SearchResultView} class builds a search result in code, for use when the application runs in
+ * {@code GUIMode.PROGRAMMATIC}. It produces the same layout as {@code SearchResult.fxml} and binds it to a
+ * {@link SearchResultController}, without the cost of parsing FXML and injecting fields by reflection.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * LoadedSearchResult searchResult = SearchResultView.build();
+ * searchResult.controller().setEntry(entry);
+ * }
+ * </pre>
+ *
+ * @see SearchResultController
+ * @see passwordmanager.frontend.cache.SearchResultFXMLCache
+ */
+public class SearchResultView {
+
+    /**
+     * Builds a new search result and its controller.
+     *
+     * @return the {@code LoadedSearchResult} holding the root node and its initialized controller.
+     */
+    public static LoadedSearchResult build() {
+        SearchResultController controller = new SearchResultController();
+
+        controller.titleLabel = new Label("Title");
+        controller.titleLabel.setFont(Font.font("System", FontWeight.BOLD, 18.0));
+
+        GridPane grid = new GridPane();
+        grid.setMaxWidth(600.0);
+        grid.setMinWidth(800.0);
+        grid.setVgap(5.0);
+        grid.setPadding(new Insets(5.0));
+        grid.getColumnConstraints().addAll(
+                column(HPos.RIGHT, 100.0),
+                column(HPos.CENTER, -1),
+                column(HPos.LEFT, -1),
+                column(HPos.LEFT, -1),
+                column(HPos.LEFT, -1),
+                column(HPos.LEFT, 100.0));
+        for (int i = 0; i < 4; i++) {
+            RowConstraints row = new RowConstraints();
+            row.setMinHeight(30.0);
+            row.setPrefHeight(30.0);
+            row.setVgrow(Priority.SOMETIMES);
+            grid.getRowConstraints().add(row);
+        }
+        VBox.setMargin(grid, new Insets(10.0, 0, 0, 0));
+
+        // Primary fields
+        controller.emailTextField = field();
+        controller.passwordTextField = field();
+        controller.usernameTextField = field();
+        grid.add(controller.emailTextField, 1, 0);
+        grid.add(controller.passwordTextField, 1, 1);
+        grid.add(controller.usernameTextField, 1, 2);
+
+        grid.add(label("Email"), 0, 0);
+        grid.add(label("Password"), 0, 1);
+        grid.add(label("Username"), 0, 2);
+
+        controller.copyEmailBtn = copyButton();
+        controller.copyPasswordBtn = copyButton();
+        controller.copyUsernameBtn = copyButton();
+        grid.add(controller.copyEmailBtn, 2, 0);
+        grid.add(controller.copyPasswordBtn, 2, 1);
+        grid.add(controller.copyUsernameBtn, 2, 2);
+
+        HBox spacer = new HBox();
+        spacer.setAlignment(Pos.CENTER);
+        spacer.setPrefSize(200.0, 100.0);
+        grid.add(spacer, 1, 3);
+
+        // Secondary fields, not yet bound to the entry
+        grid.add(field(), 4, 0);
+        grid.add(field(), 4, 1);
+        grid.add(copyButton(), 5, 0);
+        grid.add(copyButton(), 5, 1);
+
+        grid.add(label("Secondary Email"), 3, 0);
+        grid.add(label("Phone Number"), 3, 1);
+        grid.add(label("Group"), 3, 2);
+
+        // Actions
+        controller.deleteBtn = actionButton("Delete");
+        controller.editBtn = actionButton("Edit");
+        grid.add(controller.deleteBtn, 3, 3);
+        grid.add(controller.editBtn, 2, 3);
+
+        VBox root = new VBox(controller.titleLabel, grid);
+        root.setAlignment(Pos.CENTER);
+        root.setFillWidth(false);
+        root.setMaxWidth(250.0);
+        root.getStyleClass().add("search-result");
+        controller.root = root;
+
+        controller.initialize();
+        return new LoadedSearchResult(root, controller);
+    }
+
+    /**
+     * Creates a grid column.
+     *
+     * @param alignment the horizontal alignment of the column's cells.
+     * @param prefWidth the preferred width of the column, or a negative value to compute it from its content.
+     * @return the {@code ColumnConstraints} of the column.
+     */
+    private static ColumnConstraints column(HPos alignment, double prefWidth) {
+        ColumnConstraints column = new ColumnConstraints();
+        column.setHalignment(alignment);
+        column.setHgrow(Priority.SOMETIMES);
+        column.setMinWidth(10.0);
+        if (prefWidth >= 0) {
+            column.setPrefWidth(prefWidth);
+        }
+        return column;
+    }
+
+    /**
+     * Creates a read-only field showing a value of the entry.
+     *
+     * @return the {@code TextField}.
+     */
+    private static TextField field() {
+        TextField field = new TextField();
+        field.setAlignment(Pos.CENTER);
+        field.setEditable(false);
+        GridPane.setMargin(field, new Insets(0, 5.0, 0, 5.0));
+        return field;
+    }
+
+    /**
+     * Creates the label of a field.
+     *
+     * @param text the text of the label.
+     * @return the {@code Label}.
+     */
+    private static Label label(String text) {
+        Label label = new Label(text);
+        GridPane.setHalignment(label, HPos.RIGHT);
+        GridPane.setMargin(label, new Insets(0, 10.0, 0, 0));
+        return label;
+    }
+
+    /**
+     * Creates a button copying the value of the field beside it.
+     *
+     * @return the {@code Button}.
+     */
+    private static Button copyButton() {
+        Button button = new Button("Copy");
+        button.setMnemonicParsing(false);
+        GridPane.setMargin(button, new Insets(0, 0, 0, 10.0));
+        return button;
+    }
+
+    /**
+     * Creates a button acting on the whole entry.
+     *
+     * @param text the text of the button.
+     * @return the {@code Button}.
+     */
+    private static Button actionButton(String text) {
+        Button button = new Button(text);
+        button.setMnemonicParsing(false);
+        button.setMinWidth(85.0);
+        GridPane.setHalignment(button, HPos.CENTER);
+        return button;
+    }
+}
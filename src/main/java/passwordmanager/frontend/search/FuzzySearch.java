@@ -0,0 +1,328 @@
+package passwordmanager.frontend.search;
+
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.model.Entry;
+import passwordmanager.model.SearchText;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The {@code FuzzySearch} class finds the titles closest to a query, tolerating typos, and ranks them from best
+ * to worst. Titles are compared using their normalized {@link Entry#getSearchKey()}, and each title matching the
+ * query falls into one of three tiers, best first:
+ * <ol>
+ *     <li>The title contains the query. Titles starting with the query rank higher, then shorter titles.</li>
+ *     <li>The title contains the characters of the query in order, such as "ghb" in "github". Titles with
+ *         fewer characters between those of the query rank higher.</li>
+ *     <li>Part of the title is within a few edits of the query, where an edit inserts, deletes or replaces a
+ *         character, or swaps two adjacent ones, such as "gihtub" for "github". Fewer edits rank higher.
+ *         Queries of up to three characters allow no edits, up to seven one, and longer queries two.</li>
+ * </ol>
+ *
+ * <p>Most titles are ruled out without being compared: a title lacking more characters of the query than the
+ * allowed edits, counted with repeats against the precomputed {@link Entry#getSearchKeyCharacters()}, cannot
+ * match in any tier. The masks of a snapshot's titles are copied into one array the first time it is searched,
+ * so ruling a title out does not load its entry.
+ * Only the best matches are kept, in a heap of the requested size, so ranking does not sort every match.
+ *
+ * <p>Searches are meant to run one at a time, such as on the single search thread of a {@link SearchPipeline}.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * FuzzySearch fuzzySearch = new FuzzySearch(entryCache::getSnapshot, 50);
+ * List<Entry> ranked = fuzzySearch.search("gihtub", () -> false);
+ * }
+ * </pre>
+ *
+ * @see NarrowingSearch
+ * @see SearchText
+ */
+public class FuzzySearch implements SearchPipeline.Search {
+
+    // Shorter queries match too many titles to be useful
+    static final int MIN_QUERY_LENGTH = 3;
+
+    // Number of entries checked between checks for cancellation
+    private static final int CANCELLATION_CHECK_INTERVAL = 1024;
+
+    // Scores of the tiers, every score within a tier is above the next tier
+    private static final int TIER_SIZE = 1_000_000;
+    private static final int CONTAINS_TIER = 3 * TIER_SIZE;
+    private static final int SUBSEQUENCE_TIER = 2 * TIER_SIZE;
+    private static final int EDITS_TIER = TIER_SIZE;
+
+    /**
+     * A title matching the query.
+     *
+     * @param entry the entry with the title.
+     * @param score the score of the match, higher is better.
+     * @param position the position of the entry in the snapshot, breaking ties in title order.
+     */
+    private record Match(Entry entry, int score, int position) {}
+
+    // Orders the worst match first, so the heap of best matches can drop it
+    private static final Comparator<Match> WORST_FIRST = Comparator.comparingInt(Match::score)
+            .thenComparing(Comparator.comparingInt(Match::position).reversed());
+
+    private final Supplier<EntrySnapshot> snapshots;
+    private final int limit;
+
+    // Character masks of the searched snapshot's titles, in order, rebuilt when a newer snapshot is searched
+    private EntrySnapshot maskedSnapshot;
+    private long[] titleCharacters = new long[0];
+
+    // Columns of the edit distance table, reused for every title
+    private int[] twoColumnsBack = new int[0];
+    private int[] previousColumn = new int[0];
+    private int[] currentColumn = new int[0];
+
+    /**
+     * Constructs a fuzzy search over the entries of the latest snapshot.
+     *
+     * @param snapshots supplies the snapshot of entries to search, such as {@code EntryCache::getSnapshot}.
+     * @param limit the maximum number of ranked entries to return.
+     */
+    public FuzzySearch(Supplier<EntrySnapshot> snapshots, int limit) {
+        this.snapshots = snapshots;
+        this.limit = limit;
+    }
+
+    /**
+     * Finds the titles closest to the query.
+     *
+     * @param query the text to search titles for, at least three characters once normalized.
+     * @param cancelled returns {@code true} once the search has been superseded.
+     * @return the best matching entries, best first, or an empty list if the query is too short or the
+     *         search was cancelled.
+     */
+    @Override
+    public synchronized List<Entry> search(String query, BooleanSupplier cancelled) {
+        String normalizedQuery = SearchText.normalize(query);
+        if (normalizedQuery.length() < MIN_QUERY_LENGTH) {
+            return List.of();
+        }
+
+        long queryCharacters = SearchText.characterMask(normalizedQuery);
+        int[] queryCharacterCounts = SearchText.characterCounts(normalizedQuery);
+        int maxEdits = maxEdits(normalizedQuery.length());
+        if (currentColumn.length <= normalizedQuery.length()) {
+            twoColumnsBack = new int[normalizedQuery.length() + 1];
+            previousColumn = new int[normalizedQuery.length() + 1];
+            currentColumn = new int[normalizedQuery.length() + 1];
+        }
+
+        EntrySnapshot snapshot = snapshots.get();
+        List<Entry> entries = snapshot.getEntries();
+        long[] titleCharacters = titleCharactersOf(snapshot);
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (int i = 0; i < entries.size(); i++) {
+            if (i % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return List.of();
+            }
+
+            // Titles are ruled out from the masks alone, without loading their entry
+            int missing = countMissing(queryCharacters & ~titleCharacters[i], queryCharacterCounts, maxEdits);
+            if (missing > maxEdits) {
+                continue;
+            }
+
+            Entry entry = entries.get(i);
+            int score = score(normalizedQuery, entry.getSearchKey(), missing, maxEdits);
+            if (score < 0) {
+                continue;
+            }
+
+            // Entries come in title order, so on equal scores the entry already kept wins
+            if (best.size() < limit) {
+                best.add(new Match(entry, score, i));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Match(entry, score, i));
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+
+        List<Entry> matches = new ArrayList<>(ranked.size());
+        for (Match match : ranked) {
+            matches.add(match.entry());
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the character masks of the titles of a snapshot, in the order of its entries. The masks are kept
+     * in one array, so ruling titles out reads consecutive memory rather than every entry.
+     *
+     * @param snapshot the snapshot being searched.
+     * @return the character masks of the snapshot's titles.
+     */
+    private long[] titleCharactersOf(EntrySnapshot snapshot) {
+        if (snapshot != maskedSnapshot) {
+            List<Entry> entries = snapshot.getEntries();
+            titleCharacters = new long[entries.size()];
+            for (int i = 0; i < titleCharacters.length; i++) {
+                titleCharacters[i] = entries.get(i).getSearchKeyCharacters();
+            }
+            maskedSnapshot = snapshot;
+        }
+        return titleCharacters;
+    }
+
+    /**
+     * Returns the number of edits allowed between a query and a title.
+     *
+     * @param queryLength the length of the normalized query.
+     * @return the number of allowed edits.
+     */
+    static int maxEdits(int queryLength) {
+        if (queryLength <= 3) {
+            return 0;
+        }
+        return queryLength <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Counts the query characters missing from a title, repeats included, stopping once more are missing than
+     * the allowed edits.
+     *
+     * @param missingBits the bits of the query's character mask not set in the title's.
+     * @param queryCharacterCounts the number of query characters for each bit.
+     * @param maxEdits the number of allowed edits.
+     * @return the number of missing characters, or more than {@code maxEdits} if too many are missing.
+     */
+    private static int countMissing(long missingBits, int[] queryCharacterCounts, int maxEdits) {
+        int missing = 0;
+        while (missingBits != 0 && missing <= maxEdits) {
+            missing += queryCharacterCounts[Long.numberOfTrailingZeros(missingBits)];
+            missingBits &= missingBits - 1;
+        }
+        return missing;
+    }
+
+    /**
+     * Scores a title against the query.
+     *
+     * @param query the normalized query.
+     * @param title the normalized title.
+     * @param missing a lower bound on the number of query characters missing from the title.
+     * @param maxEdits the number of allowed edits.
+     * @return the score of the title, or -1 if it does not match.
+     */
+    private int score(String query, String title, int missing, int maxEdits) {
+        int extraLength = Math.min(title.length() - query.length(), 999);
+
+        int index = title.indexOf(query);
+        if (index >= 0) {
+            return CONTAINS_TIER - (index == 0 ? 0 : 1000) - Math.max(extraLength, 0);
+        }
+
+        if (missing == 0) {
+            int gaps = subsequenceGaps(query, title);
+            if (gaps >= 0) {
+                return SUBSEQUENCE_TIER - Math.min(gaps, 999) * 1000 - Math.max(extraLength, 0);
+            }
+        }
+
+        if (maxEdits == 0) {
+            return -1;
+        }
+        int edits = substringEditDistance(query, title, maxEdits);
+        if (edits <= maxEdits) {
+            return EDITS_TIER - edits * 1000 - Math.max(extraLength, 0);
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the characters of the query in order within the title, each at its first occurrence after the
+     * previous one.
+     *
+     * @param query the normalized query.
+     * @param title the normalized title.
+     * @return the number of title characters between the first and last matched characters that are not part
+     *         of the query, or -1 if the title does not contain the characters of the query in order.
+     */
+    private static int subsequenceGaps(String query, String title) {
+        int first = -1;
+        int position = -1;
+        for (int i = 0; i < query.length(); i++) {
+            position = title.indexOf(query.charAt(i), position + 1);
+            if (position < 0) {
+                return -1;
+            }
+            if (first < 0) {
+                first = position;
+            }
+        }
+        return position - first + 1 - query.length();
+    }
+
+    /**
+     * Computes the fewest edits turning the query into any part of the title, counting the insertion, deletion
+     * or replacement of a character, or the swap of two adjacent characters, as one edit each (the optimal string
+     * alignment distance). The table is filled one title character at a time, starting every column at zero edits
+     * so that a match may start anywhere in the title.
+     *
+     * <p>Only the rows up to one past the last within {@code maxEdits} are filled in each column (Ukkonen's
+     * cutoff), since a row further down cannot come back within the allowed edits. The row just past the filled
+     * ones is set above {@code maxEdits}, so the next column never reads a value left over from another title.
+     *
+     * @param query the normalized query.
+     * @param title the normalized title.
+     * @param maxEdits the number of allowed edits.
+     * @return the fewest edits, or more than {@code maxEdits} if no part of the title is within them.
+     */
+    private int substringEditDistance(String query, String title, int maxEdits) {
+        int queryLength = query.length();
+        for (int i = 0; i <= queryLength; i++) {
+            previousColumn[i] = i;
+        }
+
+        int fewest = queryLength;
+        int lastActive = Math.min(maxEdits, queryLength);
+        for (int j = 1; j <= title.length(); j++) {
+            char titleChar = title.charAt(j - 1);
+            currentColumn[0] = 0;
+
+            int rows = Math.min(lastActive + 1, queryLength);
+            for (int i = 1; i <= rows; i++) {
+                char queryChar = query.charAt(i - 1);
+                int edits = Math.min(previousColumn[i] + 1, currentColumn[i - 1] + 1);
+                edits = Math.min(edits, previousColumn[i - 1] + (queryChar == titleChar ? 0 : 1));
+                if (i > 1 && j > 1 && queryChar == title.charAt(j - 2) && query.charAt(i - 2) == titleChar) {
+                    edits = Math.min(edits, twoColumnsBack[i - 2] + 1);
+                }
+                currentColumn[i] = edits;
+            }
+
+            if (rows < queryLength) {
+                currentColumn[rows + 1] = maxEdits + 1;
+            } else {
+                fewest = Math.min(fewest, currentColumn[queryLength]);
+            }
+            lastActive = rows;
+            while (lastActive > 0 && currentColumn[lastActive] > maxEdits) {
+                lastActive--;
+            }
+            if (fewest == 1) {
+                // The title does not contain the query, so no part of it can be closer than one edit
+                break;
+            }
+
+            int[] recycled = twoColumnsBack;
+            twoColumnsBack = previousColumn;
+            previousColumn = currentColumn;
+            currentColumn = recycled;
+        }
+        return fewest;
+    }
+}
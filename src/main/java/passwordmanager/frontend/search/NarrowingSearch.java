@@ -0,0 +1,227 @@
+package passwordmanager.frontend.search;
+
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.frontend.cache.TrigramIndex;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryTitleComparator;
+import passwordmanager.model.SearchText;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The {@code NarrowingSearch} class finds the entries whose title, username, email, link or category contains a
+ * query, ignoring case and accents, reusing the results of recent queries where it can.
+ *
+ * <p>Every entry containing a query also contains each substring of that query. So when a new query contains a
+ * recent query, such as when the user types one more character, only the recent query's matches are searched
+ * rather than every entry. Recent results are kept for a handful of queries, so deleting characters falls back
+ * to the results of the shorter query typed before. Matches keep the order of the searched entries.
+ *
+ * <p>When no recent query applies, a query of at least three characters is answered by the {@link TrigramIndex},
+ * which only checks the entries containing every trigram of the query. Shorter queries, and queries so broad that
+ * most entries could match, check every entry in order instead, which is then faster.
+ *
+ * <p>The query is normalized once per search and compared with the precomputed {@link Entry#getFieldsSearchKey()}
+ * of each entry, so checking an entry does not allocate. Together, a keystroke costs time proportional to the
+ * current results rather than to every entry.
+ *
+ * <p>Recent results belong to the snapshot they were found in, and are dropped once a newer snapshot of the
+ * entries is searched.
+ *
+ * <p>Searches are meant to run one at a time, such as on the single search thread of a {@link SearchPipeline}.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * NarrowingSearch search = new NarrowingSearch(entryCache::getSnapshot, entryCache.getIndex());
+ * SearchPipeline pipeline = new SearchPipeline(Duration.millis(120), search,
+ *         matches -> SearchResultsDiff.apply(listView.getItems(), matches));
+ * }
+ * </pre>
+ *
+ * @see SearchPipeline
+ * @see EntrySnapshot
+ * @see TrigramIndex
+ */
+public class NarrowingSearch implements SearchPipeline.Search {
+
+    // Number of recent queries whose results are kept for reuse
+    static final int MAX_RECENT_RESULTS = 8;
+
+    // Number of entries checked between checks for cancellation
+    private static final int CANCELLATION_CHECK_INTERVAL = 1024;
+
+    // The index answers a query only when at most this fraction of the entries can match it
+    private static final int INDEX_SELECTIVITY = 4;
+
+    private static final EntryTitleComparator titleComparator = new EntryTitleComparator();
+
+    /**
+     * The matches of a recent query.
+     *
+     * @param query the query, normalized with {@link SearchText#normalize(String)}.
+     * @param matches the entries containing the query.
+     */
+    private record RecentResult(String query, List<Entry> matches) {}
+
+    private final Supplier<EntrySnapshot> snapshots;
+    private final TrigramIndex index;
+
+    // Snapshot the recent results were found in, and the results themselves, most recent first
+    private EntrySnapshot searchedSnapshot;
+    private final Deque<RecentResult> recentResults = new ArrayDeque<>();
+
+    // Number of entries the last search checked, exposed for testing
+    private int lastCheckedCount;
+
+    /**
+     * Constructs a search over the entries of the latest snapshot, without an index.
+     *
+     * @param snapshots supplies the snapshot of entries to search, such as {@code EntryCache::getSnapshot}.
+     */
+    public NarrowingSearch(Supplier<EntrySnapshot> snapshots) {
+        this(snapshots, null);
+    }
+
+    /**
+     * Constructs a search over the entries of the latest snapshot, answering queries without recent results
+     * from the given index.
+     *
+     * @param snapshots supplies the snapshot of entries to search, such as {@code EntryCache::getSnapshot}.
+     * @param index the index of the same entries, such as {@code EntryCache.getIndex()}, or {@code null}.
+     */
+    public NarrowingSearch(Supplier<EntrySnapshot> snapshots, TrigramIndex index) {
+        this.snapshots = snapshots;
+        this.index = index;
+    }
+
+    /**
+     * Finds the entries whose title, username, email, link or category contains the query, ignoring case
+     * and accents.
+     *
+     * @param query the text to search for.
+     * @param cancelled returns {@code true} once the search has been superseded.
+     * @return the matching entries, in the order of the snapshot. Partial if the search was cancelled.
+     */
+    @Override
+    public synchronized List<Entry> search(String query, BooleanSupplier cancelled) {
+        EntrySnapshot snapshot = snapshots.get();
+        if (snapshot != searchedSnapshot) {
+            searchedSnapshot = snapshot;
+            recentResults.clear();
+        }
+
+        String normalizedQuery = SearchText.normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            lastCheckedCount = 0;
+            return snapshot.getEntries();
+        }
+
+        List<Entry> candidates = recentCandidatesFor(normalizedQuery);
+        List<Entry> matches;
+        if (candidates == null && isSelective(normalizedQuery, snapshot)) {
+            matches = indexedMatches(normalizedQuery, snapshot);
+        } else {
+            if (candidates == null) {
+                candidates = snapshot.getEntries();
+            }
+            lastCheckedCount = candidates.size();
+
+            matches = new ArrayList<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                if (i % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                    // A partial result must never be reused
+                    return matches;
+                }
+
+                Entry entry = candidates.get(i);
+                if (entry.fieldsMatch(normalizedQuery)) {
+                    matches.add(entry);
+                }
+            }
+        }
+
+        remember(normalizedQuery, matches);
+        return matches;
+    }
+
+    /**
+     * Returns the number of entries the last search checked against its query.
+     *
+     * @return the number of checked entries.
+     */
+    int getLastCheckedCount() {
+        return lastCheckedCount;
+    }
+
+    /**
+     * Picks the smallest recent results that are sure to contain every match of the query: the matches of a
+     * recent query contained in it.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}.
+     * @return the entries to check against the query, or {@code null} if no recent query applies.
+     */
+    private List<Entry> recentCandidatesFor(String normalizedQuery) {
+        List<Entry> candidates = null;
+        for (RecentResult recent : recentResults) {
+            if ((candidates == null || recent.matches().size() <= candidates.size()) &&
+                    normalizedQuery.contains(recent.query())) {
+                candidates = recent.matches();
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks whether a query should be answered by the index, which is when few enough entries can match it.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}.
+     * @param snapshot the snapshot being searched.
+     * @return {@code true} if the index should answer the query, {@code false} to check every entry.
+     */
+    private boolean isSelective(String normalizedQuery, EntrySnapshot snapshot) {
+        return index != null && TrigramIndex.canSearch(normalizedQuery) &&
+                index.countCandidates(normalizedQuery) <= snapshot.size() / INDEX_SELECTIVITY;
+    }
+
+    /**
+     * Finds the matches of a query with the index. The index is updated in place and may be ahead of the
+     * searched snapshot, so only matches that are the snapshot's entries are kept, then sorted into its order.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}.
+     * @param snapshot the snapshot being searched.
+     * @return the matching entries, in the order of the snapshot.
+     */
+    private List<Entry> indexedMatches(String normalizedQuery, EntrySnapshot snapshot) {
+        List<Entry> indexed = index.search(normalizedQuery);
+        lastCheckedCount = indexed.size();
+
+        List<Entry> matches = new ArrayList<>(indexed.size());
+        for (Entry entry : indexed) {
+            if (snapshot.get(entry.getTitle()) == entry) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(titleComparator);
+        return matches;
+    }
+
+    /**
+     * Keeps the matches of a query for reuse by later queries, dropping the oldest results once full.
+     *
+     * @param normalizedQuery the query, normalized with {@link SearchText#normalize(String)}.
+     * @param matches the entries containing the query.
+     */
+    private void remember(String normalizedQuery, List<Entry> matches) {
+        recentResults.removeIf(recent -> recent.query().equals(normalizedQuery));
+        recentResults.addFirst(new RecentResult(normalizedQuery, List.copyOf(matches)));
+        if (recentResults.size() > MAX_RECENT_RESULTS) {
+            recentResults.removeLast();
+        }
+    }
+}
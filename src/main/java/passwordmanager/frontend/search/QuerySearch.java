@@ -0,0 +1,197 @@
+package passwordmanager.frontend.search;
+
+import passwordmanager.backend.query.EntryQuery;
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.frontend.cache.FieldIndex;
+import passwordmanager.frontend.cache.TrigramIndex;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryTitleComparator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The {@code QuerySearch} class finds the cached entries matching an {@link EntryQuery}, such as
+ * {@code category:Gaming email:john* modified:>2025-01-01}, from the indexes of the entry cache.
+ *
+ * <p>Before checking any entry, the query tree is planned into the fewest entries that can match it:
+ * <ul>
+ *     <li>Field terms, groups and date ranges are looked up in the {@link FieldIndex}.</li>
+ *     <li>Words of at least three characters are looked up in the {@link TrigramIndex}, which returns every entry
+ *         containing them, a superset of the entries with a word starting with them.</li>
+ *     <li>An AND needs only the candidates of its smallest term, as every match is among them.</li>
+ *     <li>An OR needs the candidates of all of its terms together, so it can only be planned if each can.</li>
+ *     <li>A negation, or a word too short for the trigram index, cannot be planned on its own.</li>
+ * </ul>
+ * The candidates are then checked against the whole query. Only a query that cannot be planned at all, such as
+ * a lone negation, checks every entry.
+ *
+ * <p>The indexes are updated in place and may be ahead of the searched snapshot, so only candidates that are the
+ * snapshot's entries are kept, then sorted into its order.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * QuerySearch search = new QuerySearch(entryCache::getSnapshot, entryCache.getFieldIndex(), entryCache.getIndex());
+ * List<Entry> matches = search.search("category:Gaming modified:>2025-01-01", () -> false);
+ * }
+ * </pre>
+ *
+ * @see EntryQuery
+ * @see SearchPipeline
+ */
+public class QuerySearch implements SearchPipeline.Search {
+
+    // Number of entries checked between checks for cancellation
+    private static final int CANCELLATION_CHECK_INTERVAL = 1024;
+
+    private static final EntryTitleComparator titleComparator = new EntryTitleComparator();
+
+    private final Supplier<EntrySnapshot> snapshots;
+    private final FieldIndex fieldIndex;
+    private final TrigramIndex trigramIndex;
+
+    // Number of entries the last search checked, exposed for testing
+    private int lastCheckedCount;
+
+    /**
+     * Constructs a query search over the entries of the latest snapshot.
+     *
+     * @param snapshots supplies the snapshot of entries to search, such as {@code EntryCache::getSnapshot}.
+     * @param fieldIndex the field index of the same entries, such as {@code EntryCache.getFieldIndex()}.
+     * @param trigramIndex the trigram index of the same entries, such as {@code EntryCache.getIndex()}.
+     */
+    public QuerySearch(Supplier<EntrySnapshot> snapshots, FieldIndex fieldIndex, TrigramIndex trigramIndex) {
+        this.snapshots = snapshots;
+        this.fieldIndex = fieldIndex;
+        this.trigramIndex = trigramIndex;
+    }
+
+    /**
+     * Parses a query and finds the entries matching it.
+     *
+     * @param query the query, in the language described by {@link EntryQuery}.
+     * @param cancelled returns {@code true} once the search has been superseded.
+     * @return the matching entries, in the order of the snapshot, or an empty list if the query is malformed.
+     *         Partial if the search was cancelled.
+     */
+    @Override
+    public List<Entry> search(String query, BooleanSupplier cancelled) {
+        EntryQuery parsed;
+        try {
+            parsed = EntryQuery.parse(query);
+        } catch (IllegalArgumentException e) {
+            // Usually a query still being typed, such as a date not yet complete
+            return List.of();
+        }
+        return search(parsed, cancelled);
+    }
+
+    /**
+     * Finds the entries matching a query.
+     *
+     * @param query the query to match.
+     * @param cancelled returns {@code true} once the search has been superseded.
+     * @return the matching entries, in the order of the snapshot. Partial if the search was cancelled.
+     */
+    public synchronized List<Entry> search(EntryQuery query, BooleanSupplier cancelled) {
+        EntrySnapshot snapshot = snapshots.get();
+        Collection<Entry> candidates = candidates(query);
+
+        List<Entry> matches = new ArrayList<>();
+        if (candidates == null) {
+            // Every entry, already in the snapshot's order
+            candidates = snapshot.getEntries();
+        } else {
+            candidates = candidates.stream().filter(entry -> snapshot.get(entry.getTitle()) == entry).toList();
+        }
+        lastCheckedCount = candidates.size();
+
+        int checked = 0;
+        for (Entry entry : candidates) {
+            if (checked++ % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return matches;
+            }
+            if (query.test(entry)) {
+                matches.add(entry);
+            }
+        }
+
+        if (candidates != snapshot.getEntries()) {
+            matches.sort(titleComparator);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of entries the last search checked against its query.
+     *
+     * @return the number of checked entries.
+     */
+    int getLastCheckedCount() {
+        return lastCheckedCount;
+    }
+
+    /**
+     * Plans a query into the entries that can match it.
+     *
+     * @param query the query to plan.
+     * @return the entries that can match, which may include entries that do not, or {@code null} if every
+     *         entry can match.
+     */
+    private Collection<Entry> candidates(EntryQuery query) {
+        return switch (query) {
+            case EntryQuery.Equals equals -> fieldIndex.equalTo(equals.field(), equals.value());
+            case EntryQuery.StartsWith startsWith -> fieldIndex.startingWith(startsWith.field(), startsWith.prefix());
+            case EntryQuery.InGroup inGroup -> fieldIndex.inGroup(inGroup.group());
+            case EntryQuery.DateRange range -> fieldIndex.between(range.field(), range.from(), range.until());
+            case EntryQuery.Words words -> TrigramIndex.canSearch(words.normalizedText()) ?
+                    trigramIndex.search(words.normalizedText()) : null;
+            case EntryQuery.And and -> smallestCandidates(and.operands());
+            case EntryQuery.Or or -> allCandidates(or.operands());
+            case EntryQuery.Not not -> null;
+        };
+    }
+
+    /**
+     * Plans the operands of an AND, keeping the fewest candidates of any operand.
+     *
+     * @param operands the operands of the AND.
+     * @return the smallest candidates, or {@code null} if no operand can be planned.
+     */
+    private Collection<Entry> smallestCandidates(List<EntryQuery> operands) {
+        Collection<Entry> smallest = null;
+        for (EntryQuery operand : operands) {
+            Collection<Entry> candidates = candidates(operand);
+            if (candidates != null && (smallest == null || candidates.size() < smallest.size())) {
+                smallest = candidates;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Plans the operands of an OR, combining the candidates of every operand.
+     *
+     * @param operands the operands of the OR.
+     * @return the combined candidates, or {@code null} if an operand cannot be planned.
+     */
+    private Collection<Entry> allCandidates(List<EntryQuery> operands) {
+        // Entries compare by identity, and one matching several operands is only checked once
+        Set<Entry> all = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EntryQuery operand : operands) {
+            Collection<Entry> candidates = candidates(operand);
+            if (candidates == null) {
+                return null;
+            }
+            all.addAll(candidates);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,132 @@
+package passwordmanager.frontend.search;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+import passwordmanager.model.Entry;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * The {@code SearchPipeline} class runs searches typed into the search field without blocking the JavaFX
+ * application thread. Each query goes through the following stages:
+ * <ol>
+ *     <li>Queries are debounced, so a search only starts once typing has paused.</li>
+ *     <li>The search runs on a background thread.</li>
+ *     <li>Each query supersedes the previous one. A stale search is cancelled as soon as it checks, and its
+ *         results are discarded rather than displayed.</li>
+ *     <li>The results of the latest query are handed back on the JavaFX application thread.</li>
+ * </ol>
+ *
+ * <p>All methods must be called on the JavaFX application thread.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * SearchPipeline pipeline = new SearchPipeline(Duration.millis(120), this::findMatches,
+ *         matches -> SearchResultsDiff.apply(listView.getItems(), matches));
+ * searchField.textProperty().addListener((observable, oldValue, newValue) -> pipeline.submit(newValue));
+ * }
+ * </pre>
+ *
+ * @see SearchResultsDiff
+ */
+public final class SearchPipeline {
+
+    // Logger for logging purposes
+    private static final Logger logger = Logger.getLogger(SearchPipeline.class.getName());
+
+    /**
+     * A search that can be cancelled while it runs.
+     */
+    @FunctionalInterface
+    public interface Search {
+
+        /**
+         * Finds the entries matching a query.
+         *
+         * @param query the query to search for.
+         * @param cancelled returns {@code true} once the search has been superseded; checked periodically so
+         *                  that a stale search can stop early, in which case its result is ignored.
+         * @return the matching entries.
+         */
+        List<Entry> search(String query, BooleanSupplier cancelled);
+    }
+
+    private final Search search;
+    private final Consumer<List<Entry>> resultConsumer;
+    private final PauseTransition debounce;
+
+    // Searches run one at a time, a superseded search stops at its next check
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("search").factory());
+
+    // Incremented for every query, a search is stale once it no longer matches
+    private final AtomicLong generation = new AtomicLong();
+
+    private String pendingQuery = "";
+
+    /**
+     * Constructs a search pipeline.
+     *
+     * @param delay how long typing must pause before a search starts.
+     * @param search the search to run for each query, on a background thread.
+     * @param resultConsumer receives the results of the latest query, on the JavaFX application thread.
+     */
+    public SearchPipeline(Duration delay, Search search, Consumer<List<Entry>> resultConsumer) {
+        this.search = search;
+        this.resultConsumer = resultConsumer;
+        this.debounce = new PauseTransition(delay);
+        this.debounce.setOnFinished(e -> searchNow(pendingQuery));
+    }
+
+    /**
+     * Submits a query, searched for once no further query has been submitted for the debounce delay.
+     * The search in progress, if any, is superseded immediately.
+     *
+     * @param query the query to search for.
+     */
+    public void submit(String query) {
+        pendingQuery = query;
+        generation.incrementAndGet();
+        debounce.playFromStart();
+    }
+
+    /**
+     * Searches for a query straight away, skipping the debounce delay. Used when the searched entries change
+     * rather than the query.
+     *
+     * @param query the query to search for.
+     */
+    public void searchNow(String query) {
+        debounce.stop();
+        long searchGeneration = generation.incrementAndGet();
+        BooleanSupplier cancelled = () -> generation.get() != searchGeneration;
+
+        executor.execute(() -> {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            List<Entry> matches = search.search(query, cancelled);
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            logger.fine("Searched for '" + query + "' in " + (System.nanoTime() - start) / 1_000 + " us");
+
+            Platform.runLater(() -> {
+                // A newer query may have been submitted while the results were handed over
+                if (!cancelled.getAsBoolean()) {
+                    resultConsumer.accept(matches);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,187 @@
+package passwordmanager.frontend.search;
+
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code SearchResultsDiff} class updates a displayed list of search results to a new list of matches with as
+ * few change notifications as practical, so a list view only re-renders the rows that actually changed.
+ *
+ * <p>Both lists are usually in the same order, such as two subsets of the sorted entry cache. Items are
+ * compared by identity. The update is made in the following steps:
+ * <ol>
+ *     <li>The unchanged prefix and suffix shared by both lists are skipped.</li>
+ *     <li>Items no longer matching are removed, one change per contiguous run, starting from the end.</li>
+ *     <li>Newly matching items are inserted, one change per contiguous run.</li>
+ * </ol>
+ * Each change shifts the items after it, and an observable list removes items one at a time. When the changes are
+ * scattered over more than {@link #MAX_CHANGED_RUNS} runs, or more than {@link #MAX_REMOVED_ITEMS} items are
+ * removed, such as when a query narrows the results, the list is instead replaced in a single change. The list is
+ * also replaced without looking for individual changes when the changed range spans more than
+ * {@link #MAX_DIFFED_ITEMS} items, as finding them would then cost more than the replacement, or when the items
+ * found in both lists are in a different order, such as ranked results or a new sort order, as removing and
+ * inserting runs cannot move items.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * SearchResultsDiff.apply(listView.getItems(), matches);
+ * }
+ * </pre>
+ */
+public class SearchResultsDiff {
+
+    /**
+     * The number of separately removed or inserted runs above which the changed range is replaced as a whole.
+     */
+    static final int MAX_CHANGED_RUNS = 32;
+
+    /**
+     * The number of removed items above which the list is replaced as a whole.
+     */
+    static final int MAX_REMOVED_ITEMS = 64;
+
+    /**
+     * The combined size of the changed ranges above which the list is replaced without looking for individual changes.
+     */
+    static final int MAX_DIFFED_ITEMS = 4_096;
+
+    /**
+     * Updates the displayed items to match the given list.
+     *
+     * @param displayed the list being displayed, modified in place.
+     * @param matches the items that should be displayed. Replaces the displayed items at once if the items in both
+     *                are in a different order.
+     * @param <T> the type of the items.
+     */
+    public static <T> void apply(ObservableList<T> displayed, List<T> matches) {
+        // Skip the unchanged prefix and suffix
+        int start = 0;
+        int limit = Math.min(displayed.size(), matches.size());
+        while (start < limit && displayed.get(start) == matches.get(start)) {
+            start++;
+        }
+
+        int displayedEnd = displayed.size();
+        int matchesEnd = matches.size();
+        while (displayedEnd > start && matchesEnd > start && displayed.get(displayedEnd - 1) == matches.get(matchesEnd - 1)) {
+            displayedEnd--;
+            matchesEnd--;
+        }
+
+        if (start == displayedEnd && start == matchesEnd) {
+            return;
+        }
+
+        List<T> displayedRange = displayed.subList(start, displayedEnd);
+        List<T> matchesRange = matches.subList(start, matchesEnd);
+
+        // At least the difference in size has to be removed
+        if (displayedRange.size() - matchesRange.size() > MAX_REMOVED_ITEMS
+                || displayedRange.size() + matchesRange.size() > MAX_DIFFED_ITEMS) {
+            displayed.setAll(matches);
+            return;
+        }
+
+        // Items kept in both lists must keep their order, otherwise the results were reordered, such as by
+        // a new sort order, and are replaced
+        Set<T> matchesSet = identitySet(matchesRange);
+        Set<T> displayedSet = identitySet(displayedRange);
+        if (!keptInSameOrder(displayedRange, matchesSet, matchesRange, displayedSet)) {
+            displayed.setAll(matches);
+            return;
+        }
+
+        // Runs of the changed range to remove from the displayed items and to insert from the matches
+        List<int[]> removedRuns = runsNotIn(displayedRange, matchesSet);
+        List<int[]> insertedRuns = runsNotIn(matchesRange, displayedSet);
+
+        int removedItems = 0;
+        for (int[] run : removedRuns) {
+            removedItems += run[1] - run[0];
+        }
+
+        if (removedRuns.size() + insertedRuns.size() > MAX_CHANGED_RUNS || removedItems > MAX_REMOVED_ITEMS) {
+            displayed.setAll(matches);
+            return;
+        }
+
+        // Remove from the end so the positions of earlier runs are unaffected
+        for (int i = removedRuns.size() - 1; i >= 0; i--) {
+            int[] run = removedRuns.get(i);
+            displayed.remove(start + run[0], start + run[1]);
+        }
+
+        // Once removed, the displayed items are a subsequence of the matches, so each run is inserted at its final position
+        for (int[] run : insertedRuns) {
+            displayed.addAll(start + run[0], matchesRange.subList(run[0], run[1]));
+        }
+    }
+
+    /**
+     * Checks whether the items found in both lists appear in the same order in each.
+     *
+     * @param displayed the displayed items.
+     * @param inMatches the matches, as an identity set.
+     * @param matches the matching items.
+     * @param inDisplayed the displayed items, as an identity set.
+     * @return {@code true} if the kept items have the same relative order in both lists.
+     */
+    private static <T> boolean keptInSameOrder(List<T> displayed, Set<T> inMatches, List<T> matches, Set<T> inDisplayed) {
+        int m = 0;
+        for (T item : displayed) {
+            if (!inMatches.contains(item)) {
+                continue;
+            }
+            while (!inDisplayed.contains(matches.get(m))) {
+                m++;
+            }
+            if (matches.get(m++) != item) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the contiguous runs of items not contained in the given set.
+     *
+     * @param items the items to scan.
+     * @param set the items that are not part of a run.
+     * @return the runs, each as its start (inclusive) and end (exclusive) index, in ascending order.
+     */
+    private static <T> List<int[]> runsNotIn(List<T> items, Set<T> set) {
+        List<int[]> runs = new ArrayList<>();
+        int runStart = -1;
+        for (int i = 0; i < items.size(); i++) {
+            boolean inRun = !set.contains(items.get(i));
+            if (inRun && runStart < 0) {
+                runStart = i;
+            } else if (!inRun && runStart >= 0) {
+                runs.add(new int[]{runStart, i});
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0) {
+            runs.add(new int[]{runStart, items.size()});
+        }
+        return runs;
+    }
+
+    /**
+     * Creates a set of the given items compared by identity.
+     *
+     * @param items the items of the set.
+     * @return the identity set.
+     */
+    private static <T> Set<T> identitySet(List<T> items) {
+        Set<T> set = Collections.newSetFromMap(new IdentityHashMap<>(items.size()));
+        set.addAll(items);
+        return set;
+    }
+}
@@ -0,0 +1,102 @@
+package passwordmanager.model;
+
+import java.util.Comparator;
+
+/**
+ * The {@code AsciiCase} class compares text ignoring the case of ASCII letters only, as SQLite's {@code NOCASE}
+ * collation, {@code LIKE} and {@code lower} function do. Values compared in memory and by the database then
+ * match the same way: "GAMING" equals "gaming", but "ÉCOLE" does not equal "école", since neither side folds
+ * the case of other letters.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * TreeMap<String, Set<Entry>> byCategory = new TreeMap<>(AsciiCase.ORDER);
+ * boolean matches = AsciiCase.equalsIgnoreCase(entry.getCategory(), "gaming");
+ * }
+ * </pre>
+ *
+ * @see EntryFacets
+ */
+public final class AsciiCase {
+
+    /**
+     * Orders text by its characters, ignoring the case of ASCII letters, consistently with
+     * {@link #equalsIgnoreCase(String, String)}.
+     */
+    public static final Comparator<String> ORDER = AsciiCase::compareIgnoreCase;
+
+    private AsciiCase() {
+    }
+
+    /**
+     * Checks whether two values are equal, ignoring the case of ASCII letters.
+     *
+     * @param value the value, or {@code null}.
+     * @param other the value to compare with, or {@code null}.
+     * @return {@code true} if both are {@code null}, or both have the same characters ignoring ASCII case.
+     */
+    public static boolean equalsIgnoreCase(String value, String other) {
+        if (value == null || other == null) {
+            return value == other;
+        }
+        return value.length() == other.length() && regionMatches(value, other, other.length());
+    }
+
+    /**
+     * Checks whether a value starts with a prefix, ignoring the case of ASCII letters.
+     *
+     * @param value the value, or {@code null}.
+     * @param prefix the prefix.
+     * @return {@code true} if the value is not {@code null} and starts with the prefix ignoring ASCII case.
+     */
+    public static boolean startsWithIgnoreCase(String value, String prefix) {
+        return value != null && value.length() >= prefix.length() && regionMatches(value, prefix, prefix.length());
+    }
+
+    /**
+     * Compares two values by their characters, ignoring the case of ASCII letters.
+     *
+     * @param value the value.
+     * @param other the value to compare with.
+     * @return a negative number, zero or a positive number as the value sorts before, with or after the other.
+     */
+    public static int compareIgnoreCase(String value, String other) {
+        int length = Math.min(value.length(), other.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = toLowerCase(value.charAt(i));
+            char c2 = toLowerCase(other.charAt(i));
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return value.length() - other.length();
+    }
+
+    /**
+     * Lower cases the ASCII letters of a value, leaving any other character as is.
+     *
+     * @param value the value.
+     * @return the lower cased value.
+     */
+    public static String toLowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static boolean regionMatches(String value, String other, int length) {
+        for (int i = 0; i < length; i++) {
+            if (toLowerCase(value.charAt(i)) != toLowerCase(other.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -1,6 +1,7 @@
 package passwordmanager.model;
 
 import java.sql.Timestamp;
+import java.text.CollationKey;
 
 /**
  * Represents an entry in the password manager.
@@ -22,6 +23,23 @@ public class Entry {
     private Timestamp dateCreated;
     private Timestamp dateModified;
 
+    // Normalized title searches compare against, computed once as titles cannot change
+    private final String searchKey;
+    private final long searchKeyCharacters;
+
+    // Key the title is sorted by, computed once so sorting compares it directly
+    private final String titleSortKey;
+
+    // Keys the title and category are collated by, computed on first sort and reset whenever the category is set
+    private CollationKey titleCollationKey;
+    private CollationKey categoryCollationKey;
+
+    // Collation key standing for a missing category, as a key is only computed once
+    private static final CollationKey NO_CATEGORY = EntrySortOrder.collationKey("");
+
+    // Normalized searchable fields, computed on first search and reset whenever one of them is set
+    private String fieldsSearchKey;
+
     /**
      * Constructs an Entry with the specified title.
      *
@@ -29,6 +47,9 @@ public class Entry {
      */
     public Entry(String title) {
         this.title = title;
+        this.searchKey = SearchText.normalize(title);
+        this.searchKeyCharacters = SearchText.characterMask(searchKey);
+        this.titleSortKey = EntryTitleComparator.sortKey(title);
     }
 
     /**
@@ -108,6 +129,7 @@ public class Entry {
      */
     public void setEmail(String email) {
         this.email = email;
+        this.fieldsSearchKey = null;
     }
 
     /**
@@ -135,6 +157,7 @@ public class Entry {
      */
     public void setUsername(String username) {
         this.username = username;
+        this.fieldsSearchKey = null;
     }
 
     /**
@@ -153,6 +176,7 @@ public class Entry {
      */
     public void setLink(String link) {
         this.link = link;
+        this.fieldsSearchKey = null;
     }
 
     /**
@@ -162,6 +186,8 @@ public class Entry {
      */
     public void setCategory(String category) {
         this.category = category;
+        this.fieldsSearchKey = null;
+        this.categoryCollationKey = null;
     }
 
     /**
@@ -213,12 +239,116 @@ public class Entry {
     }
 
     /**
-     * Returns true if the title of this entry contains the search string, ignoring case.
+     * Returns true if the title of this entry contains the search string, ignoring case and accents.
+     * The search string is normalized on every call, so searches over many entries should normalize it once
+     * and use {@link #titleMatches(String)} instead.
      *
      * @param search the search string to check for in the title.
      * @return true if the title contains the search string, false otherwise.
      */
     public boolean titleContains(String search) {
-        return title.toLowerCase().contains(search.toLowerCase());
+        return titleMatches(SearchText.normalize(search));
+    }
+
+    /**
+     * Returns true if the title of this entry contains an already normalized search string. Does not allocate.
+     *
+     * @param normalizedSearch the search string, normalized with {@link SearchText#normalize(String)}.
+     * @return true if the title contains the search string, false otherwise.
+     */
+    public boolean titleMatches(String normalizedSearch) {
+        return SearchText.contains(searchKey, normalizedSearch);
+    }
+
+    /**
+     * Returns the search key of this entry: its title normalized with {@link SearchText#normalize(String)},
+     * computed when the entry is constructed.
+     *
+     * @return the normalized title.
+     */
+    public String getSearchKey() {
+        return searchKey;
+    }
+
+    /**
+     * Returns the characters of the search key of this entry, computed with
+     * {@link SearchText#characterMask(String)} when the entry is constructed.
+     *
+     * @return the mask of the characters in the normalized title.
+     */
+    public long getSearchKeyCharacters() {
+        return searchKeyCharacters;
+    }
+
+    /**
+     * Returns the key the title of this entry is sorted by, computed with {@link EntryTitleComparator#sortKey(String)}
+     * when the entry is constructed.
+     *
+     * @return the sort key of the title.
+     */
+    public String getTitleSortKey() {
+        return titleSortKey;
+    }
+
+    /**
+     * Returns the key the title of this entry is collated by, with the rules of the default locale.
+     * Computed on first use.
+     *
+     * @return the collation key of the title.
+     * @see EntrySortOrder#TITLE
+     */
+    public CollationKey getTitleCollationKey() {
+        // Racing threads can only compute equal immutable keys, so no synchronization is needed
+        CollationKey key = titleCollationKey;
+        if (key == null) {
+            key = EntrySortOrder.collationKey(title == null ? "" : title);
+            titleCollationKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Returns the key the category of this entry is collated by, with the rules of the default locale.
+     * Computed on first use and again after the category is set.
+     *
+     * @return the collation key of the category, or {@code null} if the entry has no category.
+     * @see EntrySortOrder#CATEGORY
+     */
+    public CollationKey getCategoryCollationKey() {
+        CollationKey key = categoryCollationKey;
+        if (key == null) {
+            key = category == null || category.isBlank() ? NO_CATEGORY : EntrySortOrder.collationKey(category);
+            categoryCollationKey = key;
+        }
+        return key == NO_CATEGORY ? null : key;
+    }
+
+    /**
+     * Returns true if the title, username, email, link or category of this entry contains an already
+     * normalized search string. Does not allocate once the fields search key has been computed.
+     *
+     * @param normalizedSearch the search string, normalized with {@link SearchText#normalize(String)}.
+     * @return true if one of the searchable fields contains the search string, false otherwise.
+     */
+    public boolean fieldsMatch(String normalizedSearch) {
+        return SearchText.contains(getFieldsSearchKey(), normalizedSearch);
+    }
+
+    /**
+     * Returns the fields search key of this entry: its title, username, email, link and category, each normalized
+     * with {@link SearchText#normalize(String)} and separated by {@link SearchText#FIELD_SEPARATOR}, so that
+     * no match spans two fields. Computed on first use and again after one of the fields is set.
+     *
+     * @return the normalized searchable fields.
+     */
+    public String getFieldsSearchKey() {
+        // Racing threads can only compute the same immutable string, so no synchronization is needed
+        String key = fieldsSearchKey;
+        if (key == null) {
+            key = SearchText.join(searchKey, SearchText.normalize(username), SearchText.normalize(email),
+                    SearchText.normalize(link), SearchText.normalize(category));
+            fieldsSearchKey = key;
+        }
+        return key;
     }
 }
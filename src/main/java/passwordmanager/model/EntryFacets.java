@@ -0,0 +1,75 @@
+package passwordmanager.model;
+
+/**
+ * The {@code EntryFacets} class normalizes the values entries are counted by, such as their category and the
+ * domain of their email. Entries are counted both in memory and by the database, so a value is normalized in
+ * exactly the way SQLite's built-in {@code trim} and {@code lower} functions do it:
+ * <ul>
+ *     <li>Surrounding {@link #WHITESPACE} is removed, other characters are kept.</li>
+ *     <li>Email domains are lower cased, ASCII letters only, with {@link AsciiCase#toLowerCase(String)}.</li>
+ *     <li>Values left empty are not counted.</li>
+ * </ul>
+ * For example, the categories "Work" and " Work " are counted together, as are the emails "john@Example.com"
+ * and "jane@example.com ".
+ *
+ * @see passwordmanager.frontend.cache.EntrySnapshot#getCategoryCounts()
+ * @see passwordmanager.backend.DatabaseAPI#getCategoryCounts()
+ */
+public final class EntryFacets {
+
+    /**
+     * The whitespace removed from around a value: space, tab, line feed, vertical tab, form feed and carriage
+     * return.
+     */
+    public static final String WHITESPACE = " \t\n\u000B\f\r";
+
+    private EntryFacets() {
+    }
+
+    /**
+     * Returns the category an entry is counted under.
+     *
+     * @param category the category of the entry, or {@code null}.
+     * @return the category without surrounding whitespace, or {@code null} if nothing is left.
+     */
+    public static String category(String category) {
+        return emptyToNull(trim(category));
+    }
+
+    /**
+     * Returns the email domain an entry is counted under.
+     *
+     * @param email the email of the entry, or {@code null}.
+     * @return the part of the email after the first {@code @}, without surrounding whitespace and lower cased,
+     *         or {@code null} if the email has no {@code @} or nothing is left.
+     */
+    public static String emailDomain(String email) {
+        int at = email == null ? -1 : email.indexOf('@');
+        return at < 0 ? null : emptyToNull(AsciiCase.toLowerCase(trim(email.substring(at + 1))));
+    }
+
+    /**
+     * Removes the {@link #WHITESPACE} from both ends of a value.
+     *
+     * @param value the value, or {@code null}.
+     * @return the trimmed value, or {@code null} if the value is {@code null}.
+     */
+    private static String trim(String value) {
+        if (value == null) {
+            return null;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && WHITESPACE.indexOf(value.charAt(start)) >= 0) {
+            start++;
+        }
+        while (end > start && WHITESPACE.indexOf(value.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,95 @@
+package passwordmanager.model;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Comparator;
+
+/**
+ * The {@code EntrySortOrder} enum lists the orders entries can be displayed in, each with the comparator
+ * defining it:
+ * <ul>
+ *     <li>{@link #TITLE}: by title, following the collation rules of the default locale, so accented and
+ *         unaccented letters sort together as a reader of the language expects.</li>
+ *     <li>{@link #DATE_MODIFIED} and {@link #DATE_CREATED}: most recent first, with entries without the date
+ *         last.</li>
+ *     <li>{@link #CATEGORY}: by category, collated like titles, then by title within each category. Entries
+ *         without a category come last.</li>
+ * </ul>
+ * Entries with equal values are ordered by title, and titles are unique, so every order is total.
+ *
+ * <p>Collating a string is far slower than comparing two strings, so titles and categories are compared by
+ * {@link CollationKey}s computed once per entry, see {@link Entry#getTitleCollationKey()}.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * List<Entry> entries = ...;
+ * entries.sort(EntrySortOrder.DATE_MODIFIED.comparator());
+ * }
+ * </pre>
+ *
+ * @see EntryTitleComparator
+ */
+public enum EntrySortOrder {
+
+    TITLE("Title", ByTitle.COMPARATOR),
+    DATE_MODIFIED("Date Modified", Comparator.comparing(Entry::getDateModified,
+            Comparator.nullsLast(Comparator.reverseOrder())).thenComparing(ByTitle.COMPARATOR)),
+    DATE_CREATED("Date Created", Comparator.comparing(Entry::getDateCreated,
+            Comparator.nullsLast(Comparator.reverseOrder())).thenComparing(ByTitle.COMPARATOR)),
+    CATEGORY("Group", Comparator.comparing(Entry::getCategoryCollationKey,
+            Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(ByTitle.COMPARATOR));
+
+    // Collators are not thread-safe, so keys are computed while holding its lock
+    private static final Collator collator = Collator.getInstance();
+
+    private final String displayName;
+    private final Comparator<Entry> comparator;
+
+    EntrySortOrder(String displayName, Comparator<Entry> comparator) {
+        this.displayName = displayName;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Holds the title order every other order falls back to. The constants are constructed before the enum's own
+     * static fields are initialized, so they cannot share one of those; a nested class is initialized on first use.
+     */
+    private static final class ByTitle {
+
+        // Breaks ties between entries with the same collation key, which can still differ, so every order is total
+        private static final Comparator<Entry> COMPARATOR = Comparator.comparing(Entry::getTitleCollationKey)
+                .thenComparing(new EntryTitleComparator());
+    }
+
+    /**
+     * Returns the comparator ordering entries in this order.
+     *
+     * @return the comparator of this order.
+     */
+    public Comparator<Entry> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Computes the collation key of a text, with the rules of the default locale.
+     *
+     * @param text the text to collate.
+     * @return the collation key of the text.
+     */
+    static CollationKey collationKey(String text) {
+        synchronized (collator) {
+            return collator.getCollationKey(text);
+        }
+    }
+
+    /**
+     * Returns the name of this order, as shown to the user.
+     *
+     * @return the display name.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -6,6 +6,11 @@ import java.util.Comparator;
  * The {@code EntryTitleComparator} class provides a comparison function for {@link Entry} objects
  * based on their titles.
  *
+ * <p>Titles are ordered by their first differing character, compared ignoring case, and if the characters only
+ * differ in case, uppercase letters come first. Rather than folding the case of each character on every
+ * comparison, each entry holds a sort key computed once from its title by {@link #sortKey(String)}, and
+ * comparing two entries compares their keys as plain strings.
+ *
  * <p>Usage example:
  * <pre>
  * {@code
@@ -14,13 +19,13 @@ import java.util.Comparator;
  * }
  * </pre>
  *
- * @see Entry
+ * @see Entry#getTitleSortKey()
  */
 public class EntryTitleComparator implements Comparator<Entry> {
 
     /**
      * Compares two {@link Entry} objects based on their titles.
-     * Lowercase letters are considered smaller than uppercase letters.
+     * Uppercase letters are considered smaller than the same letters in lowercase.
      *
      * @param entry1 the first {@code Entry} to be compared.
      * @param entry2 the second {@code Entry} to be compared.
@@ -29,26 +34,29 @@ public class EntryTitleComparator implements Comparator<Entry> {
      */
     @Override
     public int compare(Entry entry1, Entry entry2) {
-        String title1 = entry1.getTitle();
-        String title2 = entry2.getTitle();
-
-        int len1 = title1.length();
-        int len2 = title2.length();
-        int lim = Math.min(len1, len2);
+        return entry1.getTitleSortKey().compareTo(entry2.getTitleSortKey());
+    }
 
-        for (int k = 0; k < lim; k++) {
-            char c1 = title1.charAt(k);
-            char c2 = title2.charAt(k);
+    /**
+     * Computes the sort key of a title. Each character of the title is replaced by its lowercase form followed by
+     * itself, so at the first character two titles differ by, their keys compare the characters ignoring case
+     * first and exactly second, and a title that is the start of another sorts first. Comparing two keys with
+     * {@link String#compareTo(String)} therefore orders titles as described by this class.
+     *
+     * @param title the title, or {@code null}.
+     * @return the sort key of the title, twice its length, or an empty string if the title is {@code null}.
+     */
+    public static String sortKey(String title) {
+        if (title == null) {
+            return "";
+        }
 
-            if (c1 != c2) {
-                // Compare case-sensitive characters
-                if (Character.toLowerCase(c1) == Character.toLowerCase(c2)) {
-                    return c1 - c2; // Different case but same letter
-                } else {
-                    return Character.toLowerCase(c1) - Character.toLowerCase(c2);
-                }
-            }
+        char[] key = new char[title.length() * 2];
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            key[2 * i] = Character.toLowerCase(c);
+            key[2 * i + 1] = c;
         }
-        return len1 - len2;
+        return new String(key);
     }
 }
@@ -0,0 +1,155 @@
+package passwordmanager.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * The {@code SearchText} class normalizes text for searching, so that a search ignores case and accents.
+ * Normalized text is compatibility decomposed (NFKD), stripped of combining marks and lower cased in the root
+ * locale. For example, "Café", "CAFE" and "ｃａｆｅ" all normalize to "cafe".
+ *
+ * <p>Entries normalize their title once, into their search key. A search normalizes its query once, then
+ * compares it with each search key using {@link #contains(String, String)}, which does not allocate.
+ *
+ * <p>Usage example:
+ * <pre>
+ * {@code
+ * String query = SearchText.normalize(searchField.getText());
+ * for (Entry entry : entries) {
+ *     if (SearchText.contains(entry.getSearchKey(), query)) {
+ *         matches.add(entry);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @see Entry#getSearchKey()
+ */
+public final class SearchText {
+
+    /**
+     * Separates the fields of text joined with {@link #join(String...)}. It is removed from normalized text,
+     * so a normalized query never contains it and never matches across two fields.
+     */
+    public static final char FIELD_SEPARATOR = '\u0000';
+
+    private SearchText() {
+    }
+
+    /**
+     * Normalizes text for searching. Plain ASCII text, the common case for titles, is only lower cased,
+     * and is returned as is when it already is lower case.
+     *
+     * @param text the text to normalize, may be {@code null}.
+     * @return the normalized text, or an empty string if the text is {@code null}.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        boolean ascii = true;
+        boolean lowerCase = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            char c = text.charAt(i);
+            ascii = c < 0x80 && c != FIELD_SEPARATOR;
+            lowerCase &= c < 'A' || c > 'Z';
+        }
+        if (ascii) {
+            return lowerCase ? text : text.toLowerCase(Locale.ROOT);
+        }
+
+        // Decompose accented and compatibility characters, then drop the marks left behind
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (!isCombiningMark(c) && c != FIELD_SEPARATOR) {
+                stripped.append(c);
+            }
+        }
+        return stripped.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Joins normalized fields into a single text, separated by {@link #FIELD_SEPARATOR}.
+     *
+     * @param normalizedFields the fields, each normalized with {@link #normalize(String)}.
+     * @return the joined fields.
+     */
+    public static String join(String... normalizedFields) {
+        return String.join(String.valueOf(FIELD_SEPARATOR), normalizedFields);
+    }
+
+    /**
+     * Checks whether a normalized text contains a normalized query. Neither string is copied, so the check
+     * does not allocate.
+     *
+     * @param normalizedText the text to search, normalized with {@link #normalize(String)}.
+     * @param normalizedQuery the query to search for, normalized with {@link #normalize(String)}.
+     * @return {@code true} if the text contains the query, {@code false} otherwise.
+     */
+    public static boolean contains(String normalizedText, String normalizedQuery) {
+        return normalizedText.contains(normalizedQuery);
+    }
+
+    /**
+     * Returns the set of characters in a normalized text as a 64 bit mask. Letters and digits each have their
+     * own bit, while any other character shares one of the remaining bits. A character in the text always sets
+     * its bit, so a bit set in one mask but not in another proves the second text lacks a character of the first.
+     *
+     * @param normalizedText the text, normalized with {@link #normalize(String)}.
+     * @return the mask of the characters in the text.
+     */
+    public static long characterMask(String normalizedText) {
+        long mask = 0;
+        for (int i = 0; i < normalizedText.length(); i++) {
+            mask |= 1L << characterBit(normalizedText.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Counts the characters of a normalized text, repeats included, by their bit in {@link #characterMask(String)}.
+     * Summing the counts of the bits missing from another text's mask gives the number of characters definitely
+     * missing from the other text, each of which must be removed or replaced to turn the text into part of it.
+     *
+     * @param normalizedText the text, normalized with {@link #normalize(String)}.
+     * @return the number of characters of the text for each of the 64 bits.
+     */
+    public static int[] characterCounts(String normalizedText) {
+        int[] counts = new int[Long.SIZE];
+        for (int i = 0; i < normalizedText.length(); i++) {
+            counts[characterBit(normalizedText.charAt(i))]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the bit of a character in a {@link #characterMask(String)}.
+     *
+     * @param c the character.
+     * @return the bit of the character, from 0 to 63.
+     */
+    private static int characterBit(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + c - '0';
+        }
+        return 36 + c % 28;
+    }
+
+    /**
+     * Checks whether a character is a combining mark, such as an accent left behind by decomposition.
+     *
+     * @param c the character to check.
+     * @return {@code true} if the character is a combining mark, {@code false} otherwise.
+     */
+    private static boolean isCombiningMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK ||
+                type == Character.ENCLOSING_MARK;
+    }
+}
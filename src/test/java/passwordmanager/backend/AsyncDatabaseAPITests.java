@@ -0,0 +1,90 @@
+package passwordmanager.backend;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import passwordmanager.backend.local.SQLLite.LocalAPI;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the AsyncDatabaseAPI.
+ */
+public class AsyncDatabaseAPITests {
+
+    private static AsyncDatabaseAPI database;
+
+    /**
+     * Sets up the database connection and initializes the AsyncDatabaseAPI instance before all tests.
+     */
+    @BeforeAll
+    public static void setup() {
+        DatabaseConnection.setConnection();
+        database = new AsyncDatabaseAPI(LocalAPI.getInstance());
+    }
+
+    /**
+     * Tests that an entry written asynchronously can then be read back asynchronously.
+     */
+    @Test
+    public void testNewEntryThenGetEntry() {
+        Entry entry = new EntryBuilder("AsyncExample").email("async@a.com").build();
+
+        Entry retrieved = database.newEntry(entry)
+                .thenCompose(v -> database.getEntry("AsyncExample"))
+                .join();
+
+        assertNotNull(retrieved);
+        assertEquals("async@a.com", retrieved.getEmail());
+
+        // Cleanup
+        database.removeEntry(entry).join();
+        assertNull(database.getEntry("AsyncExample").join());
+    }
+
+    /**
+     * Tests that a write which is not applied completes its future exceptionally.
+     */
+    @Test
+    public void testFailedWriteCompletesExceptionally() {
+        Entry entry = new EntryBuilder("AsyncFailureExample").build();
+        database.newEntry(entry).join();
+
+        try {
+            // The title is already used
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> database.newEntry(new EntryBuilder("AsyncFailureExample").build()).join());
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        } finally {
+            database.removeEntry(entry).join();
+        }
+
+        assertThrows(CompletionException.class, () -> database.removeEntry(entry).join());
+    }
+
+    /**
+     * Tests that writes are applied in the order they were submitted.
+     */
+    @Test
+    public void testWritesApplyInSubmissionOrder() {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Entry entry = new EntryBuilder("AsyncOrderExample" + i).build();
+
+            // Each removal is submitted straight after its insert, without waiting for it
+            writes.add(database.newEntry(entry));
+            writes.add(database.removeEntry(entry));
+        }
+        CompletableFuture.allOf(writes.toArray(CompletableFuture<?>[]::new)).join();
+
+        List<String> titles = database.getEntryTitles().join();
+        assertTrue(titles.stream().noneMatch(title -> title.startsWith("AsyncOrderExample")));
+    }
+
+}
@@ -0,0 +1,99 @@
+package passwordmanager.backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import passwordmanager.app.ApplicationSettings;
+import passwordmanager.backend.local.SQLLite.LocalDatabaseConstants;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the pool of read connections of the DatabaseConnection.
+ */
+public class DatabaseConnectionTests {
+
+    /**
+     * Restores the connection to the test database after each test.
+     */
+    @AfterEach
+    public void restoreConnection() {
+        DatabaseConnection.closeConnection();
+        DatabaseConnection.setConnection();
+    }
+
+    /**
+     * Tests that a read connection borrowed before the connections were set again is closed when released,
+     * rather than handed out for the new database.
+     */
+    @Test
+    public void testStaleReadConnectionIsNotPooled() throws SQLException, IOException {
+        Path directory = Files.createTempDirectory("pool");
+        String url = "jdbc:sqlite:" + directory.resolve("pool.db");
+        DatabaseConnection.setConnection(url, ApplicationSettings.DBPerformanceProfile.BALANCED);
+        Connection stale = DatabaseConnection.acquireReadConnection();
+        assertNotSame(DatabaseConnection.getConnection(), stale);
+
+        DatabaseConnection.setConnection(url, ApplicationSettings.DBPerformanceProfile.BALANCED);
+        // A read in progress is not interrupted, the connection is only closed once released
+        assertFalse(stale.isClosed());
+        DatabaseConnection.releaseReadConnection(stale);
+        assertTrue(stale.isClosed());
+
+        // Only the new connections are handed out, and the pool keeps its size
+        Set<Connection> borrowed = new HashSet<>();
+        for (int i = 0; i < LocalDatabaseConstants.READ_CONNECTION_POOL_SIZE; i++) {
+            Connection readConnection = DatabaseConnection.acquireReadConnection();
+            assertNotSame(stale, readConnection);
+            assertFalse(readConnection.isClosed());
+            borrowed.add(readConnection);
+        }
+        assertEquals(LocalDatabaseConstants.READ_CONNECTION_POOL_SIZE, borrowed.size());
+        assertEquals(0, DatabaseConnection.getPoolMetrics().idleReadConnections());
+
+        // Releasing a connection twice does not add it twice
+        Connection readConnection = borrowed.iterator().next();
+        DatabaseConnection.releaseReadConnection(readConnection);
+        DatabaseConnection.releaseReadConnection(readConnection);
+        assertEquals(1, DatabaseConnection.getPoolMetrics().idleReadConnections());
+    }
+
+    /**
+     * Tests that a borrower waiting for a read connection is handed the writer connection once the pool is
+     * replaced by a database without read connections, rather than waiting forever.
+     */
+    @Test
+    public void testWaitingBorrowerFallsBackToWriter() throws Exception {
+        Path directory = Files.createTempDirectory("pool");
+        String url = "jdbc:sqlite:" + directory.resolve("pool.db");
+        DatabaseConnection.setConnection(url, ApplicationSettings.DBPerformanceProfile.BALANCED);
+
+        List<Connection> borrowed = new ArrayList<>();
+        for (int i = 0; i < LocalDatabaseConstants.READ_CONNECTION_POOL_SIZE; i++) {
+            borrowed.add(DatabaseConnection.acquireReadConnection());
+        }
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(DatabaseConnection::acquireReadConnection);
+        // Gives the borrower time to start waiting for a connection
+        Thread.sleep(300);
+        assertFalse(waiting.isDone());
+
+        DatabaseConnection.setConnection("jdbc:sqlite::memory:", ApplicationSettings.DBPerformanceProfile.BALANCED);
+        assertSame(DatabaseConnection.getConnection(), waiting.get(5, TimeUnit.SECONDS));
+
+        for (Connection readConnection : borrowed) {
+            DatabaseConnection.releaseReadConnection(readConnection);
+            assertTrue(readConnection.isClosed());
+        }
+    }
+}
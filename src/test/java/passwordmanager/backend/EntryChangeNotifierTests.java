@@ -0,0 +1,80 @@
+package passwordmanager.backend;
+
+import org.junit.jupiter.api.Test;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the EntryChangeNotifier.
+ */
+public class EntryChangeNotifierTests {
+
+    /**
+     * Tests that events published outside of a batch are delivered immediately.
+     */
+    @Test
+    public void testPublishDeliversImmediately() {
+        EntryChangeNotifier notifier = new EntryChangeNotifier();
+        List<List<EntryChangeEvent>> deliveries = new ArrayList<>();
+        notifier.addListener(deliveries::add);
+
+        Entry entry = new EntryBuilder("NotifierExample").build();
+        notifier.publish(EntryChangeEvent.added(entry));
+
+        assertEquals(1, deliveries.size());
+        assertEquals(EntryChangeEvent.Type.ADDED, deliveries.get(0).get(0).type());
+        assertSame(entry, deliveries.get(0).get(0).entry());
+    }
+
+    /**
+     * Tests that events published within nested batches are delivered together once the outermost batch closes.
+     */
+    @Test
+    @SuppressWarnings("try")
+    public void testBatchesCoalesceDeliveries() {
+        EntryChangeNotifier notifier = new EntryChangeNotifier();
+        List<List<EntryChangeEvent>> deliveries = new ArrayList<>();
+        notifier.addListener(deliveries::add);
+
+        try (EntryChangeNotifier.Batch outer = notifier.beginBatch()) {
+            notifier.publish(EntryChangeEvent.added(new EntryBuilder("a").build()));
+
+            try (EntryChangeNotifier.Batch inner = notifier.beginBatch()) {
+                notifier.publish(EntryChangeEvent.removed("b", null));
+            }
+            assertTrue(deliveries.isEmpty());
+
+            notifier.publish(EntryChangeEvent.added(new EntryBuilder("c").build()));
+        }
+
+        assertEquals(1, deliveries.size());
+        assertEquals(3, deliveries.get(0).size());
+        assertEquals("b", deliveries.get(0).get(1).title());
+
+        // Empty batches deliver nothing
+        notifier.beginBatch().close();
+        assertEquals(1, deliveries.size());
+    }
+
+    /**
+     * Tests that removed listeners no longer receive events.
+     */
+    @Test
+    public void testRemoveListener() {
+        EntryChangeNotifier notifier = new EntryChangeNotifier();
+        List<List<EntryChangeEvent>> deliveries = new ArrayList<>();
+        EntryChangeListener listener = deliveries::add;
+
+        notifier.addListener(listener);
+        notifier.removeListener(listener);
+        notifier.publish(EntryChangeEvent.removed("a", null));
+
+        assertTrue(deliveries.isEmpty());
+    }
+
+}
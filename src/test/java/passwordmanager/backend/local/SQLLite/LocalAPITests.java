@@ -3,11 +3,27 @@ package passwordmanager.backend.local.SQLLite;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.backend.EntryChangeListener;
+import passwordmanager.backend.EntryChangeNotifier;
+import passwordmanager.backend.EntryFields;
+import passwordmanager.backend.query.EntryQuery;
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.frontend.cache.FieldIndex;
+import passwordmanager.frontend.cache.TrigramIndex;
+import passwordmanager.frontend.search.QuerySearch;
 import passwordmanager.model.Entry;
 import passwordmanager.model.EntryBuilder;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -170,4 +186,309 @@ public class LocalAPITests {
         localAPI.removeEntry(title2);
     }
 
+    /**
+     * Tests retrieving all entries, with all of their fields, from the database.
+     */
+    @Test
+    public void testGetAllEntries() {
+        Entry entry1 = new EntryBuilder("Example1")
+                .email("a@a.com1")
+                .password("password123")
+                .username("example1")
+                .link("www.example.com1")
+                .category("example1")
+                .build();
+
+        Entry entry2 = new EntryBuilder("Example2")
+                .email("a@a.com2")
+                .password("password456")
+                .username("example2")
+                .link("www.example.com2")
+                .category("example2")
+                .build();
+
+        localAPI.newEntry(entry1);
+        localAPI.newEntry(entry2);
+
+        ArrayList<Entry> entries = localAPI.getAllEntries();
+
+        assertEquals(2, entries.size());
+        assertEquals(entry1.getTitle(), entries.get(0).getTitle());
+        assertEquals(entry1.getEmail(), entries.get(0).getEmail());
+        assertEquals(entry1.getPassword(), entries.get(0).getPassword());
+        assertEquals(entry2.getTitle(), entries.get(1).getTitle());
+        assertEquals(entry2.getCategory(), entries.get(1).getCategory());
+        assertInstanceOf(Timestamp.class, entries.get(1).getDateModified());
+
+        // Cleanup
+        localAPI.removeEntry(entry1);
+        localAPI.removeEntry(entry2);
+    }
+
+    /**
+     * Tests inserting multiple entries across several batches in a single operation.
+     */
+    @Test
+    public void testNewEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(new EntryBuilder("BatchExample" + i).email("batch@a.com").build());
+        }
+
+        // A chunk size of 2 exercises both full and partial batches
+        localAPI.newEntries(entries, 2);
+
+        ArrayList<String> titles = localAPI.getEntryTitles();
+        assertEquals(5, titles.size());
+        for (Entry entry : entries) {
+            assertTrue(titles.contains(entry.getTitle()));
+        }
+
+        // Cleanup
+        for (Entry entry : entries) {
+            localAPI.removeEntry(entry);
+        }
+    }
+
+    /**
+     * Tests that no entries are inserted when one entry in a batch fails to insert.
+     */
+    @Test
+    public void testNewEntriesRollsBackOnFailure() {
+        List<Entry> entries = List.of(
+                new EntryBuilder("BatchExample1").build(),
+                new EntryBuilder("BatchExample2").build(),
+                new EntryBuilder("BatchExample1").build()
+        );
+
+        localAPI.newEntries(entries, 2);
+
+        assertEquals(0, localAPI.getEntryTitles().size());
+    }
+
+    /**
+     * Tests searching entries by prefixes of their fields, and that the search stays in sync with changes.
+     */
+    @Test
+    public void testSearch() {
+        Entry github = new EntryBuilder("GitHub").email("dev@example.com").category("Development").build();
+        Entry gitlab = new EntryBuilder("GitLab").email("dev@example.com").category("Development").build();
+        Entry gmail = new EntryBuilder("Gmail").email("me@example.com").category("Email").build();
+        localAPI.newEntries(List.of(github, gitlab, gmail));
+
+        // Prefix match on title
+        List<String> titles = localAPI.search("git", 10).stream().map(Entry::getTitle).toList();
+        assertEquals(2, titles.size());
+        assertTrue(titles.containsAll(List.of("GitHub", "GitLab")));
+
+        // Every word must match, across different fields
+        assertEquals(List.of("GitLab"), localAPI.search("gitl devel", 10).stream().map(Entry::getTitle).toList());
+
+        // Limit is respected
+        assertEquals(1, localAPI.search("dev", 1).size());
+
+        // Updates and removals are reflected in the search index
+        localAPI.modifyEntry("Gmail", EntryFields.CATEGORY, "Development");
+        assertEquals(3, localAPI.search("development", 10).size());
+        localAPI.removeEntry(gitlab);
+        assertEquals(2, localAPI.search("development", 10).size());
+
+        // Search syntax is matched literally
+        assertEquals(0, localAPI.search("\"git OR", 10).size());
+
+        // Cleanup
+        localAPI.removeEntry(github);
+        localAPI.removeEntry(gmail);
+    }
+
+    /**
+     * Tests that queries evaluated by the database return the same entries as evaluating them in memory.
+     */
+    @Test
+    public void testQuery() {
+        Entry steam = new EntryBuilder("Steam").email("john@example.com").category("Gaming").build();
+        Entry epic = new EntryBuilder("Epic Games").email("JOHN.doe@example.com").category("gaming").build();
+        Entry github = new EntryBuilder("GitHub").email("jane@example.com").category("Development").build();
+        Entry percent = new EntryBuilder("Percent").email("100%@example.com").category(" Gaming\t").build();
+        Entry school = new EntryBuilder("École").email("élève@example.com").category("école").build();
+        List<Entry> entries = List.of(steam, epic, github, percent, school);
+        localAPI.newEntries(entries);
+
+        try {
+            for (String text : List.of("category:Gaming", "category:gaming email:john*", "email:JOHN.*",
+                    "category:Development OR email:john@example.com", "-category:gaming", "-(category:gaming)",
+                    "git", "gam", "epic category:gaming", "email:100%*", "email:1_0*",
+                    "title:steam OR title:percent -email:john*", "category:ÉCOLE", "category:école", "title:éc*",
+                    "title:ÉC*", "email:ÉLÈVE@EXAMPLE.COM", "email:élève@EXAMPLE.com", "group:Gaming",
+                    "group:gaming", "group:\" Gaming\"", "group:\"\"", "-group:Gaming", "group:école OR group:Gaming")) {
+                EntryQuery query = EntryQuery.parse(text);
+
+                List<String> expected = entries.stream().filter(query::test).map(Entry::getTitle).sorted().toList();
+                List<String> actual = localAPI.query(query).stream().map(Entry::getTitle).sorted().toList();
+                assertEquals(expected, actual, text);
+            }
+
+            assertEquals(2, localAPI.query(EntryQuery.parse("category:GAMING")).size());
+
+            // Dates are set by the database when entries are added
+            String yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1).toString();
+            assertEquals(2, localAPI.query(EntryQuery.parse("(title:steam OR title:github) modified:>=" + yesterday)).size());
+            assertEquals(0, localAPI.query(EntryQuery.parse("title:steam created:<" + yesterday)).size());
+        } finally {
+            for (Entry entry : entries) {
+                localAPI.removeEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Tests that the database counts entries by category and email domain as the entry cache counts them in
+     * memory, including values differing only in case or surrounding whitespace, and that the group term of
+     * each counted category matches exactly the counted entries, from the database and from the cache.
+     */
+    @Test
+    public void testFacetCounts() {
+        List<Entry> entries = List.of(
+                new EntryBuilder("Facet Steam").email("john@Example.com").category("Facet Gaming").build(),
+                new EntryBuilder("Facet Epic").email("john.doe@example.com\t").category(" Facet Gaming\n").build(),
+                new EntryBuilder("Facet Origin").email("jd@ EXAMPLE.com ").category("facet gaming").build(),
+                new EntryBuilder("Facet GitHub").email("jane@facet.example.org").category("Facet Development").build(),
+                new EntryBuilder("Facet Blank").email("no domain").category(" \t").build(),
+                new EntryBuilder("Facet Empty Domain").email("jane@ ").category("\u00A0Facet Unicode").build(),
+                new EntryBuilder("Facet Quoted").category("Facet \"Quoted\" \\ Group").build());
+        localAPI.newEntries(entries);
+
+        try {
+            EntrySnapshot snapshot = EntrySnapshot.of(localAPI.getAllEntries());
+
+            assertEquals(snapshot.getCategoryCounts(), localAPI.getCategoryCounts());
+            assertEquals(snapshot.getCategoryCounts().keySet(), localAPI.getGroups());
+            assertEquals(snapshot.getEmailDomainCounts(), localAPI.getEmailDomainCounts());
+            assertEquals(Integer.valueOf(2), localAPI.getCategoryCounts().get("Facet Gaming"));
+            assertEquals(Integer.valueOf(1), localAPI.getCategoryCounts().get("facet gaming"));
+            assertEquals(Integer.valueOf(1), localAPI.getCategoryCounts().get("\u00A0Facet Unicode"));
+            assertEquals(Integer.valueOf(3), localAPI.getEmailDomainCounts().get("example.com"));
+            assertEquals(Integer.valueOf(1), localAPI.getEmailDomainCounts().get("facet.example.org"));
+
+            FieldIndex fieldIndex = new FieldIndex();
+            fieldIndex.setEntries(snapshot.getEntries());
+            QuerySearch querySearch = new QuerySearch(() -> snapshot, fieldIndex, new TrigramIndex());
+            for (Map.Entry<String, Integer> count : snapshot.getCategoryCounts().entrySet()) {
+                String text = "group:" + EntryQuery.quote(count.getKey());
+                EntryQuery query = EntryQuery.parse(text);
+
+                assertEquals(count.getValue().intValue(), localAPI.query(query).size(), text);
+                assertEquals(count.getValue().intValue(), querySearch.search(query, () -> false).size(), text);
+            }
+        } finally {
+            for (Entry entry : entries) {
+                localAPI.removeEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Tests streaming all entries from the database.
+     */
+    @Test
+    public void testStreamAllEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(new EntryBuilder("StreamExample" + i).email("stream@a.com").build());
+        }
+        localAPI.newEntries(entries);
+
+        // A fetch size smaller than the number of entries exercises multiple fetches
+        try (Stream<Entry> stream = localAPI.streamAllEntries(3)) {
+            List<Entry> streamed = stream.toList();
+
+            assertEquals(10, streamed.size());
+            assertEquals("StreamExample0", streamed.get(0).getTitle());
+            assertEquals("stream@a.com", streamed.get(9).getEmail());
+        }
+
+        // Other operations still work once the stream has been closed
+        assertEquals(10, localAPI.getAllEntries().size());
+
+        // Writes made while a stream is being consumed do not disturb it
+        try (Stream<Entry> stream = localAPI.streamAllEntries(3)) {
+            Iterator<Entry> iterator = stream.iterator();
+            assertEquals("StreamExample0", iterator.next().getTitle());
+
+            localAPI.removeEntry(entries.get(9));
+            assertEquals(9, localAPI.getAllEntries().size());
+
+            int remaining = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                remaining++;
+            }
+            assertTrue(remaining == 8 || remaining == 9);
+        }
+
+        // Cleanup
+        for (Entry entry : entries) {
+            localAPI.removeEntry(entry);
+        }
+    }
+
+    /**
+     * Tests that successful writes are delivered to change listeners, with bulk inserts delivered at once.
+     */
+    @Test
+    @SuppressWarnings("try")
+    public void testChangeListener() {
+        List<List<EntryChangeEvent>> deliveries = new ArrayList<>();
+        EntryChangeListener listener = deliveries::add;
+        localAPI.addChangeListener(listener);
+
+        try {
+            Entry entry = new EntryBuilder("ListenerExample").email("old@a.com").build();
+            localAPI.newEntry(entry);
+            localAPI.modifyEntry("ListenerExample", EntryFields.EMAIL, "new@a.com");
+            localAPI.removeEntry("ListenerExample");
+
+            assertEquals(3, deliveries.size());
+            assertEquals(EntryChangeEvent.Type.ADDED, deliveries.get(0).get(0).type());
+
+            // Added entries carry the dates the database set
+            Entry addedEntry = deliveries.get(0).get(0).entry();
+            assertNotNull(addedEntry.getDateCreated());
+            assertNotNull(addedEntry.getDateModified());
+            assertEquals("old@a.com", addedEntry.getEmail());
+            assertEquals(EntryChangeEvent.Type.MODIFIED, deliveries.get(1).get(0).type());
+            assertEquals("new@a.com", deliveries.get(1).get(0).entry().getEmail());
+            assertEquals(EntryChangeEvent.Type.REMOVED, deliveries.get(2).get(0).type());
+
+            // Failed writes are not delivered
+            localAPI.removeEntry("ListenerExample");
+            assertEquals(3, deliveries.size());
+
+            List<Entry> entries = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                entries.add(new EntryBuilder("ListenerBulkExample" + i).build());
+            }
+            localAPI.newEntries(entries);
+            assertEquals(4, deliveries.size());
+            assertEquals(5, deliveries.get(3).size());
+            for (EntryChangeEvent event : deliveries.get(3)) {
+                Entry stored = localAPI.getEntry(event.title());
+                assertNotNull(event.entry().getDateCreated());
+                assertEquals(stored.getDateCreated(), event.entry().getDateCreated());
+                assertEquals(stored.getDateModified(), event.entry().getDateModified());
+            }
+
+            // Several writes within a batch are delivered at once
+            try (EntryChangeNotifier.Batch batch = localAPI.beginChangeBatch()) {
+                for (Entry bulkEntry : entries) {
+                    localAPI.removeEntry(bulkEntry);
+                }
+            }
+            assertEquals(5, deliveries.size());
+            assertEquals(5, deliveries.get(4).size());
+        } finally {
+            localAPI.removeChangeListener(listener);
+        }
+    }
+
 }
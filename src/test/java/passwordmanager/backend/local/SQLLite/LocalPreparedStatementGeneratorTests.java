@@ -285,17 +285,11 @@ public class LocalPreparedStatementGeneratorTests {
                 .category(category5)
                 .build();
 
-        // Prepare statements for inserting entries
-        PreparedStatement insert1 = psg.prepareInsertEntryStatement(entry1);
-        PreparedStatement insert2 = psg.prepareInsertEntryStatement(entry2);
-        PreparedStatement insert3 = psg.prepareInsertEntryStatement(entry3);
-        PreparedStatement insert4 = psg.prepareInsertEntryStatement(entry4);
-        PreparedStatement insert5 = psg.prepareInsertEntryStatement(entry5);
-
-        // Execute inserts
-        ArrayList<PreparedStatement> statements = new ArrayList<>(Arrays.asList(insert1, insert2, insert3, insert4, insert5));
-        for (var statement : statements) {
-            statement.execute();
+        // Prepare and execute inserts
+        // Cached statements are rebound on every prepare call, so each insert is executed before preparing the next
+        ArrayList<Entry> entries = new ArrayList<>(Arrays.asList(entry1, entry2, entry3, entry4, entry5));
+        for (var entry : entries) {
+            psg.prepareInsertEntryStatement(entry).execute();
         }
 
         PreparedStatement statement = psg.prepareGetAllEntryTitlesStatement();
@@ -316,6 +310,35 @@ public class LocalPreparedStatementGeneratorTests {
         assertEquals(title5, resultSet.getString(1));
     }
 
+    /**
+     * Tests that preparing the same statement twice reuses the cached statement and rebinds its parameters.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testStatementCacheReusesStatements() throws SQLException {
+        var psg = new LocalPreparedStatementGenerator();
+        LocalStatementCache cache = psg.getStatementCache();
+
+        psg.prepareInsertEntryStatement(new EntryBuilder("cacheTestTitle1").build()).executeUpdate();
+        psg.prepareInsertEntryStatement(new EntryBuilder("cacheTestTitle2").build()).executeUpdate();
+
+        PreparedStatement first = psg.prepareGetEntryStatement("cacheTestTitle1");
+        long missesAfterFirst = cache.getMisses();
+        long hitsAfterFirst = cache.getHits();
+
+        PreparedStatement second = psg.prepareGetEntryStatement("cacheTestTitle2");
+
+        assertSame(first, second, "The cached statement should be reused.");
+        assertEquals(missesAfterFirst, cache.getMisses(), "Reusing a statement should not count as a miss.");
+        assertEquals(hitsAfterFirst + 1, cache.getHits(), "Reusing a statement should count as a hit.");
+
+        // The reused statement should be bound to the new parameter
+        ResultSet resultSet = second.executeQuery();
+        assertTrue(resultSet.next());
+        assertEquals("cacheTestTitle2", resultSet.getString(EntryFields.TITLE.toString()));
+    }
+
     // TODO: Test date_created and date_modified parameters
 
 }
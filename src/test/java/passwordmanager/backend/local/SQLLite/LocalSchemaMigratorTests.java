@@ -0,0 +1,241 @@
+package passwordmanager.backend.local.SQLLite;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.backend.EntryFields;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LocalSchemaMigrator}
+ */
+public class LocalSchemaMigratorTests {
+
+    private Connection connection;
+
+    /**
+     * Sets up a new, empty database connection before each test.
+     */
+    @BeforeEach
+    public void createNewConnection() {
+        DatabaseConnection.setConnection();
+        connection = DatabaseConnection.getConnection();
+    }
+
+    /**
+     * Closes the database connection after each test.
+     */
+    @AfterEach
+    public void closeConnection() {
+        DatabaseConnection.closeConnection();
+    }
+
+    /**
+     * Tests that migrating a new database brings it to the latest version.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testMigrateNewDatabase() throws SQLException {
+        LocalSchemaMigrator migrator = new LocalSchemaMigrator(connection);
+        assertEquals(0, migrator.getCurrentVersion());
+
+        migrator.migrate();
+
+        assertEquals(LocalSchemaMigrator.getLatestVersion(), migrator.getCurrentVersion());
+    }
+
+    /**
+     * Tests that migrating an up-to-date database again does nothing.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testMigrateTwice() throws SQLException {
+        LocalSchemaMigrator migrator = new LocalSchemaMigrator(connection);
+        migrator.migrate();
+
+        assertDoesNotThrow(migrator::migrate);
+        assertEquals(LocalSchemaMigrator.getLatestVersion(), migrator.getCurrentVersion());
+    }
+
+    /**
+     * Tests that listing the groups uses the category facet index rather than scanning the entries table.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testGroupsQueryUsesCategoryIndex() throws SQLException {
+        new LocalSchemaMigrator(connection).migrate();
+
+        String category = LocalPreparedStatementGenerator.CATEGORY_FACET_SQL;
+        String plan = queryPlan("SELECT DISTINCT " + category + " FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " WHERE " + category + " != ''");
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_CATEGORY_FACET_INDEX_NAME), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    /**
+     * Tests that the entries table has one index per way it is looked up, without indexes covering the same
+     * lookups.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testIndexes() throws SQLException {
+        new LocalSchemaMigrator(connection).migrate();
+
+        Set<String> indexes = new TreeSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type = 'index'" +
+                     " AND tbl_name = '" + LocalDatabaseConstants.ENTRIES_TABLE_NAME + "' AND sql IS NOT NULL")) {
+            while (resultSet.next()) {
+                indexes.add(resultSet.getString(1));
+            }
+        }
+
+        assertEquals(new TreeSet<>(Set.of(
+                LocalDatabaseConstants.ENTRIES_DATE_MODIFIED_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_DATE_CREATED_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_TITLE_NOCASE_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_EMAIL_NOCASE_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_USERNAME_NOCASE_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_LINK_NOCASE_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_CATEGORY_NOCASE_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_CATEGORY_FACET_INDEX_NAME,
+                LocalDatabaseConstants.ENTRIES_EMAIL_DOMAIN_INDEX_NAME)), indexes);
+    }
+
+    /**
+     * Tests that the field terms of entry queries use the case-insensitive indexes rather than scanning the
+     * entries table.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testEntryQueriesUseNoCaseIndexes() throws SQLException {
+        new LocalSchemaMigrator(connection).migrate();
+
+        String plan = queryPlan("SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " WHERE " + EntryFields.CATEGORY + " COLLATE NOCASE = 'gaming'");
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_CATEGORY_NOCASE_INDEX_NAME), plan);
+
+        plan = queryPlan("SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " WHERE " + EntryFields.EMAIL + " COLLATE NOCASE = 'a@a.com'");
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_EMAIL_NOCASE_INDEX_NAME), plan);
+
+        plan = queryPlan("SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " WHERE " + EntryFields.USERNAME + " LIKE 'john%' ESCAPE '\\'");
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_USERNAME_NOCASE_INDEX_NAME), plan);
+
+        plan = queryPlan("SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " WHERE " + EntryFields.DATE_CREATED + " >= '2025-01-02 00:00:00'");
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_DATE_CREATED_INDEX_NAME), plan);
+    }
+
+    /**
+     * Tests that the entries are counted by category and email domain in index order, without sorting, and that
+     * groups are looked up by the index they are counted from.
+     */
+    @Test
+    public void testFacetCountsUseIndexes() throws SQLException {
+        new LocalSchemaMigrator(connection).migrate();
+
+        String category = LocalPreparedStatementGenerator.CATEGORY_FACET_SQL;
+        String plan = queryPlan("SELECT " + category + ", COUNT(*) FROM " +
+                LocalDatabaseConstants.ENTRIES_TABLE_NAME + " WHERE " + category + " != '' GROUP BY " + category);
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_CATEGORY_FACET_INDEX_NAME), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+
+        String domain = LocalPreparedStatementGenerator.EMAIL_DOMAIN_SQL;
+        plan = queryPlan("SELECT " + domain + ", COUNT(*) FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                " WHERE instr(" + EntryFields.EMAIL + ", '@') > 0 AND " + domain + " != '' GROUP BY " + domain);
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_EMAIL_DOMAIN_INDEX_NAME), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+
+        // Group terms are looked up in the same index the categories are counted from
+        plan = queryPlan("SELECT * FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " WHERE " + category +
+                " = 'Gaming'");
+        assertTrue(plan.contains(LocalDatabaseConstants.ENTRIES_CATEGORY_FACET_INDEX_NAME), plan);
+    }
+
+    /**
+     * Tests that a database created before migrations were tracked keeps its entries, and that full-text search
+     * still finds the right entries once a {@code VACUUM} has compacted the entries table.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    @Test
+    public void testSearchSurvivesVacuum() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " (" +
+                    EntryFields.TITLE + " VARCHAR(255) PRIMARY KEY, " + EntryFields.EMAIL + " VARCHAR(255), " +
+                    EntryFields.SECONDARY_EMAIL + " VARCHAR(255), " + EntryFields.PASSWORD + " VARCHAR(255), " +
+                    EntryFields.USERNAME + " VARCHAR(255), " + EntryFields.PHONE_NUMBER + " VARCHAR(255), " +
+                    EntryFields.LINK + " VARCHAR(255), " + EntryFields.CATEGORY + " VARCHAR(255), " +
+                    EntryFields.DATE_CREATED + " DATE, " + EntryFields.DATE_MODIFIED + " DATE)");
+            stmt.execute("INSERT INTO " + LocalDatabaseConstants.ENTRIES_TABLE_NAME + " (" + EntryFields.TITLE +
+                    ", " + EntryFields.USERNAME + ") VALUES ('Alpha', 'alpha'), ('Bravo', 'bravo'), ('Charlie', 'charlie')");
+        }
+
+        new LocalSchemaMigrator(connection).migrate();
+
+        // Search rows are linked by an INTEGER PRIMARY KEY, which VACUUM never renumbers, unlike an implicit rowid
+        try (Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("SELECT type, pk FROM pragma_table_info('" +
+                     LocalDatabaseConstants.ENTRIES_TABLE_NAME + "') WHERE name = '" + EntryFields.ID + "'")) {
+            assertTrue(resultSet.next());
+            assertEquals("INTEGER", resultSet.getString("type"));
+            assertEquals(1, resultSet.getInt("pk"));
+        }
+        try (Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("SELECT sql FROM sqlite_master WHERE name = '" +
+                     LocalDatabaseConstants.ENTRIES_FTS_TABLE_NAME + "'")) {
+            assertTrue(resultSet.next());
+            assertTrue(resultSet.getString("sql").contains("content_rowid='" + EntryFields.ID + "'"));
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            // Leaves a gap in the ids, which VACUUM would close if entries were only linked by their implicit rowid
+            stmt.execute("DELETE FROM " + LocalDatabaseConstants.ENTRIES_TABLE_NAME +
+                    " WHERE " + EntryFields.TITLE + " = 'Alpha'");
+            stmt.execute("VACUUM");
+        }
+
+        LocalPreparedStatementGenerator generator = new LocalPreparedStatementGenerator(connection);
+        for (String title : new String[]{"Bravo", "Charlie"}) {
+            try (ResultSet resultSet = generator.prepareSearchEntriesStatement(title.toLowerCase(), 10).executeQuery()) {
+                assertTrue(resultSet.next(), title);
+                assertEquals(title, resultSet.getString(EntryFields.TITLE.toString()));
+                assertFalse(resultSet.next(), title);
+            }
+        }
+    }
+
+    /**
+     * Returns the query plan SQLite chooses for the given query.
+     *
+     * @param sql the query to explain.
+     * @return the details of every step of the plan, one per line.
+     * @throws SQLException if a database access error occurs.
+     */
+    private String queryPlan(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString("detail")).append("\n");
+            }
+        }
+        return plan.toString();
+    }
+}
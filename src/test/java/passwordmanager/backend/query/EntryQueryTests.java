@@ -0,0 +1,154 @@
+package passwordmanager.backend.query;
+
+import org.junit.jupiter.api.Test;
+import passwordmanager.backend.EntryFields;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the parsing and evaluation of entry queries.
+ */
+public class EntryQueryTests {
+
+    private final Entry steam = new EntryBuilder("Steam").email("john@example.com").category("Gaming")
+            .dateModified(Timestamp.valueOf("2025-03-01 12:00:00")).build();
+    private final Entry github = new EntryBuilder("GitHub").email("jane@example.com").category("Development")
+            .username("janedoe").dateModified(Timestamp.valueOf("2024-12-31 23:59:59")).build();
+
+    /**
+     * Tests that terms are parsed into a tree, with every term required.
+     */
+    @Test
+    public void testParseTerms() {
+        EntryQuery query = EntryQuery.parse("category:Gaming email:john* modified:>2025-01-01");
+
+        assertEquals(new EntryQuery.And(List.of(
+                new EntryQuery.Equals(EntryFields.CATEGORY, "Gaming"),
+                new EntryQuery.StartsWith(EntryFields.EMAIL, "john"),
+                new EntryQuery.DateRange(EntryFields.DATE_MODIFIED, LocalDate.of(2025, 1, 2).atStartOfDay(), null)
+        )), query);
+
+        assertTrue(query.test(steam));
+        assertFalse(query.test(github));
+    }
+
+    /**
+     * Tests OR, negation, grouping, quoting and field aliases.
+     */
+    @Test
+    public void testOperators() {
+        assertEquals(new EntryQuery.Or(List.of(
+                new EntryQuery.Equals(EntryFields.CATEGORY, "Gaming"),
+                new EntryQuery.Not(new EntryQuery.Equals(EntryFields.USERNAME, "Social Media"))
+        )), EntryQuery.parse("(category:Gaming OR -user:\"Social Media\")"));
+
+        assertTrue(EntryQuery.parse("category:gaming OR category:development").test(github));
+        assertFalse(EntryQuery.parse("-category:DEVELOPMENT").test(github));
+
+        // Only the case of ASCII letters is ignored, as the database does
+        Entry school = new EntryBuilder("École").category("école").build();
+        assertTrue(EntryQuery.parse("category:école title:Éc*").test(school));
+        assertFalse(EntryQuery.parse("category:ÉCOLE").test(school));
+        assertFalse(EntryQuery.parse("title:éc*").test(school));
+
+        // Entries without the value count as not matching, so their negation matches
+        assertTrue(EntryQuery.parse("-username:janedoe").test(steam));
+    }
+
+    /**
+     * Tests that groups match the category an entry is counted under, exactly and without surrounding whitespace.
+     */
+    @Test
+    public void testGroups() {
+        Entry padded = new EntryBuilder("Epic").category(" Gaming\t").build();
+        Entry lowerCase = new EntryBuilder("Origin").category("gaming").build();
+
+        assertEquals(new EntryQuery.InGroup("Gaming"), EntryQuery.parse("group:Gaming"));
+        assertTrue(EntryQuery.parse("group:Gaming").test(steam));
+        assertTrue(EntryQuery.parse("group:Gaming").test(padded));
+        assertFalse(EntryQuery.parse("group:Gaming").test(lowerCase));
+        assertFalse(EntryQuery.parse("group:\"\"").test(new EntryBuilder("Blank").category(" ").build()));
+        assertTrue(EntryQuery.parse("-group:Gaming").test(github));
+
+        // Groups are matched exactly, not by prefix
+        assertThrows(IllegalArgumentException.class, () -> EntryQuery.parse("group:Gam*"));
+    }
+
+    /**
+     * Tests that quotes and backslashes are escaped within quotes, so that any value can be quoted.
+     */
+    @Test
+    public void testQuoteEscapes() {
+        for (String value : List.of("Say \"Hi\"", "C:\\Games\\", "\"", "a\\\"b", "Social Media")) {
+            assertEquals(new EntryQuery.InGroup(value), EntryQuery.parse("group:" + EntryQuery.quote(value)), value);
+        }
+
+        assertEquals("\"Say \\\"Hi\\\"\"", EntryQuery.quote("Say \"Hi\""));
+        assertEquals(new EntryQuery.Equals(EntryFields.CATEGORY, "Say \"Hi\" OR x"),
+                EntryQuery.parse("category:\"Say \\\"Hi\\\" OR x\""));
+
+        // Backslashes outside quotes, or before other characters, are kept
+        assertEquals(new EntryQuery.Equals(EntryFields.LINK, "C:\\Games\\x"), EntryQuery.parse("link:C:\\Games\\x"));
+        assertEquals(new EntryQuery.Equals(EntryFields.LINK, "a\\b"), EntryQuery.parse("link:\"a\\b\""));
+    }
+
+    /**
+     * Tests that dates are compared by day.
+     */
+    @Test
+    public void testDates() {
+        assertTrue(EntryQuery.parse("modified:2024-12-31").test(github));
+        assertTrue(EntryQuery.parse("modified:<=2024-12-31").test(github));
+        assertFalse(EntryQuery.parse("modified:<2024-12-31").test(github));
+        assertFalse(EntryQuery.parse("modified:>2024-12-31").test(github));
+        assertTrue(EntryQuery.parse("modified:>=2024-12-31").test(github));
+
+        // Entries without the date do not match
+        assertFalse(EntryQuery.parse("created:>2000-01-01").test(github));
+
+        assertThrows(IllegalArgumentException.class, () -> EntryQuery.parse("modified:>2025-13-01"));
+    }
+
+    /**
+     * Tests that words match the start of a word of any searchable field, ignoring case and accents.
+     */
+    @Test
+    public void testWords() {
+        assertTrue(EntryQuery.parse("git").test(github));
+        assertTrue(EntryQuery.parse("EXAMPLE").test(github));
+        assertTrue(EntryQuery.parse("devélop").test(github));
+        assertFalse(EntryQuery.parse("hub").test(github));
+        assertTrue(EntryQuery.parse("git*").test(github));
+    }
+
+    /**
+     * Tests that queries still being typed are accepted.
+     */
+    @Test
+    public void testIncompleteQueries() {
+        assertEquals(new EntryQuery.And(List.of()), EntryQuery.parse("  "));
+        assertEquals(new EntryQuery.And(List.of()), EntryQuery.parse("category:"));
+        assertEquals(new EntryQuery.Equals(EntryFields.CATEGORY, "Gaming"), EntryQuery.parse("category:Gaming OR"));
+        assertEquals(new EntryQuery.Equals(EntryFields.CATEGORY, "Gaming"), EntryQuery.parse("(category:Gaming"));
+
+        assertThrows(IllegalArgumentException.class, () -> EntryQuery.parse("category:Gaming)"));
+    }
+
+    /**
+     * Tests recognizing text meant as a query.
+     */
+    @Test
+    public void testUsesFields() {
+        assertTrue(EntryQuery.usesFields("steam category:Gaming"));
+        assertTrue(EntryQuery.usesFields("-(Email:a"));
+        assertTrue(EntryQuery.usesFields("group:\"Social Media\""));
+        assertFalse(EntryQuery.usesFields("https://example.com"));
+        assertFalse(EntryQuery.usesFields("category"));
+    }
+}
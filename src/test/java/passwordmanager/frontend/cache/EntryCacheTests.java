@@ -0,0 +1,263 @@
+package passwordmanager.frontend.cache;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import passwordmanager.backend.DatabaseConnection;
+import passwordmanager.backend.local.SQLLite.LocalAPI;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+import passwordmanager.model.EntrySortOrder;
+import passwordmanager.model.EntryTitleComparator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the EntryCache.
+ */
+public class EntryCacheTests {
+
+    private static EntryCache entryCache;
+
+    /**
+     * Sets up the database connection and initializes the EntryCache instance before all tests.
+     */
+    @BeforeAll
+    public static void setup() {
+        DatabaseConnection.setConnection();
+        entryCache = EntryCache.getInstance();
+    }
+
+    /**
+     * Starts every test with a known set of cached entries.
+     */
+    @BeforeEach
+    public void resetEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (String title : List.of("delta", "Alpha", "charlie", "Bravo")) {
+            entries.add(new EntryBuilder(title).build());
+        }
+        entryCache.setEntries(entries);
+    }
+
+    /**
+     * Tests that added entries are inserted at their sorted position.
+     */
+    @Test
+    public void testAddEntryKeepsOrder() {
+        entryCache.addEntry(new EntryBuilder("bravo").build());
+        entryCache.addEntry(new EntryBuilder("echo").build());
+        entryCache.addEntry(new EntryBuilder("a").build());
+
+        List<Entry> expected = new ArrayList<>(entryCache.getEntries());
+        expected.sort(new EntryTitleComparator());
+
+        assertEquals(7, entryCache.getEntries().size());
+        assertEquals(expected, entryCache.getEntries());
+        assertEquals("a", entryCache.getEntries().get(1).getTitle());
+        assertEquals("echo", entryCache.getEntries().get(6).getTitle());
+    }
+
+    /**
+     * Tests that updating an entry replaces the cached entry with the same title in place.
+     */
+    @Test
+    public void testUpdateEntryReplacesInPlace() {
+        Entry updated = new EntryBuilder("charlie").email("charlie@a.com").build();
+        entryCache.updateEntry(updated);
+
+        assertEquals(4, entryCache.getEntries().size());
+        assertSame(updated, entryCache.getEntries().get(2));
+    }
+
+    /**
+     * Tests removing entries by title.
+     */
+    @Test
+    public void testRemoveEntry() {
+        assertTrue(entryCache.removeEntry("Bravo"));
+        assertFalse(entryCache.removeEntry("Bravo"));
+        assertFalse(entryCache.contains("Bravo"));
+        assertEquals(3, entryCache.getEntries().size());
+    }
+
+    /**
+     * Tests that title lookups stay consistent with the cached entries as they change.
+     */
+    @Test
+    public void testGetAndContains() {
+        assertTrue(entryCache.contains("Alpha"));
+        assertFalse(entryCache.contains("alpha"));
+        assertEquals("delta", entryCache.get("delta").getTitle());
+
+        Entry echo = new EntryBuilder("echo").build();
+        entryCache.addEntry(echo);
+        assertSame(echo, entryCache.get("echo"));
+
+        entryCache.removeEntry("delta");
+        assertNull(entryCache.get("delta"));
+        assertFalse(entryCache.contains("delta"));
+    }
+
+    /**
+     * Tests that a sort order read once is kept sorted as entries are added, modified and removed.
+     */
+    @Test
+    public void testSortOrderIsKeptSorted() {
+        List<Entry> byCategory = entryCache.getEntries(EntrySortOrder.CATEGORY);
+        assertSame(byCategory, entryCache.getEntries(EntrySortOrder.CATEGORY));
+
+        entryCache.addEntry(new EntryBuilder("echo").category("Work").build());
+        entryCache.addEntry(new EntryBuilder("foxtrot").category("Home").build());
+        entryCache.updateEntry(new EntryBuilder("Alpha").category("Work").build());
+        entryCache.removeEntry("charlie");
+
+        // A cached entry modified in place is still replaced
+        Entry delta = entryCache.get("delta");
+        delta.setCategory("Away");
+        entryCache.updateEntry(delta);
+
+        for (EntrySortOrder order : EntrySortOrder.values()) {
+            List<Entry> expected = new ArrayList<>(entryCache.getEntries());
+            expected.sort(order.comparator());
+            assertEquals(expected, entryCache.getEntries(order), order.toString());
+        }
+        assertEquals(List.of("delta", "foxtrot", "Alpha", "echo", "Bravo"),
+                entryCache.getEntries(EntrySortOrder.CATEGORY).stream().map(Entry::getTitle).toList());
+    }
+
+    /**
+     * Tests that the category and email domain counts follow the entries as they change.
+     */
+    @Test
+    public void testFacetCounts() {
+        entryCache.addEntry(new EntryBuilder("echo").email("echo@Example.com").category("Work").build());
+        entryCache.addEntry(new EntryBuilder("foxtrot").email("foxtrot@example.com").category("Work").build());
+        entryCache.addEntry(new EntryBuilder("golf").email("no domain").category(" ").build());
+
+        assertEquals(Map.of("Work", 2), entryCache.getCategoryCounts());
+        assertEquals(Map.of("example.com", 2), entryCache.getEmailDomainCounts());
+
+        entryCache.updateEntry(new EntryBuilder("foxtrot").email("foxtrot@other.com").category("Home").build());
+        assertEquals(List.of("Home", "Work"), List.copyOf(entryCache.getCategoryCounts().keySet()));
+        assertEquals(Map.of("example.com", 1, "other.com", 1), entryCache.getEmailDomainCounts());
+
+        entryCache.removeEntry("echo");
+        assertEquals(Map.of("Home", 1), entryCache.getCategoryCounts());
+        assertEquals(Map.of("other.com", 1), entryCache.getEmailDomainCounts());
+    }
+
+    /**
+     * Tests that the unique emails and categories follow the entries using them.
+     */
+    @Test
+    public void testUniqueValuesAreReferenceCounted() {
+        entryCache.addEntry(new EntryBuilder("echo").email("shared@a.com").category("Work").build());
+        entryCache.addEntry(new EntryBuilder("foxtrot").email("shared@a.com").secondaryEmail("backup@a.com").build());
+
+        assertEquals(Set.of("shared@a.com"), entryCache.getUniqueEmails());
+        assertEquals(Set.of("backup@a.com"), entryCache.getUniqueSecondaryEmails());
+        assertEquals(Set.of("Work"), entryCache.getUniqueCategories());
+
+        // The email stays while another entry still uses it
+        entryCache.removeEntry("echo");
+        assertEquals(Set.of("shared@a.com"), entryCache.getUniqueEmails());
+        assertTrue(entryCache.getUniqueCategories().isEmpty());
+
+        // Replacing an entry drops the values only it used
+        entryCache.updateEntry(new EntryBuilder("foxtrot").email("new@a.com").build());
+        assertEquals(Set.of("new@a.com"), entryCache.getUniqueEmails());
+        assertTrue(entryCache.getUniqueSecondaryEmails().isEmpty());
+    }
+
+    /**
+     * Tests that a snapshot is not affected by changes made after it was taken.
+     */
+    @Test
+    public void testSnapshotIsUnaffectedByLaterChanges() {
+        EntrySnapshot before = entryCache.getSnapshot();
+
+        entryCache.addEntry(new EntryBuilder("echo").build());
+        entryCache.removeEntry("Alpha");
+
+        assertEquals(4, before.size());
+        assertTrue(before.contains("Alpha"));
+        assertFalse(before.contains("echo"));
+        assertThrows(UnsupportedOperationException.class, () -> before.getEntries().clear());
+    }
+
+    /**
+     * Tests that readers on other threads always see a consistent snapshot while entries are being changed.
+     */
+    @Test
+    public void testConcurrentReadersSeeConsistentSnapshots() throws InterruptedException {
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger inconsistencies = new AtomicInteger();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                while (writing.get()) {
+                    EntrySnapshot snapshot = entryCache.getSnapshot();
+                    int count = 0;
+                    for (Entry entry : snapshot.getEntries()) {
+                        if (snapshot.get(entry.getTitle()) != entry) {
+                            inconsistencies.incrementAndGet();
+                        }
+                        count++;
+                    }
+                    if (count != snapshot.size()) {
+                        inconsistencies.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            entryCache.addEntry(new EntryBuilder("concurrent" + i).email("user" + (i % 7) + "@a.com").build());
+            if (i % 3 == 0) {
+                entryCache.removeEntry("concurrent" + (i / 2));
+            }
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, inconsistencies.get());
+    }
+
+    /**
+     * Tests that the cache follows writes made through the database API without being reloaded.
+     */
+    @Test
+    public void testCacheFollowsDatabaseChanges() {
+        LocalAPI localAPI = LocalAPI.getInstance();
+
+        localAPI.newEntry(new EntryBuilder("CacheListenerExample").email("cache@a.com").build());
+        assertTrue(entryCache.contains("CacheListenerExample"));
+        assertTrue(entryCache.getUniqueEmails().contains("cache@a.com"));
+
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(new EntryBuilder("CacheListenerBulkExample" + i).build());
+        }
+        localAPI.newEntries(entries);
+        assertEquals(15, entryCache.getEntries().size());
+
+        // Cleanup
+        localAPI.removeEntry("CacheListenerExample");
+        for (Entry entry : entries) {
+            localAPI.removeEntry(entry);
+        }
+        assertEquals(4, entryCache.getEntries().size());
+    }
+
+}
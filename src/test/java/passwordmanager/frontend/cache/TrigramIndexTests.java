@@ -0,0 +1,154 @@
+package passwordmanager.frontend.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+import passwordmanager.model.SearchText;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the TrigramIndex.
+ */
+public class TrigramIndexTests {
+
+    private TrigramIndex index;
+    private List<Entry> entries;
+
+    /**
+     * Indexes a few entries before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        entries = new ArrayList<>(List.of(
+                new EntryBuilder("GitHub").username("octocat").email("octo@example.com").link("https://github.com").build(),
+                new EntryBuilder("GitLab").email("lab@example.com").category("Work").build(),
+                new EntryBuilder("Gmail").email("me@gmail.com").category("Email").build(),
+                new EntryBuilder("Crédit Agricole").category("Banking").build()
+        ));
+        index = new TrigramIndex();
+        index.setEntries(entries);
+    }
+
+    /**
+     * Tests that searches match every searchable field, ignoring case and accents.
+     */
+    @Test
+    public void testSearchMatchesFields() {
+        assertEquals(List.of("GitHub", "GitLab"), titles(search("git")));
+        assertEquals(List.of("GitHub"), titles(search("OCTOCAT")));
+        assertEquals(List.of("GitHub", "GitLab", "Gmail"), titles(search(".com")));
+        assertEquals(List.of("GitLab"), titles(search("work")));
+        assertEquals(List.of("Crédit Agricole"), titles(search("credit")));
+        assertTrue(search("xyz").isEmpty());
+    }
+
+    /**
+     * Tests that an entry containing every trigram of a query, but not the query, does not match.
+     */
+    @Test
+    public void testTrigramsWithoutQueryDoNotMatch() {
+        // "gmail" contains "gma" and "mai" and "ail", but not "gmaiail"
+        assertTrue(search("gmaiail").isEmpty());
+    }
+
+    /**
+     * Tests that a query never matches across two fields.
+     */
+    @Test
+    public void testQueryDoesNotSpanFields() {
+        // The title "Gmail" is followed by the email "me@gmail.com"
+        assertTrue(search("gmailme").isEmpty());
+    }
+
+    /**
+     * Tests that short queries are reported as unsearchable.
+     */
+    @Test
+    public void testShortQueries() {
+        assertFalse(TrigramIndex.canSearch("gi"));
+        assertTrue(TrigramIndex.canSearch("git"));
+        assertThrows(IllegalArgumentException.class, () -> index.search("gi"));
+    }
+
+    /**
+     * Tests that the index is updated in place as entries are added, modified and removed.
+     */
+    @Test
+    public void testApplyChanges() {
+        Entry gitea = new EntryBuilder("Gitea").build();
+        Entry gmail = new EntryBuilder("Gmail").email("me@outlook.com").build();
+        index.applyChanges(List.of(
+                EntryChangeEvent.added(gitea),
+                EntryChangeEvent.modified(gmail),
+                EntryChangeEvent.removed("GitLab", null)
+        ));
+
+        assertEquals(List.of("GitHub", "Gitea"), titles(search("git")));
+        assertTrue(search("gmail.com").isEmpty());
+        assertEquals(List.of("Gmail"), titles(search("outlook")));
+        assertEquals(4, index.size());
+
+        assertTrue(index.removeEntry("Gitea"));
+        assertFalse(index.removeEntry("Gitea"));
+        assertEquals(List.of("GitHub"), titles(search("git")));
+    }
+
+    /**
+     * Tests that the index agrees with checking every entry through random updates and queries.
+     */
+    @Test
+    public void testMatchesFullScan() {
+        Random random = new Random(42);
+        String[] words = {"alpha", "beta", "gamma", "delta", "mail", "bank", "shop"};
+
+        List<Entry> indexed = new ArrayList<>();
+        index.setEntries(indexed);
+        for (int i = 0; i < 2000; i++) {
+            String title = words[random.nextInt(words.length)] + random.nextInt(300);
+            Entry entry = new EntryBuilder(title).email(words[random.nextInt(words.length)] + "@example.com").build();
+
+            indexed.removeIf(existing -> existing.getTitle().equals(title));
+            if (random.nextInt(4) == 0) {
+                index.removeEntry(title);
+            } else {
+                indexed.add(entry);
+                index.addEntry(entry);
+            }
+        }
+
+        for (String query : new String[]{"alpha1", "mail", "ta2", "@example", "ank9", "hop@ex"}) {
+            String normalized = SearchText.normalize(query);
+            List<Entry> expected = indexed.stream().filter(entry -> entry.fieldsMatch(normalized)).toList();
+            assertEquals(titles(expected), titles(search(query)), query);
+        }
+        assertEquals(indexed.size(), index.size());
+    }
+
+    /**
+     * Searches the index for a query.
+     *
+     * @param query the query, normalized before searching.
+     * @return the matching entries.
+     */
+    private List<Entry> search(String query) {
+        return index.search(SearchText.normalize(query));
+    }
+
+    /**
+     * Returns the sorted titles of the given entries.
+     *
+     * @param entries the entries.
+     * @return their titles, sorted.
+     */
+    private static List<String> titles(List<Entry> entries) {
+        return entries.stream().map(Entry::getTitle).sorted(Comparator.naturalOrder()).toList();
+    }
+}
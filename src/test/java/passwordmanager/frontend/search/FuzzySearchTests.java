@@ -0,0 +1,126 @@
+package passwordmanager.frontend.search;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the FuzzySearch.
+ */
+public class FuzzySearchTests {
+
+    private final EntrySnapshot snapshot;
+
+    /**
+     * Creates the searched snapshot of entries.
+     */
+    public FuzzySearchTests() {
+        List<Entry> entries = new ArrayList<>();
+        for (String title : new String[]{"GitHub", "GitHub Enterprise", "My GitHub", "GitLab", "Gmail", "Netflix",
+                "Amazon", "Amazon Web Services", "LinkedIn", "Facebook", "Bank of Hubs"}) {
+            entries.add(new EntryBuilder(title).build());
+        }
+        snapshot = EntrySnapshot.of(entries);
+    }
+
+    /**
+     * Tests that typos within the allowed edits still find the title.
+     */
+    @Test
+    public void testTyposMatch() {
+        FuzzySearch search = new FuzzySearch(() -> snapshot, 10);
+
+        // Swapped, missing, extra and replaced characters
+        assertEquals("GitHub", search.search("gihtub", () -> false).get(0).getTitle());
+        assertEquals("Netflix", search.search("netflx", () -> false).get(0).getTitle());
+        assertEquals("Facebook", search.search("faceboook", () -> false).get(0).getTitle());
+        assertEquals("LinkedIn", search.search("linkrdin", () -> false).get(0).getTitle());
+        assertTrue(search.search("zzzzzz", () -> false).isEmpty());
+    }
+
+    /**
+     * Tests that the displayed results follow the ranking as each keystroke re-ranks the matching titles.
+     */
+    @Test
+    public void testDisplayedResultsFollowRanking() {
+        FuzzySearch search = new FuzzySearch(() -> snapshot, 10);
+        ObservableList<Entry> displayed = FXCollections.observableArrayList();
+
+        boolean reordered = false;
+        for (String query : List.of("gth", "ghub", "hubs", "ghub", "gitlub")) {
+            List<Entry> ranked = search.search(query, () -> false);
+            List<Entry> previous = List.copyOf(displayed);
+            SearchResultsDiff.apply(displayed, ranked);
+
+            assertEquals(ranked, displayed, query);
+            reordered |= !previous.equals(ranked) && previous.size() == ranked.size()
+                    && previous.containsAll(ranked);
+        }
+        assertTrue(reordered);
+    }
+
+    /**
+     * Tests that contained queries rank above subsequences, which rank above typos.
+     */
+    @Test
+    public void testRankingTiers() {
+        FuzzySearch search = new FuzzySearch(() -> snapshot, 10);
+
+        List<String> ranked = titles(search.search("github", () -> false));
+        // Prefix matches first, shorter titles first, then the title containing the query later on
+        assertEquals(List.of("GitHub", "GitHub Enterprise", "My GitHub"), ranked.subList(0, 3));
+
+        ranked = titles(search.search("amzn", () -> false));
+        assertEquals(List.of("Amazon", "Amazon Web Services"), ranked.subList(0, 2));
+    }
+
+    /**
+     * Tests that only the requested number of best matches is returned.
+     */
+    @Test
+    public void testLimit() {
+        FuzzySearch search = new FuzzySearch(() -> snapshot, 2);
+
+        assertEquals(List.of("GitHub", "GitHub Enterprise"), titles(search.search("github", () -> false)));
+    }
+
+    /**
+     * Tests that short queries and cancelled searches return nothing.
+     */
+    @Test
+    public void testShortQueryAndCancellation() {
+        FuzzySearch search = new FuzzySearch(() -> snapshot, 10);
+
+        assertTrue(search.search("gi", () -> false).isEmpty());
+        assertTrue(search.search("github", () -> true).isEmpty());
+    }
+
+    /**
+     * Tests the number of edits allowed for each query length.
+     */
+    @Test
+    public void testMaxEdits() {
+        assertEquals(0, FuzzySearch.maxEdits(3));
+        assertEquals(1, FuzzySearch.maxEdits(4));
+        assertEquals(1, FuzzySearch.maxEdits(7));
+        assertEquals(2, FuzzySearch.maxEdits(8));
+    }
+
+    /**
+     * Returns the titles of the given entries, in order.
+     *
+     * @param entries the entries.
+     * @return their titles.
+     */
+    private static List<String> titles(List<Entry> entries) {
+        return entries.stream().map(Entry::getTitle).toList();
+    }
+}
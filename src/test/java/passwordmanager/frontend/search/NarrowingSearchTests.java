@@ -0,0 +1,140 @@
+package passwordmanager.frontend.search;
+
+import org.junit.jupiter.api.Test;
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.frontend.cache.TrigramIndex;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the NarrowingSearch.
+ */
+public class NarrowingSearchTests {
+
+    private EntrySnapshot snapshot;
+
+    /**
+     * Creates the searched snapshot of entries.
+     */
+    public NarrowingSearchTests() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(new EntryBuilder("Account" + i).build());
+        }
+        entries.add(new EntryBuilder("GitHub").build());
+        entries.add(new EntryBuilder("GitLab").build());
+        snapshot = EntrySnapshot.of(entries);
+    }
+
+    /**
+     * Tests that a query extending the previous query only checks the previous matches.
+     */
+    @Test
+    public void testExtendedQueryNarrowsPreviousMatches() {
+        NarrowingSearch search = new NarrowingSearch(() -> snapshot);
+
+        List<Entry> matches = search.search("account1", () -> false);
+        assertEquals(fullScan("account1"), matches);
+        assertEquals(snapshot.size(), search.getLastCheckedCount());
+
+        List<Entry> narrowed = search.search("Account12", () -> false);
+        assertEquals(fullScan("account12"), narrowed);
+        assertEquals(matches.size(), search.getLastCheckedCount());
+    }
+
+    /**
+     * Tests that deleting characters reuses the matches of the shorter query typed before.
+     */
+    @Test
+    public void testShortenedQueryReusesRecentMatches() {
+        NarrowingSearch search = new NarrowingSearch(() -> snapshot);
+
+        List<Entry> git = search.search("git", () -> false);
+        search.search("gith", () -> false);
+        search.search("githu", () -> false);
+
+        List<Entry> gitl = search.search("gitl", () -> false);
+        assertEquals(fullScan("gitl"), gitl);
+        assertEquals(git.size(), search.getLastCheckedCount());
+    }
+
+    /**
+     * Tests that unrelated queries and the empty query search every entry.
+     */
+    @Test
+    public void testUnrelatedQuerySearchesAllEntries() {
+        NarrowingSearch search = new NarrowingSearch(() -> snapshot);
+
+        search.search("github", () -> false);
+        assertEquals(fullScan("99"), search.search("99", () -> false));
+        assertEquals(snapshot.size(), search.getLastCheckedCount());
+
+        assertEquals(snapshot.getEntries(), search.search("", () -> false));
+    }
+
+    /**
+     * Tests that recent matches are dropped once the entries change.
+     */
+    @Test
+    public void testNewSnapshotDropsRecentMatches() {
+        NarrowingSearch search = new NarrowingSearch(() -> snapshot);
+        search.search("git", () -> false);
+
+        snapshot = snapshot.withEntry(new EntryBuilder("Gitea").build());
+        List<Entry> matches = search.search("gite", () -> false);
+
+        assertEquals(fullScan("gite"), matches);
+        assertEquals(1, matches.size());
+        assertEquals(snapshot.size(), search.getLastCheckedCount());
+    }
+
+    /**
+     * Tests that the partial matches of a cancelled search are not reused.
+     */
+    @Test
+    public void testCancelledSearchIsNotReused() {
+        NarrowingSearch search = new NarrowingSearch(() -> snapshot);
+
+        assertTrue(search.search("account", () -> true).isEmpty());
+        assertEquals(fullScan("account1"), search.search("account1", () -> false));
+        assertEquals(snapshot.size(), search.getLastCheckedCount());
+    }
+
+    /**
+     * Tests that queries without recent results are answered by the index, in the order of the snapshot,
+     * skipping indexed entries that are not in the searched snapshot.
+     */
+    @Test
+    public void testIndexAnswersQueriesWithoutRecentResults() {
+        TrigramIndex index = new TrigramIndex();
+        index.setEntries(snapshot.getEntries());
+        NarrowingSearch search = new NarrowingSearch(() -> snapshot, index);
+
+        List<Entry> matches = search.search("account12", () -> false);
+        assertEquals(fullScan("account12"), matches);
+        assertEquals(matches.size(), search.getLastCheckedCount());
+
+        // The index is updated before the snapshot is published
+        index.addEntry(new EntryBuilder("Account12 backup").build());
+        assertEquals(fullScan("ccount12"), search.search("ccount12", () -> false));
+
+        // Queries too short for the index check every entry
+        assertEquals(fullScan("gi"), search.search("gi", () -> false));
+        assertEquals(snapshot.size(), search.getLastCheckedCount());
+    }
+
+    /**
+     * Finds the entries whose title contains the query by checking every entry.
+     *
+     * @param query the query to search for.
+     * @return the matching entries.
+     */
+    private List<Entry> fullScan(String query) {
+        return snapshot.getEntries().stream().filter(entry -> entry.titleContains(query)).toList();
+    }
+}
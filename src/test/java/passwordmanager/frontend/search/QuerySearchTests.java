@@ -0,0 +1,134 @@
+package passwordmanager.frontend.search;
+
+import org.junit.jupiter.api.Test;
+import passwordmanager.backend.EntryChangeEvent;
+import passwordmanager.backend.EntryFields;
+import passwordmanager.backend.query.EntryQuery;
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.frontend.cache.FieldIndex;
+import passwordmanager.frontend.cache.TrigramIndex;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the QuerySearch.
+ */
+public class QuerySearchTests {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private EntrySnapshot snapshot;
+    private final FieldIndex fieldIndex = new FieldIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+
+    /**
+     * Creates the searched snapshot of entries and its indexes.
+     */
+    public QuerySearchTests() {
+        String[] categories = {"Gaming", "Development", "Banking", "Social"};
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 1000; i++) {
+            entries.add(new EntryBuilder("Account" + i)
+                    .email((i % 7 == 0 ? "john" : "user") + i + "@example.com")
+                    .category(categories[i % categories.length])
+                    .dateModified(Timestamp.valueOf(start.plusDays(i % 100)))
+                    .build());
+        }
+        snapshot = EntrySnapshot.of(entries);
+        fieldIndex.setEntries(entries);
+        trigramIndex.setEntries(entries);
+    }
+
+    /**
+     * Tests that the indexes answer queries with the same entries as checking every entry.
+     */
+    @Test
+    public void testMatchesFullScan() {
+        QuerySearch search = new QuerySearch(() -> snapshot, fieldIndex, trigramIndex);
+
+        for (String text : List.of("category:gaming", "category:Gaming email:john*", "modified:>2025-03-01",
+                "category:banking OR category:social", "-category:gaming", "account12", "ac",
+                "email:john* modified:<2025-01-10", "(category:gaming OR email:john*) -modified:>=2025-02-01",
+                "title:account99*")) {
+            EntryQuery query = EntryQuery.parse(text);
+            List<Entry> expected = snapshot.getEntries().stream().filter(query::test).toList();
+            assertEquals(expected, search.search(text, () -> false), text);
+        }
+    }
+
+    /**
+     * Tests that only the candidates of the most selective term are checked.
+     */
+    @Test
+    public void testChecksOnlyCandidates() {
+        QuerySearch search = new QuerySearch(() -> snapshot, fieldIndex, trigramIndex);
+
+        // 143 johns, 250 gamers, 10 days of modifications
+        search.search("category:gaming email:john* modified:<2025-01-11", () -> false);
+        assertEquals(100, search.getLastCheckedCount());
+
+        search.search("title:account5 OR title:account6", () -> false);
+        assertEquals(2, search.getLastCheckedCount());
+
+        // A lone negation checks every entry
+        search.search("-category:gaming", () -> false);
+        assertEquals(1000, search.getLastCheckedCount());
+    }
+
+    /**
+     * Tests that changes to the indexes ahead of the searched snapshot are not returned.
+     */
+    @Test
+    public void testIndexAheadOfSnapshot() {
+        QuerySearch search = new QuerySearch(() -> snapshot, fieldIndex, trigramIndex);
+
+        Entry added = new EntryBuilder("New Game").category("Gaming").build();
+        fieldIndex.applyChanges(List.of(EntryChangeEvent.added(added)));
+        trigramIndex.applyChanges(List.of(EntryChangeEvent.added(added)));
+        assertFalse(search.search("category:gaming", () -> false).contains(added));
+
+        snapshot = snapshot.withEntry(added);
+        assertTrue(search.search("category:gaming", () -> false).contains(added));
+
+        // Removed entries leave the index under the values they were indexed with
+        fieldIndex.removeEntry("New Game");
+        assertTrue(fieldIndex.equalTo(EntryFields.CATEGORY, "GAMING").stream()
+                .noneMatch(entry -> entry == added));
+    }
+
+    /**
+     * Tests that the indexes ignore the case of ASCII letters only, as the database does.
+     */
+    @Test
+    public void testIgnoresAsciiCaseOnly() {
+        Entry school = new EntryBuilder("École").email("ÉLÈVE@Example.com").category("école").build();
+        snapshot = snapshot.withEntry(school);
+        fieldIndex.addEntry(school);
+        trigramIndex.addEntry(school);
+        QuerySearch search = new QuerySearch(() -> snapshot, fieldIndex, trigramIndex);
+
+        assertEquals(List.of(school), search.search("category:école", () -> false));
+        assertEquals(List.of(school), search.search("email:ÉLÈVE@EXAMPLE.COM", () -> false));
+        assertEquals(List.of(school), search.search("title:Éc*", () -> false));
+        for (String text : List.of("category:ÉCOLE", "email:élève@example.com", "title:éc*")) {
+            assertFalse(EntryQuery.parse(text).test(school), text);
+            assertTrue(search.search(text, () -> false).isEmpty(), text);
+        }
+    }
+
+    /**
+     * Tests that malformed queries return nothing.
+     */
+    @Test
+    public void testMalformedQuery() {
+        QuerySearch search = new QuerySearch(() -> snapshot, fieldIndex, trigramIndex);
+
+        assertTrue(search.search("modified:>2025-0", () -> false).isEmpty());
+    }
+}
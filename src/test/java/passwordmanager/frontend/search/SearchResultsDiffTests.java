@@ -0,0 +1,208 @@
+package passwordmanager.frontend.search;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import passwordmanager.frontend.cache.EntrySnapshot;
+import passwordmanager.model.Entry;
+import passwordmanager.model.EntryBuilder;
+import passwordmanager.model.EntrySortOrder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the SearchResultsDiff.
+ */
+public class SearchResultsDiffTests {
+
+    private final List<String> all = new ArrayList<>();
+
+    /**
+     * Creates the ordered items the tested lists are subsets of.
+     */
+    public SearchResultsDiffTests() {
+        for (int i = 0; i < 200; i++) {
+            all.add("item" + i);
+        }
+    }
+
+    /**
+     * Tests that scattered narrowing replaces the changed range at once rather than item by item.
+     */
+    @Test
+    public void testScatteredNarrowingReplacesRange() {
+        ObservableList<String> displayed = FXCollections.observableArrayList(all);
+        List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+        displayed.addListener((ListChangeListener<String>) changes::add);
+
+        List<String> matches = subset(3);
+        SearchResultsDiff.apply(displayed, matches);
+
+        assertEquals(matches, displayed);
+        assertEquals(1, changes.size());
+    }
+
+    /**
+     * Tests that removing a few items removes only those items.
+     */
+    @Test
+    public void testSmallRemovalOnlyRemovesItems() {
+        ObservableList<String> displayed = FXCollections.observableArrayList(all);
+        List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+        displayed.addListener((ListChangeListener<String>) changes::add);
+
+        List<String> matches = new ArrayList<>(all);
+        matches.remove(50);
+        matches.remove(50);
+        SearchResultsDiff.apply(displayed, matches);
+
+        assertEquals(matches, displayed);
+        assertEquals(1, changes.size());
+        ListChangeListener.Change<? extends String> change = changes.get(0);
+        assertTrue(change.next());
+        assertTrue(change.wasRemoved());
+        assertFalse(change.wasAdded());
+        assertEquals(2, change.getRemovedSize());
+    }
+
+    /**
+     * Tests that unchanged results fire no change at all.
+     */
+    @Test
+    public void testUnchangedResultsFireNoChange() {
+        ObservableList<String> displayed = FXCollections.observableArrayList(subset(2));
+        List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+        displayed.addListener((ListChangeListener<String>) changes::add);
+
+        SearchResultsDiff.apply(displayed, subset(2));
+
+        assertTrue(changes.isEmpty());
+    }
+
+    /**
+     * Tests that widening the results inserts the new items while keeping the items already displayed.
+     */
+    @Test
+    public void testWideningKeepsDisplayedItems() {
+        ObservableList<String> displayed = FXCollections.observableArrayList(subset(10));
+        String kept = displayed.get(3);
+
+        SearchResultsDiff.apply(displayed, subset(5));
+
+        assertEquals(subset(5), displayed);
+        assertSame(kept, displayed.get(6));
+    }
+
+    /**
+     * Tests random transitions between subsets, including scattered ones over the run limit.
+     */
+    @Test
+    public void testRandomTransitions() {
+        Random random = new Random(7);
+        ObservableList<String> displayed = FXCollections.observableArrayList();
+
+        for (int round = 0; round < 200; round++) {
+            List<String> matches = new ArrayList<>();
+            double density = random.nextDouble();
+            for (String item : all) {
+                if (random.nextDouble() < density) {
+                    matches.add(item);
+                }
+            }
+
+            SearchResultsDiff.apply(displayed, matches);
+            assertEquals(matches, displayed);
+        }
+    }
+
+    /**
+     * Tests that the same items in a different order are reordered.
+     */
+    @Test
+    public void testPermutationReorders() {
+        ObservableList<String> displayed = FXCollections.observableArrayList(all.subList(0, 4));
+
+        List<String> reversed = new ArrayList<>(all.subList(0, 4)).reversed();
+        SearchResultsDiff.apply(displayed, reversed);
+        assertEquals(reversed, displayed);
+
+        // Reordered while also narrowing and widening
+        List<String> matches = List.of(all.get(5), all.get(0), all.get(2));
+        SearchResultsDiff.apply(displayed, matches);
+        assertEquals(matches, displayed);
+    }
+
+    /**
+     * Tests that random reorderings of random subsets are always applied.
+     */
+    @Test
+    public void testRandomReorderings() {
+        Random random = new Random(3);
+        ObservableList<String> displayed = FXCollections.observableArrayList(all);
+
+        for (int round = 0; round < 200; round++) {
+            List<String> matches = new ArrayList<>();
+            for (String item : all) {
+                if (random.nextInt(4) != 0) {
+                    matches.add(item);
+                }
+            }
+            // Swap a few items, as a re-ranking does
+            for (int swap = random.nextInt(3); swap > 0; swap--) {
+                Collections.swap(matches, random.nextInt(matches.size()), random.nextInt(matches.size()));
+            }
+
+            SearchResultsDiff.apply(displayed, matches);
+            assertEquals(matches, displayed);
+        }
+    }
+
+    /**
+     * Tests that switching the sort order of displayed entries reorders them, as the search results are updated
+     * when a sort order is chosen.
+     */
+    @Test
+    public void testSortOrderChangeReorders() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(new EntryBuilder("Account" + i).category("Group" + (i % 7))
+                    .dateModified(Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i * 37L % 100)))
+                    .build());
+        }
+        EntrySnapshot snapshot = EntrySnapshot.of(entries);
+
+        ObservableList<Entry> displayed = FXCollections.observableArrayList();
+        for (EntrySortOrder order : List.of(EntrySortOrder.TITLE, EntrySortOrder.DATE_MODIFIED,
+                EntrySortOrder.CATEGORY, EntrySortOrder.TITLE)) {
+            List<Entry> matches = snapshot.sort(snapshot.getEntries(), order);
+            SearchResultsDiff.apply(displayed, matches);
+
+            List<Entry> expected = new ArrayList<>(entries);
+            expected.sort(order.comparator());
+            assertEquals(expected, displayed, order.toString());
+        }
+    }
+
+    /**
+     * Returns every n-th item.
+     *
+     * @param n the step between items.
+     * @return the subset.
+     */
+    private List<String> subset(int n) {
+        List<String> subset = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += n) {
+            subset.add(all.get(i));
+        }
+        return subset;
+    }
+
+}
@@ -0,0 +1,53 @@
+package passwordmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the AsciiCase comparisons.
+ */
+public class AsciiCaseTests {
+
+    /**
+     * Tests that only the case of ASCII letters is ignored, as SQLite's NOCASE collation does.
+     */
+    @Test
+    public void testEqualsIgnoreCase() {
+        assertTrue(AsciiCase.equalsIgnoreCase("Gaming", "gAMING"));
+        assertTrue(AsciiCase.equalsIgnoreCase("école", "éCOLE"));
+        assertFalse(AsciiCase.equalsIgnoreCase("école", "École"));
+        assertFalse(AsciiCase.equalsIgnoreCase("Gaming", "Gaming "));
+        assertFalse(AsciiCase.equalsIgnoreCase("Gaming", null));
+        assertTrue(AsciiCase.equalsIgnoreCase(null, null));
+    }
+
+    /**
+     * Tests that prefixes ignore the case of ASCII letters only, as SQLite's LIKE does.
+     */
+    @Test
+    public void testStartsWithIgnoreCase() {
+        assertTrue(AsciiCase.startsWithIgnoreCase("John.Doe@example.com", "john."));
+        assertTrue(AsciiCase.startsWithIgnoreCase("Élève", "Élè"));
+        assertFalse(AsciiCase.startsWithIgnoreCase("Élève", "élè"));
+        assertFalse(AsciiCase.startsWithIgnoreCase("Jo", "john"));
+        assertFalse(AsciiCase.startsWithIgnoreCase(null, "john"));
+    }
+
+    /**
+     * Tests that the order is consistent with equality and keeps values with a prefix together.
+     */
+    @Test
+    public void testOrder() {
+        List<String> values = new ArrayList<>(List.of("beta", "École", "Alpha", "école", "ALPHA2", "Beta"));
+        values.sort(AsciiCase.ORDER);
+
+        assertEquals(List.of("Alpha", "ALPHA2", "beta", "Beta", "École", "école"), values);
+        assertEquals(0, AsciiCase.ORDER.compare("Gaming", "GAMING"));
+        assertNotEquals(0, AsciiCase.ORDER.compare("école", "École"));
+        assertEquals("école É", AsciiCase.toLowerCase("éCOLE É"));
+    }
+}
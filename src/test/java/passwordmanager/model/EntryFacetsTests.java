@@ -0,0 +1,40 @@
+package passwordmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the EntryFacets normalization of categories and email domains.
+ */
+public class EntryFacetsTests {
+
+    /**
+     * Tests that categories are counted without surrounding whitespace, keeping their case.
+     */
+    @Test
+    public void testCategory() {
+        assertEquals("Work", EntryFacets.category("Work"));
+        assertEquals("Work", EntryFacets.category(" \tWork\r\n"));
+        assertEquals("work", EntryFacets.category("work"));
+        assertEquals("My Work", EntryFacets.category(" My Work "));
+        assertNull(EntryFacets.category(" \t\n"));
+        assertNull(EntryFacets.category(null));
+    }
+
+    /**
+     * Tests that email domains are counted without surrounding whitespace, lower cased as the database does,
+     * and only when the email has one.
+     */
+    @Test
+    public void testEmailDomain() {
+        assertEquals("example.com", EntryFacets.emailDomain("john@Example.COM"));
+        assertEquals("example.com", EntryFacets.emailDomain("john@ example.com\t"));
+        assertEquals("b@example.com", EntryFacets.emailDomain("a@b@Example.com"));
+        assertEquals("exämple.com", EntryFacets.emailDomain("john@EXämple.com"));
+        assertEquals("Ä.com", EntryFacets.emailDomain("john@Ä.com"));
+        assertNull(EntryFacets.emailDomain("john@ "));
+        assertNull(EntryFacets.emailDomain("no domain"));
+        assertNull(EntryFacets.emailDomain(null));
+    }
+}
@@ -0,0 +1,60 @@
+package passwordmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the orders of the EntrySortOrder.
+ */
+public class EntrySortOrderTests {
+
+    private final Entry eagle = new EntryBuilder("eagle").category("Birds")
+            .dateCreated(Timestamp.valueOf("2025-01-01 00:00:00"))
+            .dateModified(Timestamp.valueOf("2025-03-01 00:00:00")).build();
+    private final Entry eclair = new EntryBuilder("Éclair").category("food")
+            .dateCreated(Timestamp.valueOf("2025-02-01 00:00:00")).build();
+    private final Entry fig = new EntryBuilder("fig").category("Food")
+            .dateCreated(Timestamp.valueOf("2025-02-01 00:00:00"))
+            .dateModified(Timestamp.valueOf("2025-01-01 00:00:00")).build();
+    private final Entry apple = new EntryBuilder("apple").build();
+
+    /**
+     * Tests the order of each sort order.
+     */
+    @Test
+    public void testOrders() {
+        assertEquals(List.of(apple, eagle, eclair, fig), sorted(EntrySortOrder.TITLE));
+        assertEquals(List.of(eagle, fig, apple, eclair), sorted(EntrySortOrder.DATE_MODIFIED));
+        assertEquals(List.of(eclair, fig, eagle, apple), sorted(EntrySortOrder.DATE_CREATED));
+        assertEquals(List.of(eagle, eclair, fig, apple), sorted(EntrySortOrder.CATEGORY));
+    }
+
+    /**
+     * Tests that the cached category collation key follows the category as it is set.
+     */
+    @Test
+    public void testCategoryCollationKeyIsReset() {
+        assertNull(apple.getCategoryCollationKey());
+
+        apple.setCategory("Aardvarks");
+        assertNotNull(apple.getCategoryCollationKey());
+        assertEquals(List.of(apple, eagle, eclair, fig), sorted(EntrySortOrder.CATEGORY));
+
+        apple.setCategory(" ");
+        assertNull(apple.getCategoryCollationKey());
+    }
+
+    /**
+     * Sorts the test entries, starting from reverse title order.
+     */
+    private List<Entry> sorted(EntrySortOrder order) {
+        List<Entry> entries = new ArrayList<>(List.of(fig, eclair, eagle, apple));
+        entries.sort(order.comparator());
+        return entries;
+    }
+}
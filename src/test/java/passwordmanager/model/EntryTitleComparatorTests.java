@@ -0,0 +1,100 @@
+package passwordmanager.model;
+
+import org.junit.jupiter.api.Test;
+import passwordmanager.frontend.cache.EntrySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the ordering of the EntryTitleComparator and its sort keys.
+ */
+public class EntryTitleComparatorTests {
+
+    private final EntryTitleComparator comparator = new EntryTitleComparator();
+
+    /**
+     * Tests the order of titles differing in case and length.
+     */
+    @Test
+    public void testOrder() {
+        List<String> titles = List.of("a", "A", "ab", "aB", "Ab", "AB", "abc", "b", "B", "É", "é");
+        List<Entry> entries = new ArrayList<>();
+        for (String title : titles.reversed()) {
+            entries.add(new Entry(title));
+        }
+        entries.sort(comparator);
+
+        assertEquals(List.of("A", "AB", "Ab", "a", "aB", "ab", "abc", "B", "b", "É", "é"),
+                entries.stream().map(Entry::getTitle).toList());
+        assertEquals(0, comparator.compare(new Entry("Steam"), new Entry("Steam")));
+    }
+
+    /**
+     * Tests that comparing sort keys orders random titles exactly as comparing the titles character by character.
+     */
+    @Test
+    public void testSortKeysMatchCharacterComparison() {
+        Random random = new Random(42);
+        char[] alphabet = {'a', 'A', 'b', 'B', 'z', 'Z', '0', ' ', '_', 'é', 'É', 'ß', 'Σ', 'σ', 'ς', '\uD83D'};
+
+        for (int i = 0; i < 100_000; i++) {
+            String title1 = randomTitle(random, alphabet);
+            String title2 = random.nextInt(4) == 0 ? title1 + randomTitle(random, alphabet) : randomTitle(random, alphabet);
+
+            int expected = Integer.signum(compareCharacters(title1, title2));
+            assertEquals(expected, Integer.signum(comparator.compare(new Entry(title1), new Entry(title2))),
+                    title1 + " vs " + title2);
+        }
+    }
+
+    /**
+     * Tests that a vault large enough to be sorted in parallel is sorted as sorting it sequentially does.
+     */
+    @Test
+    public void testParallelSort() {
+        Random random = new Random(7);
+        char[] alphabet = {'a', 'A', 'b', 'B', 'c', 'C', '1', ' '};
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            entries.add(new Entry(randomTitle(random, alphabet) + i));
+        }
+
+        List<Entry> expected = new ArrayList<>(entries);
+        expected.sort((entry1, entry2) -> compareCharacters(entry1.getTitle(), entry2.getTitle()));
+        assertEquals(expected, EntrySnapshot.of(entries).getEntries());
+    }
+
+    /**
+     * Returns a random title of up to six characters from an alphabet.
+     */
+    private static String randomTitle(Random random, char[] alphabet) {
+        StringBuilder title = new StringBuilder();
+        int length = random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            title.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return title.toString();
+    }
+
+    /**
+     * Compares two titles character by character, as the comparator did before sort keys.
+     */
+    private static int compareCharacters(String title1, String title2) {
+        int limit = Math.min(title1.length(), title2.length());
+        for (int k = 0; k < limit; k++) {
+            char c1 = title1.charAt(k);
+            char c2 = title2.charAt(k);
+            if (c1 != c2) {
+                if (Character.toLowerCase(c1) == Character.toLowerCase(c2)) {
+                    return c1 - c2;
+                }
+                return Character.toLowerCase(c1) - Character.toLowerCase(c2);
+            }
+        }
+        return title1.length() - title2.length();
+    }
+}
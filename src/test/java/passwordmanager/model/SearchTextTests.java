@@ -0,0 +1,46 @@
+package passwordmanager.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for verifying the functionality of the SearchText normalization and entry search keys.
+ */
+public class SearchTextTests {
+
+    /**
+     * Tests that normalization ignores case, accents and compatibility forms.
+     */
+    @Test
+    public void testNormalize() {
+        assertEquals("cafe", SearchText.normalize("Café"));
+        assertEquals("cafe", SearchText.normalize("CAFE"));
+        assertEquals("cafe", SearchText.normalize("ｃａｆｅ"));
+        assertEquals("naive resume", SearchText.normalize("Naïve Résumé"));
+        assertEquals("", SearchText.normalize(null));
+    }
+
+    /**
+     * Tests that already normalized ASCII text is returned without being copied.
+     */
+    @Test
+    public void testNormalizedAsciiIsReturnedAsIs() {
+        String text = "github account";
+        assertSame(text, SearchText.normalize(text));
+    }
+
+    /**
+     * Tests that entries match searches through their precomputed search key.
+     */
+    @Test
+    public void testEntrySearchKey() {
+        Entry entry = new EntryBuilder("Crédit Agricole").build();
+
+        assertEquals("credit agricole", entry.getSearchKey());
+        assertTrue(entry.titleContains("CREDIT"));
+        assertTrue(entry.titleContains("crédit agr"));
+        assertTrue(entry.titleMatches(SearchText.normalize("Agricolé")));
+        assertFalse(entry.titleContains("debit"));
+    }
+}